@@ -397,6 +397,16 @@ public interface Asciidoctor {
      */
     DocumentHeader readDocumentHeader(Reader contentReader);
 
+    /**
+     * Reads only the header of all given files.
+     * Only the leading part of every file that contains the header is read and parsed.
+     * The returned headers do not keep any references to the underlying document.
+     *
+     * @param files to read the headers from.
+     * @return the headers of the files in the order of the given files.
+     */
+    Map<File, DocumentHeader> readDocumentHeaders(Collection<File> files);
+
     /**
      * Creates an extension registry ready to be used for registering all processors
      *
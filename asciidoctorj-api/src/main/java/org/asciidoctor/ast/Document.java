@@ -75,4 +75,25 @@ public interface Document extends StructuralNode {
      * @param state The state in which to put the sourcemap (true = on, false = off).
      */
     void setSourcemap(boolean state);
+
+    /**
+     * Creates an immutable copy of the whole document tree that no longer depends on the Asciidoctor runtime.
+     * The tree is walked only once, so this is much cheaper than reading the same information node by node.
+     *
+     * @return The snapshot of this document.
+     * @see NodeSnapshot
+     */
+    NodeSnapshot snapshot();
+
+    /**
+     * Builds an index of all blocks of this document by context, style, role and id in a single pass.
+     * Afterwards {@link #findBy(Map)} on this document answers selectors that only consist of these keys
+     * from the index instead of walking the whole document again.
+     * <p>
+     * Modifications of the document through this API, e.g. {@link #append(StructuralNode)}, changes of the
+     * block lists or of ids, styles and roles, invalidate the index, which is then rebuilt on the next lookup.
+     * Modifications done by Ruby extensions are not detected, so the index should only be built
+     * when no Ruby extension modifies the document afterwards.
+     */
+    void buildIndex();
 }
@@ -0,0 +1,70 @@
+package org.asciidoctor.ast;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * An immutable copy of a structural node and all of its descendants, created by {@link Document#snapshot()}.
+ * <p>
+ * In contrast to the nodes of the AST a snapshot does not refer to the Asciidoctor runtime anymore.
+ * It can therefore be shared between threads, processed in parallel and kept after the Asciidoctor instance
+ * that created it has been shut down.
+ */
+public interface NodeSnapshot {
+
+    /**
+     * @return The id of the node or {@code null} if the node has no id.
+     */
+    String getId();
+
+    /**
+     * @return The context of the node, e.g. {@code document}, {@code section} or {@code paragraph}.
+     */
+    String getContext();
+
+    /**
+     * @return The style of the node or {@code null} if the node has no style.
+     */
+    String getStyle();
+
+    /**
+     * @return The roles of the node.
+     */
+    List<String> getRoles();
+
+    /**
+     * @return The converted title of the node or {@code null} if the node has no title.
+     */
+    String getTitle();
+
+    /**
+     * @return The level of the node.
+     */
+    int getLevel();
+
+    /**
+     * @return The attributes of the node.
+     */
+    Map<String, Object> getAttributes();
+
+    /**
+     * @return The source location of the node, or {@code null} if the sourcemap was not enabled.
+     * @see Document#setSourcemap(boolean)
+     */
+    Cursor getSourceLocation();
+
+    /**
+     * The children of a description list are the terms and descriptions of all entries in document order.
+     * Table cells are not part of the snapshot.
+     *
+     * @return The child nodes of this node.
+     */
+    List<NodeSnapshot> getChildren();
+
+    /**
+     * @return A stream of this node and all of its descendants in document order.
+     */
+    Stream<NodeSnapshot> stream();
+
+}
@@ -0,0 +1,17 @@
+package org.asciidoctor.ast;
+
+/**
+ * Receives the nodes accepted by a {@link Traversal}.
+ *
+ * @see StructuralNode#traverse(Traversal, NodeVisitor)
+ */
+@FunctionalInterface
+public interface NodeVisitor {
+
+    /**
+     * @param node The visited node.
+     * @param depth The depth of the node relative to the node on which the traversal was started, which has the depth 0.
+     */
+    void visit(StructuralNode node, int depth);
+
+}
@@ -87,6 +87,20 @@ public interface StructuralNode extends ContentNode {
     Object getContent();
     String convert();
     List<StructuralNode> findBy(Map<Object, Object> selector);
+
+    /**
+     * Traverses this node and all of its descendants and passes the nodes accepted by the traversal to the visitor.
+     * The tree is walked inside Asciidoctor in a single call, so that only the accepted nodes are created in Java.
+     * The children of a description list are the terms and descriptions of its entries.
+     * <p>
+     * The accepted nodes are determined before the first node is visited.
+     * Nodes that the visitor adds to the tree are therefore not visited.
+     *
+     * @param traversal The order and the filters of the traversal, e.g. {@code Traversal.preOrder().contexts("image")}.
+     * @param visitor The visitor that is called for every accepted node.
+     */
+    void traverse(Traversal traversal, NodeVisitor visitor);
+
     int getLevel();
 
     /**
@@ -0,0 +1,102 @@
+package org.asciidoctor.ast;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Defines the order and the filters of a traversal with {@link StructuralNode#traverse(Traversal, NodeVisitor)}.
+ * Instances are immutable, every method that changes a setting returns a new instance:
+ *
+ * <pre>
+ * document.traverse(Traversal.preOrder().contexts("image").maxDepth(2), (node, depth) -&gt; ...);
+ * </pre>
+ */
+public final class Traversal {
+
+    public enum Order {
+        /**
+         * Visits a node before its children.
+         */
+        PRE_ORDER,
+        /**
+         * Visits a node after its children.
+         */
+        POST_ORDER
+    }
+
+    /**
+     * Marks a traversal that is not limited in depth.
+     */
+    public static final int UNLIMITED_DEPTH = -1;
+
+    private final Order order;
+
+    private final Set<String> contexts;
+
+    private final int maxDepth;
+
+    private Traversal(Order order, Set<String> contexts, int maxDepth) {
+        this.order = order;
+        this.contexts = contexts;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @return A traversal that visits all nodes, every node before its children.
+     */
+    public static Traversal preOrder() {
+        return new Traversal(Order.PRE_ORDER, Collections.<String>emptySet(), UNLIMITED_DEPTH);
+    }
+
+    /**
+     * @return A traversal that visits all nodes, every node after its children.
+     */
+    public static Traversal postOrder() {
+        return new Traversal(Order.POST_ORDER, Collections.<String>emptySet(), UNLIMITED_DEPTH);
+    }
+
+    /**
+     * Only nodes with one of the given contexts are visited, but the children of all nodes are still traversed.
+     *
+     * @param contexts The contexts of the nodes to visit, e.g. {@code image} or {@code :image}.
+     * @return A new traversal that only visits nodes with the given contexts.
+     */
+    public Traversal contexts(String... contexts) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String context : contexts) {
+            names.add(context.startsWith(":") ? context.substring(1) : context);
+        }
+        return new Traversal(order, Collections.unmodifiableSet(names), maxDepth);
+    }
+
+    /**
+     * Children deeper than the given depth are neither visited nor traversed.
+     * The node on which the traversal starts has the depth 0.
+     *
+     * @param maxDepth The maximum depth of visited nodes or {@link #UNLIMITED_DEPTH}.
+     * @return A new traversal that stops at the given depth.
+     */
+    public Traversal maxDepth(int maxDepth) {
+        if (maxDepth < UNLIMITED_DEPTH) {
+            throw new IllegalArgumentException("Invalid maximum depth " + maxDepth);
+        }
+        return new Traversal(order, contexts, maxDepth);
+    }
+
+    public Order getOrder() {
+        return order;
+    }
+
+    /**
+     * @return The contexts of the nodes that are visited, or an empty set if nodes with any context are visited.
+     */
+    public Set<String> getContexts() {
+        return contexts;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+}
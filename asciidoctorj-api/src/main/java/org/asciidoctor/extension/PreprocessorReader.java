@@ -1,5 +1,10 @@
 package org.asciidoctor.extension;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Map;
 
 import org.asciidoctor.ast.Document;
@@ -8,6 +13,26 @@ public interface PreprocessorReader extends Reader {
 
     void push_include(String data, String file, String path, int lineNumber, Map<String, Object> attributes);
 
+    /**
+     * Pushes the content of a file onto the reader like {@link #push_include(String, String, String, int, Map)}.
+     * The file is read as UTF-8 without converting its content to a Java String,
+     * and from the include content cache if the Asciidoctor instance has one.
+     *
+     * @param file the file to include.
+     * @param path the path of the file as it is shown in messages, usually the target of the include.
+     * @param lineNumber the number of the first line of the content.
+     * @param attributes the attributes of the include, e.g. {@code leveloffset}.
+     * @throws UncheckedIOException if the file cannot be read.
+     */
+    default void push_include(File file, String path, int lineNumber, Map<String, Object> attributes) {
+        try {
+            String data = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+            push_include(data, file.getAbsolutePath(), path, lineNumber, attributes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * @return
      * @deprecated Please use {@link #getDocument()}
@@ -1,6 +1,8 @@
 package org.asciidoctor.extension;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 
 public interface Reader {
 
@@ -63,6 +65,10 @@ public interface Reader {
      * Get the remaining lines of source data. This method calls Reader#read_line repeatedly until all lines are
      * consumed and returns the lines as a String Array. This method differs from Reader#lines in that it processes each
      * line in turn, hence triggering any preprocessors implemented in sub-classes.
+     * <p>
+     * The returned list is a view of the lines in the Ruby runtime, lines are only converted to Java Strings
+     * when they are accessed. Passing it to {@link #restoreLines(List)} does not convert them again.
+     * To inspect the lines one at a time use {@link #lineIterator()}.
      *
      * @return the lines read as a String Array
      */
@@ -76,8 +82,40 @@ public interface Reader {
     */
     String readLine();
 
+    /**
+     * Get a copy of the remaining lines of source data without consuming them.
+     * The returned list is a view of the lines in the Ruby runtime, lines are only converted to Java Strings
+     * when they are accessed.
+     *
+     * @return the remaining lines
+     */
     List<String> lines();
 
+    /**
+     * Get an iterator that consumes the remaining lines one at a time, like repeated calls to {@link #readLine()}.
+     * Unlike {@link #readLines()} it never holds more than the current line, so a Preprocessor that only needs
+     * to inspect the first lines of a large document can stop early and give back the lines it read via
+     * {@link #restoreLine(String)} or {@link #restoreLines(List)}.
+     *
+     * @return an iterator over the remaining lines
+     */
+    default Iterator<String> lineIterator() {
+        return new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                return hasMoreLines();
+            }
+
+            @Override
+            public String next() {
+                if (!hasMoreLines()) {
+                    throw new NoSuchElementException();
+                }
+                return readLine();
+            }
+        };
+    }
+
     /**
      * Push the String line onto the beginning of the Array of source data.
      *
@@ -91,6 +129,7 @@ public interface Reader {
      *
      * Since this lines were (assumed to be) previously retrieved through the
      * reader, they are marked as seen.
+     * Lists returned by {@link #readLines()} or {@link #peekLines(int)} are pushed back without converting them again.
      */
     void restoreLines(List<String> line);
 
@@ -107,7 +146,7 @@ public interface Reader {
      * already marked as processed, but does not consume them.
      *
      * @param lineCount The Integer number of lines to peek.
-     * @return
+     * @return the next lines as a view of the lines in the Ruby runtime
      */
     List<String> peekLines(int lineCount);
 
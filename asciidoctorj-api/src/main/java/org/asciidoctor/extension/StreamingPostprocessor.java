@@ -0,0 +1,53 @@
+package org.asciidoctor.extension;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.asciidoctor.ast.Document;
+
+/**
+ * A Postprocessor that filters the converted output while it is written instead of receiving it as one String.
+ * <p>
+ * When the document is converted into a {@link Writer}, e.g. via {@code Asciidoctor.convert(Reader, Writer, Map)},
+ * and only StreamingPostprocessors follow this one, the returned Writer is chained directly in front of the target.
+ * Otherwise the output of the conversion is written into it chunk-wise.
+ * Either way the output passes through the filter exactly once.
+ */
+public abstract class StreamingPostprocessor extends Postprocessor {
+
+    public StreamingPostprocessor() {
+        this(new HashMap<>());
+    }
+
+    public StreamingPostprocessor(Map<String, Object> config) {
+        super(config);
+    }
+
+    /**
+     * Creates the filter for the output of a conversion.
+     * The returned Writer must write the filtered output to {@code output}.
+     * It is closed after the whole output was written to it, and when closed must write everything it buffered
+     * and close {@code output}, like a {@link java.io.FilterWriter}.
+     *
+     * @param document The converted document.
+     * @param output The Writer that receives the filtered output.
+     * @return The Writer that the output of the conversion is written to.
+     */
+    public abstract Writer process(Document document, Writer output);
+
+    @Override
+    public String process(Document document, String output) {
+        StringWriter result = new StringWriter(output.length());
+        try (Writer writer = process(document, result)) {
+            writer.write(output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result.toString();
+    }
+
+}
@@ -0,0 +1,229 @@
+package org.asciidoctor.extension.processing;
+
+import org.asciidoctor.ast.ContentModel;
+import org.asciidoctor.extension.Contexts;
+import org.asciidoctor.extension.DefaultAttribute;
+import org.asciidoctor.extension.DefaultAttributes;
+import org.asciidoctor.extension.Format;
+import org.asciidoctor.extension.FormatType;
+import org.asciidoctor.extension.Location;
+import org.asciidoctor.extension.Name;
+import org.asciidoctor.extension.PositionalAttributes;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Annotation processor that writes a descriptor for every extension class annotated with
+ * {@link Name}, {@link Location}, {@link ContentModel}, {@link DefaultAttribute}, {@link DefaultAttributes},
+ * {@link PositionalAttributes}, {@link Contexts} or {@link Format}.
+ * <p>
+ * The descriptor of a class is stored as {@code META-INF/asciidoctorj/processors/<binary class name>.properties}
+ * and contains the configuration that the annotations define in the form Asciidoctor expects it.
+ * When the extension is registered, AsciidoctorJ reads the descriptor and applies the whole configuration at once
+ * instead of reflecting over every annotation and passing every option separately to Asciidoctor.
+ * Extensions without a descriptor, e.g. compiled without this processor, are configured from their annotations as before.
+ * <p>
+ * The processor is registered as a service of this jar, so that it runs whenever a project that has asciidoctorj-api
+ * on its compile classpath is compiled.
+ * Build tools that only run annotation processors from a separate path, like Gradle 5, have to add asciidoctorj-api
+ * to that path as well, e.g. to the {@code annotationProcessor} configuration.
+ * For incremental compilation in Gradle the processor is declared as aggregating in
+ * {@code META-INF/gradle/incremental.annotation.processors}.
+ * The processor can be disabled by compiling with {@code -proc:none} or with a processor path without asciidoctorj-api.
+ */
+public class ProcessorDescriptorGenerator extends AbstractProcessor {
+
+    public static final String RESOURCE_PREFIX = "META-INF/asciidoctorj/processors/";
+
+    public static final String RESOURCE_SUFFIX = ".properties";
+
+    /**
+     * The version of the descriptor format, descriptors of an unknown version are ignored.
+     */
+    public static final String KEY_VERSION = "version";
+
+    public static final String VERSION = "1";
+
+    public static final String KEY_NAME = "name";
+
+    public static final String KEY_LOCATION = "location";
+
+    public static final String KEY_CONTENT_MODEL = "content_model";
+
+    /**
+     * Prefix of the keys {@code contexts.0}, {@code contexts.1}, ... of the contexts in their declared order.
+     */
+    public static final String KEY_CONTEXTS = "contexts";
+
+    /**
+     * Prefix of the keys {@code default_attrs.<attribute name>} of the default attributes.
+     */
+    public static final String KEY_DEFAULT_ATTRS = "default_attrs";
+
+    /**
+     * Prefix of the keys {@code positional_attrs.0}, {@code positional_attrs.1}, ... of the positional attributes.
+     */
+    public static final String KEY_POSITIONAL_ATTRS = "positional_attrs";
+
+    public static final String KEY_FORMAT = "format";
+
+    public static final String KEY_REGEXP = "regexp";
+
+    private static final List<Class<?>> ANNOTATIONS = Arrays.asList(
+            Name.class, Location.class, ContentModel.class, DefaultAttribute.class, DefaultAttributes.class,
+            PositionalAttributes.class, Contexts.class, Format.class);
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        Set<String> annotationTypes = new HashSet<>();
+        for (Class<?> annotation : ANNOTATIONS) {
+            annotationTypes.add(annotation.getName());
+        }
+        return annotationTypes;
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> processorClasses = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() == ElementKind.CLASS) {
+                    processorClasses.add((TypeElement) element);
+                }
+            }
+        }
+        for (TypeElement processorClass : processorClasses) {
+            writeDescriptor(processorClass);
+        }
+        // Other processors may handle the same annotations
+        return false;
+    }
+
+    private void writeDescriptor(TypeElement processorClass) {
+        String binaryName = processingEnv.getElementUtils().getBinaryName(processorClass).toString();
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(
+                    StandardLocation.CLASS_OUTPUT, "", RESOURCE_PREFIX + binaryName + RESOURCE_SUFFIX, processorClass);
+            try (Writer writer = resource.openWriter()) {
+                writer.write(toPropertiesText(createDescriptor(processorClass)));
+            }
+        } catch (IOException | RuntimeException e) {
+            // Registration falls back to reading the annotations, a missing descriptor must never break the build
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Could not write the AsciidoctorJ processor descriptor for " + binaryName + ": " + e, processorClass);
+        }
+    }
+
+    private static Properties createDescriptor(TypeElement processorClass) {
+        Properties descriptor = new Properties();
+        descriptor.setProperty(KEY_VERSION, VERSION);
+
+        Location location = processorClass.getAnnotation(Location.class);
+        if (location != null) {
+            descriptor.setProperty(KEY_LOCATION, location.value().optionValue().substring(1));
+        }
+
+        Name name = processorClass.getAnnotation(Name.class);
+        if (name != null) {
+            descriptor.setProperty(KEY_NAME, name.value());
+        }
+
+        ContentModel contentModel = processorClass.getAnnotation(ContentModel.class);
+        if (contentModel != null) {
+            descriptor.setProperty(KEY_CONTENT_MODEL, contentModel.value().substring(1));
+        }
+
+        // Like the registration without descriptor @DefaultAttributes replaces a single @DefaultAttribute
+        DefaultAttributes defaultAttributes = processorClass.getAnnotation(DefaultAttributes.class);
+        DefaultAttribute defaultAttribute = processorClass.getAnnotation(DefaultAttribute.class);
+        List<DefaultAttribute> defaultAttrs = defaultAttributes != null ? Arrays.asList(defaultAttributes.value())
+                : defaultAttribute != null ? Collections.singletonList(defaultAttribute)
+                : Collections.<DefaultAttribute>emptyList();
+        for (DefaultAttribute attribute : defaultAttrs) {
+            descriptor.setProperty(KEY_DEFAULT_ATTRS + "." + attribute.key(), attribute.value());
+        }
+        if (defaultAttributes != null && defaultAttrs.isEmpty()) {
+            descriptor.setProperty(KEY_DEFAULT_ATTRS, "");
+        }
+
+        PositionalAttributes positionalAttributes = processorClass.getAnnotation(PositionalAttributes.class);
+        if (positionalAttributes != null) {
+            setList(descriptor, KEY_POSITIONAL_ATTRS, Arrays.asList(positionalAttributes.value()));
+        }
+
+        Contexts contexts = processorClass.getAnnotation(Contexts.class);
+        if (contexts != null) {
+            List<String> contextNames = new ArrayList<>();
+            for (String context : contexts.value()) {
+                contextNames.add(context.substring(1));
+            }
+            setList(descriptor, KEY_CONTEXTS, contextNames);
+        }
+
+        Format format = processorClass.getAnnotation(Format.class);
+        if (format != null) {
+            if (format.value() == FormatType.CUSTOM) {
+                descriptor.setProperty(KEY_REGEXP, format.regexp());
+            }
+            descriptor.setProperty(KEY_FORMAT, format.value().optionValue().substring(1));
+        }
+        return descriptor;
+    }
+
+    /**
+     * Stores an empty list as the key itself, so that it can be told apart from a missing annotation.
+     */
+    private static void setList(Properties descriptor, String key, List<String> values) {
+        if (values.isEmpty()) {
+            descriptor.setProperty(key, "");
+        }
+        for (int i = 0; i < values.size(); i++) {
+            descriptor.setProperty(key + "." + i, values.get(i));
+        }
+    }
+
+    /**
+     * Writes the properties sorted and without the timestamp comment of {@link Properties#store(Writer, String)},
+     * so that the generated resources are reproducible.
+     */
+    private static String toPropertiesText(Properties properties) throws IOException {
+        StringWriter stored = new StringWriter();
+        properties.store(stored, null);
+        List<String> lines = new ArrayList<>();
+        for (String line : stored.toString().split("\\r?\\n")) {
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                lines.add(line);
+            }
+        }
+        Collections.sort(lines);
+        StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            text.append(line).append('\n');
+        }
+        return text.toString();
+    }
+}
@@ -4,4 +4,18 @@ public interface LogHandler {
 
     void log(LogRecord logRecord);
 
-}
\ No newline at end of file
+    /**
+     * Tells whether this handler is interested in messages of the given severity at all.
+     * Asciidoctor does not create log records for messages that no registered handler is interested in,
+     * and does not even build the messages if it checks the severity before logging.
+     * <p>
+     * The default implementation accepts all severities.
+     *
+     * @param severity The severity of a message that is about to be logged.
+     * @return {@code true} if records of this severity should be passed to {@link #log(LogRecord)}.
+     */
+    default boolean isLoggable(Severity severity) {
+        return true;
+    }
+
+}
@@ -0,0 +1,146 @@
+package org.asciidoctor.benchmarks;
+
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.ast.DocumentHeader;
+import org.asciidoctor.ast.StructuralNode;
+import org.asciidoctor.ast.Traversal;
+import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.asciidoctor.jruby.CompiledOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.asciidoctor.OptionsBuilder.options;
+
+/**
+ * Benchmarks the main entry points of the Asciidoctor API and the traversal of the AST from Java.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Corpus corpus;
+
+    private AsciidoctorJRuby asciidoctor;
+
+    private String content;
+
+    private File file;
+
+    private Map<String, Object> options;
+
+    private CompiledOptions compiledOptions;
+
+    private Document document;
+
+    private Document indexedDocument;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        asciidoctor = AsciidoctorJRuby.Factory.create();
+        content = corpus.content();
+        File directory = Files.createTempDirectory("asciidoctorj-benchmark").toFile();
+        file = corpus.writeTo(directory);
+        options = options().toFile(false).asMap();
+        compiledOptions = asciidoctor.compileOptions(options);
+        document = asciidoctor.load(content, new HashMap<>());
+        indexedDocument = asciidoctor.load(content, new HashMap<>());
+        indexedDocument.buildIndex();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        file.delete();
+        file.getParentFile().delete();
+        asciidoctor.shutdown();
+    }
+
+    @Benchmark
+    public String convert() {
+        return asciidoctor.convert(content, options);
+    }
+
+    @Benchmark
+    public String convertWithCompiledOptions() {
+        return asciidoctor.convert(content, compiledOptions);
+    }
+
+    @Benchmark
+    public String convertFile() {
+        return asciidoctor.convertFile(file, options);
+    }
+
+    @Benchmark
+    public void loadAndWalk(Blackhole blackhole) {
+        Document loadedDocument = asciidoctor.load(content, new HashMap<>());
+        walk(loadedDocument, blackhole);
+    }
+
+    @Benchmark
+    public void walk(Blackhole blackhole) {
+        walk(document, blackhole);
+    }
+
+    @Benchmark
+    public long snapshotAndWalk() {
+        return document.snapshot().stream().filter(node -> !node.getAttributes().isEmpty()).count();
+    }
+
+    @Benchmark
+    public DocumentHeader readDocumentHeader() {
+        return asciidoctor.readDocumentHeader(file);
+    }
+
+    @Benchmark
+    public List<StructuralNode> findByContext() {
+        return document.findBy(Collections.<Object, Object>singletonMap("context", ":paragraph"));
+    }
+
+    @Benchmark
+    public List<StructuralNode> findByContextIndexed() {
+        return indexedDocument.findBy(Collections.<Object, Object>singletonMap("context", ":paragraph"));
+    }
+
+    @Benchmark
+    public List<StructuralNode> findByRole() {
+        return document.findBy(Collections.<Object, Object>singletonMap("role", "chapter"));
+    }
+
+    @Benchmark
+    public void traverseParagraphs(Blackhole blackhole) {
+        document.traverse(Traversal.preOrder().contexts("paragraph"), (node, depth) -> blackhole.consume(node));
+    }
+
+    private static void walk(StructuralNode node, Blackhole blackhole) {
+        blackhole.consume(node.getContext());
+        blackhole.consume(node.getAttributes());
+        for (StructuralNode child : node.getBlocks()) {
+            walk(child, blackhole);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.asciidoctor.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Generates AsciiDoc documents of different sizes that use the most common block and inline elements.
+ * Every document also contains the macros and blocks that are handled by the extensions of {@link ExtensionBenchmark}.
+ */
+public enum Corpus {
+
+    SMALL(1, 2),
+    MEDIUM(20, 10),
+    HUGE(400, 20);
+
+    private final int sections;
+
+    private final int paragraphsPerSection;
+
+    Corpus(int sections, int paragraphsPerSection) {
+        this.sections = sections;
+        this.paragraphsPerSection = paragraphsPerSection;
+    }
+
+    public String content() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("= Benchmark Document\n")
+                .append("Doc Writer <doc.writer@example.org>\n")
+                .append("v1.0, 2019-04-09\n")
+                .append(":toc:\n")
+                .append(":sectnums:\n")
+                .append("\n")
+                .append("This is the preamble of a *benchmark* document.\n\n");
+        for (int section = 1; section <= sections; section++) {
+            sb.append("[#section-").append(section).append(".chapter]\n")
+                    .append("== Section ").append(section).append("\n\n");
+            for (int paragraph = 1; paragraph <= paragraphsPerSection; paragraph++) {
+                sb.append("Paragraph ").append(paragraph)
+                        .append(" with _emphasis_, `code`, a https://asciidoctor.org[link] and a bench:macro[inline].\n\n");
+            }
+            sb.append("[.list]\n")
+                    .append("* First item\n")
+                    .append("* Second item with *strong* text\n")
+                    .append("** Nested item\n\n")
+                    .append("Term:: Definition of the term\n\n")
+                    .append("[source,java]\n")
+                    .append("----\n")
+                    .append("public class Section").append(section).append(" {\n")
+                    .append("}\n")
+                    .append("----\n\n")
+                    .append("[bench]\n")
+                    .append("A block handled by a block processor.\n\n")
+                    .append("benchblock::target[]\n\n")
+                    .append("[cols=\"1,2\"]\n")
+                    .append("|===\n")
+                    .append("|Cell A |Cell B\n")
+                    .append("|Cell C |Cell D\n")
+                    .append("|===\n\n")
+                    .append("=== Subsection ").append(section).append(".1\n\n")
+                    .append("NOTE: An admonition in section ").append(section).append(".\n\n");
+        }
+        return sb.toString();
+    }
+
+    public File writeTo(File directory) throws IOException {
+        File file = new File(directory, name().toLowerCase() + ".adoc");
+        Files.write(file.toPath(), content().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
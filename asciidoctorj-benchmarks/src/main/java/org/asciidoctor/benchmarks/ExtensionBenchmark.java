@@ -0,0 +1,226 @@
+package org.asciidoctor.benchmarks;
+
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.SafeMode;
+import org.asciidoctor.ast.ContentModel;
+import org.asciidoctor.ast.ContentNode;
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.ast.StructuralNode;
+import org.asciidoctor.extension.BlockMacroProcessor;
+import org.asciidoctor.extension.BlockProcessor;
+import org.asciidoctor.extension.Contexts;
+import org.asciidoctor.extension.DocinfoProcessor;
+import org.asciidoctor.extension.IncludeProcessor;
+import org.asciidoctor.extension.InlineMacroProcessor;
+import org.asciidoctor.extension.JavaExtensionRegistry;
+import org.asciidoctor.extension.Name;
+import org.asciidoctor.extension.Postprocessor;
+import org.asciidoctor.extension.Preprocessor;
+import org.asciidoctor.extension.PreprocessorReader;
+import org.asciidoctor.extension.Reader;
+import org.asciidoctor.extension.Treeprocessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.asciidoctor.OptionsBuilder.options;
+
+/**
+ * Benchmarks the overhead of the Java extension proxies by converting the same document
+ * with exactly one registered extension of every type.
+ * {@link ExtensionType#NONE} is the baseline without any extension.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExtensionBenchmark {
+
+    public enum ExtensionType {
+        NONE {
+            @Override
+            void register(JavaExtensionRegistry registry) {
+            }
+        },
+        INLINE_MACRO {
+            @Override
+            void register(JavaExtensionRegistry registry) {
+                registry.inlineMacro(BenchInlineMacroProcessor.class);
+            }
+        },
+        BLOCK_MACRO {
+            @Override
+            void register(JavaExtensionRegistry registry) {
+                registry.blockMacro(BenchBlockMacroProcessor.class);
+            }
+        },
+        BLOCK {
+            @Override
+            void register(JavaExtensionRegistry registry) {
+                registry.block(BenchBlockProcessor.class);
+            }
+        },
+        TREEPROCESSOR {
+            @Override
+            void register(JavaExtensionRegistry registry) {
+                registry.treeprocessor(BenchTreeprocessor.class);
+            }
+        },
+        PREPROCESSOR {
+            @Override
+            void register(JavaExtensionRegistry registry) {
+                registry.preprocessor(BenchPreprocessor.class);
+            }
+        },
+        POSTPROCESSOR {
+            @Override
+            void register(JavaExtensionRegistry registry) {
+                registry.postprocessor(BenchPostprocessor.class);
+            }
+        },
+        DOCINFO {
+            @Override
+            void register(JavaExtensionRegistry registry) {
+                registry.docinfoProcessor(BenchDocinfoProcessor.class);
+            }
+        },
+        INCLUDE {
+            @Override
+            void register(JavaExtensionRegistry registry) {
+                registry.includeProcessor(BenchIncludeProcessor.class);
+            }
+
+            @Override
+            String content(Corpus corpus) {
+                return corpus.content() + "\ninclude::bench:included[]\n";
+            }
+        };
+
+        abstract void register(JavaExtensionRegistry registry);
+
+        String content(Corpus corpus) {
+            return corpus.content();
+        }
+    }
+
+    @Param({"SMALL", "MEDIUM", "HUGE"})
+    public Corpus corpus;
+
+    @Param
+    public ExtensionType extension;
+
+    private Asciidoctor asciidoctor;
+
+    private String content;
+
+    private Map<String, Object> options;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        asciidoctor = Asciidoctor.Factory.create();
+        extension.register(asciidoctor.javaExtensionRegistry());
+        content = extension.content(corpus);
+        options = options().headerFooter(true).safe(SafeMode.SAFE).asMap();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        asciidoctor.shutdown();
+    }
+
+    @Benchmark
+    public String convert() {
+        return asciidoctor.convert(content, options);
+    }
+
+    @Name("bench")
+    public static class BenchInlineMacroProcessor extends InlineMacroProcessor {
+        @Override
+        public Object process(ContentNode parent, String target, Map<String, Object> attributes) {
+            return createPhraseNode(parent, "quoted", target, new HashMap<>(), new HashMap<>());
+        }
+    }
+
+    @Name("benchblock")
+    public static class BenchBlockMacroProcessor extends BlockMacroProcessor {
+        @Override
+        public Object process(StructuralNode parent, String target, Map<String, Object> attributes) {
+            return createBlock(parent, "paragraph", target);
+        }
+    }
+
+    @Name("bench")
+    @Contexts(Contexts.PARAGRAPH)
+    @ContentModel(ContentModel.SIMPLE)
+    public static class BenchBlockProcessor extends BlockProcessor {
+        @Override
+        public Object process(StructuralNode parent, Reader reader, Map<String, Object> attributes) {
+            return createBlock(parent, "paragraph", reader.readLines());
+        }
+    }
+
+    public static class BenchTreeprocessor extends Treeprocessor {
+        @Override
+        public Document process(Document document) {
+            count(document);
+            return document;
+        }
+
+        private int count(StructuralNode node) {
+            int count = 1;
+            for (StructuralNode child : node.getBlocks()) {
+                count += count(child);
+            }
+            return count;
+        }
+    }
+
+    public static class BenchPreprocessor extends Preprocessor {
+        @Override
+        public void process(Document document, PreprocessorReader reader) {
+            reader.lines();
+        }
+    }
+
+    public static class BenchPostprocessor extends Postprocessor {
+        @Override
+        public String process(Document document, String output) {
+            return output;
+        }
+    }
+
+    public static class BenchDocinfoProcessor extends DocinfoProcessor {
+        @Override
+        public String process(Document document) {
+            return "<meta name=\"generator\" content=\"benchmark\">";
+        }
+    }
+
+    public static class BenchIncludeProcessor extends IncludeProcessor {
+        @Override
+        public boolean handles(String target) {
+            return target.startsWith("bench:");
+        }
+
+        @Override
+        public void process(Document document, PreprocessorReader reader, String target, Map<String, Object> attributes) {
+            reader.push_include("Included content.", target, target, 1, attributes);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.asciidoctor.benchmarks;
+
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.ast.StructuralNode;
+import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.asciidoctor.jruby.ast.impl.NodeConverter;
+import org.asciidoctor.jruby.internal.RubyObjectWrapper;
+import org.jruby.runtime.builtin.IRubyObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks how fast a Ruby node is mapped to the type of its Java wrapper,
+ * which happens for every node that is passed to a Java converter or extension.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NodeDispatchBenchmark {
+
+    @Param({"MEDIUM"})
+    public Corpus corpus;
+
+    private AsciidoctorJRuby asciidoctor;
+
+    private List<IRubyObject> nodes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        asciidoctor = AsciidoctorJRuby.Factory.create();
+        Document document = asciidoctor.load(corpus.content(), new HashMap<>());
+        nodes = new ArrayList<>();
+        collect(document, nodes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        asciidoctor.shutdown();
+    }
+
+    @Benchmark
+    public void dispatch(Blackhole blackhole) {
+        for (IRubyObject node : nodes) {
+            for (NodeConverter.NodeType nodeType : NodeConverter.NodeType.values()) {
+                blackhole.consume(nodeType.isInstance(node));
+            }
+        }
+    }
+
+    private static void collect(StructuralNode node, List<IRubyObject> nodes) {
+        nodes.add(((RubyObjectWrapper) node).getRubyObject());
+        for (StructuralNode child : node.getBlocks()) {
+            collect(child, nodes);
+        }
+    }
+}
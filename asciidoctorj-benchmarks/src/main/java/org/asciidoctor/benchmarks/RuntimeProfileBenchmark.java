@@ -0,0 +1,75 @@
+package org.asciidoctor.benchmarks;
+
+import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.asciidoctor.jruby.RuntimeProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.asciidoctor.OptionsBuilder.options;
+
+/**
+ * Compares the throughput of the runtime profiles once an instance was warmed up,
+ * and the time to the first conversion of a new instance.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class RuntimeProfileBenchmark {
+
+    @Param({"DEFAULT", "STARTUP", "THROUGHPUT", "LOW_MEMORY"})
+    public RuntimeProfile runtimeProfile;
+
+    private AsciidoctorJRuby asciidoctor;
+
+    private String content;
+
+    private Map<String, Object> options;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        asciidoctor = AsciidoctorJRuby.Factory.create(runtimeProfile);
+        asciidoctor.warmUp();
+        content = Corpus.MEDIUM.content();
+        options = options().toFile(false).asMap();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        asciidoctor.shutdown();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @Warmup(iterations = 5, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public String convertWarmedUp() {
+        return asciidoctor.convert(content, options);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 5)
+    public String createAndConvertFirstDocument() {
+        AsciidoctorJRuby newAsciidoctor = AsciidoctorJRuby.Factory.create(runtimeProfile);
+        try {
+            return newAsciidoctor.convert(content, options);
+        } finally {
+            newAsciidoctor.shutdown();
+        }
+    }
+}
@@ -1,13 +1,181 @@
 package org.asciidoctor.jruby;
 
 import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.Options;
+import org.asciidoctor.ast.Document;
 import org.asciidoctor.extension.RubyExtensionRegistry;
+import org.asciidoctor.jruby.cache.ConversionCache;
+import org.asciidoctor.jruby.cache.IncludeContentCache;
+import org.asciidoctor.jruby.resource.ResourceResolver;
 import org.asciidoctor.jruby.internal.JRubyAsciidoctor;
 
+import java.io.File;
 import java.util.List;
+import java.util.Map;
 
 public interface AsciidoctorJRuby extends Asciidoctor {
 
+  /**
+   * Returns how long the individual phases took to create this instance.
+   *
+   * @return the startup timings of this instance.
+   */
+  StartupTimings getStartupTimings();
+
+  /**
+   * Converts a built-in document that uses the most common AsciiDoc elements a few times,
+   * so that the JRuby runtime has compiled the hot code paths before the first real conversion.
+   * This is most useful for instances created with {@link RuntimeProfile#THROUGHPUT}.
+   * Registered extensions and converters take part in the warm-up conversions as well.
+   * The time spent is recorded as {@link StartupTimings#WARM_UP}.
+   */
+  void warmUp();
+
+  /**
+   * @param conversions the number of times the built-in document is converted.
+   * @see #warmUp()
+   */
+  void warmUp(int conversions);
+
+  /**
+   * Sets a cache that is consulted by {@link #convert(String, java.util.Map)} and its overloads
+   * before the content is converted.
+   * Only conversions that return the result as a String are cached.
+   * The key of a result is the hash of the content, the options including all attributes,
+   * and the registered extensions and converters.
+   * Files that are included by the content are not part of the key.
+   * Processors are identified by their class, so nothing is cached while a processor is registered
+   * as an instance, for example via {@code javaExtensionRegistry().treeprocessor(new MyTreeprocessor(config))}.
+   *
+   * @param conversionCache the cache to use, or {@code null} to disable caching.
+   */
+  void setConversionCache(ConversionCache conversionCache);
+
+  /**
+   * @return the cache set via {@link #setConversionCache(ConversionCache)} or {@code null} if there is none.
+   */
+  ConversionCache getConversionCache();
+
+  /**
+   * Sets a cache for the content of included files.
+   * Includes of local files without attributes, and files pushed by include processors via
+   * {@link org.asciidoctor.extension.PreprocessorReader#push_include(java.io.File, String, int, java.util.Map)},
+   * are read from the cache as long as the files did not change.
+   * The same cache can be set on many instances, e.g. on all instances of an {@link AsciidoctorPool}.
+   *
+   * @param includeContentCache the cache to use, or {@code null} to read all included files again.
+   */
+  void setIncludeContentCache(IncludeContentCache includeContentCache);
+
+  /**
+   * @return the cache set via {@link #setIncludeContentCache(IncludeContentCache)} or {@code null} if there is none.
+   */
+  IncludeContentCache getIncludeContentCache();
+
+  /**
+   * Sets a resolver that provides included files, images that are embedded as data URIs, docinfo files
+   * and embedded stylesheets, e.g. from an archive or from memory.
+   * Resources that the resolver does not have are read from the file system as usual.
+   *
+   * @param resourceResolver the resolver to use, or {@code null} to read all resources from the file system.
+   */
+  void setResourceResolver(ResourceResolver resourceResolver);
+
+  /**
+   * @return the resolver set via {@link #setResourceResolver(ResourceResolver)} or {@code null} if there is none.
+   */
+  ResourceResolver getResourceResolver();
+
+  /**
+   * Enables that log records carry the Ruby file and method that logged a message,
+   * see {@link org.asciidoctor.log.LogRecord#getSourceFileName()} and {@link org.asciidoctor.log.LogRecord#getSourceMethodName()}.
+   * This is disabled by default, because it requires to create a backtrace for every logged message.
+   *
+   * @param captureLogCaller {@code true} to capture the caller of every logged message.
+   */
+  void setCaptureLogCaller(boolean captureLogCaller);
+
+  boolean isCaptureLogCaller();
+
+  /**
+   * Converts the options once into the representation used by the Ruby runtime of this instance,
+   * so that they can be used for many conversions without converting them again.
+   *
+   * @param options the options to compile.
+   * @return the compiled options that can only be used with this instance.
+   */
+  CompiledOptions compileOptions(Map<String, Object> options);
+
+  /**
+   * @see #compileOptions(Map)
+   */
+  CompiledOptions compileOptions(Options options);
+
+  /**
+   * Converts the given content using compiled options.
+   *
+   * @param content the AsciiDoc source.
+   * @param options the options created by {@link #compileOptions(Options)} of this instance.
+   * @return the converted document, or {@code null} if it was written to a file.
+   */
+  String convert(String content, CompiledOptions options);
+
+  /**
+   * @see #convert(String, CompiledOptions)
+   */
+  <T> T convert(String content, CompiledOptions options, Class<T> expectedResult);
+
+  /**
+   * Converts the given file using compiled options.
+   *
+   * @param file the AsciiDoc file.
+   * @param options the options created by {@link #compileOptions(Options)} of this instance.
+   * @return the converted document, or {@code null} if it was written to a file.
+   */
+  String convertFile(File file, CompiledOptions options);
+
+  /**
+   * Parses the given content using compiled options.
+   *
+   * @param content the AsciiDoc source.
+   * @param options the options created by {@link #compileOptions(Options)} of this instance.
+   * @return the parsed document.
+   */
+  Document load(String content, CompiledOptions options);
+
+  /**
+   * Converts the content and collects all messages that are logged while converting it in the result,
+   * in addition to passing them to the registered log handlers.
+   * The messages are collected per thread, so concurrent conversions on this instance only see their own messages.
+   * Results served from the conversion cache do not contain log records.
+   * A failing conversion does not throw but returns a failed result.
+   *
+   * @param content the AsciiDoc source.
+   * @param options the options of the conversion.
+   * @return the converted content together with the log records of the conversion.
+   */
+  ConversionResult convertToResult(String content, Map<String, Object> options);
+
+  /**
+   * @see #convertToResult(String, Map)
+   */
+  ConversionResult convertToResult(String content, Options options);
+
+  /**
+   * Converts the file and collects all messages that are logged while converting it in the result.
+   *
+   * @param file the AsciiDoc file to convert.
+   * @param options the options of the conversion.
+   * @return the converted content, or {@code null} as output if it was written to a file,
+   * together with the log records of the conversion.
+   * @see #convertToResult(String, Map)
+   */
+  ConversionResult convertFileToResult(File file, Map<String, Object> options);
+
+  /**
+   * @see #convertFileToResult(File, Map)
+   */
+  ConversionResult convertFileToResult(File file, Options options);
 
   /**
    * Factory for creating a new instance of Asciidoctor interface.
@@ -103,6 +271,69 @@ public interface AsciidoctorJRuby extends Asciidoctor {
       return JRubyAsciidoctor.create(loadPaths, gemPath);
     }
 
+    /**
+     * Creates a new instance of Asciidoctor whose JRuby runtime is configured according to the given profile.
+     *
+     * @param runtimeProfile the trade-off between startup time, throughput and memory usage.
+     * @return Asciidoctor instance which uses JRuby to wraps Asciidoctor
+     * Ruby calls.
+     */
+    public static AsciidoctorJRuby create(RuntimeProfile runtimeProfile) {
+      return JRubyAsciidoctor.create(runtimeProfile);
+    }
+
+    /**
+     * Creates a new instance of Asciidoctor whose JRuby runtime is configured according to the given profile
+     * and that only applies the given registrations of extensions, converters and log handlers
+     * found via the {@link java.util.ServiceLoader}.
+     *
+     * @param runtimeProfile the trade-off between startup time, throughput and memory usage.
+     * @param serviceRegistrations which services to apply and when.
+     * @return Asciidoctor instance which uses JRuby to wraps Asciidoctor
+     * Ruby calls.
+     */
+    public static AsciidoctorJRuby create(RuntimeProfile runtimeProfile, ServiceRegistrations serviceRegistrations) {
+      return JRubyAsciidoctor.create(runtimeProfile, serviceRegistrations);
+    }
+
+    /**
+     * Creates a new instance of Asciidoctor whose JRuby runtime is configured according to the given profile
+     * and uses the given classloader.
+     *
+     * @param classloader
+     * @param runtimeProfile the trade-off between startup time, throughput and memory usage.
+     * @return Asciidoctor instance which uses JRuby to wraps Asciidoctor
+     * Ruby calls.
+     */
+    public static AsciidoctorJRuby create(ClassLoader classloader, RuntimeProfile runtimeProfile) {
+      return JRubyAsciidoctor.create(classloader, runtimeProfile);
+    }
+
+    /**
+     * Creates a new instance of Asciidoctor that is optimized for a short startup time
+     * instead of peak throughput.
+     * Use this for CLI tools or serverless functions that only convert a few documents per process.
+     * This is the same as {@code create(RuntimeProfile.STARTUP)}.
+     *
+     * @return Asciidoctor instance which uses JRuby to wraps Asciidoctor
+     * Ruby calls.
+     */
+    public static AsciidoctorJRuby createForFastStartup() {
+      return JRubyAsciidoctor.createForFastStartup();
+    }
+
+    /**
+     * Creates a new instance of Asciidoctor that is optimized for a short startup time
+     * and uses the given classloader for the JRuby runtime.
+     *
+     * @param classloader
+     * @return Asciidoctor instance which uses JRuby to wraps Asciidoctor
+     * Ruby calls.
+     */
+    public static AsciidoctorJRuby createForFastStartup(ClassLoader classloader) {
+      return JRubyAsciidoctor.createForFastStartup(classloader);
+    }
+
   }
 
 
@@ -0,0 +1,670 @@
+package org.asciidoctor.jruby;
+
+import org.asciidoctor.Options;
+import org.asciidoctor.ast.DocumentHeader;
+import org.asciidoctor.converter.JavaConverterRegistry;
+import org.asciidoctor.extension.JavaExtensionRegistry;
+import org.asciidoctor.extension.RubyExtensionRegistry;
+import org.asciidoctor.jruby.cache.ConversionCache;
+import org.asciidoctor.jruby.cache.IncludeContentCache;
+import org.asciidoctor.jruby.resource.ResourceResolver;
+import org.asciidoctor.jruby.internal.JRubyAsciidoctor;
+import org.asciidoctor.log.LogHandler;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * A pool of Asciidoctor instances, each one backed by its own JRuby runtime.
+ * <p>
+ * A single {@link AsciidoctorJRuby} instance can convert documents on several threads at the same time,
+ * but all of them share one Ruby runtime, e.g. its global state and its registered extensions.
+ * This pool increases the throughput by spreading the conversions over separate runtimes.
+ * It pre-warms a minimum number of instances, creates further instances on demand up to a maximum size
+ * and hands them out as {@link Lease leases}, so that every thread works on a runtime of its own:
+ *
+ * <pre>
+ * AsciidoctorPool pool = AsciidoctorPool.builder()
+ *     .minSize(2)
+ *     .maxSize(Runtime.getRuntime().availableProcessors())
+ *     .extensions(registry -&gt; registry.treeprocessor(MyTreeprocessor.class))
+ *     .build();
+ *
+ * try (AsciidoctorPool.Lease lease = pool.borrow()) {
+ *     String html = lease.getAsciidoctor().convert(content, options);
+ * }
+ * </pre>
+ *
+ * All registrations passed to the {@link Builder} are replayed on every runtime the pool creates.
+ */
+public class AsciidoctorPool {
+
+    private final int minSize;
+
+    private final int maxSize;
+
+    private final long borrowTimeoutMillis;
+
+    private final ClassLoader classLoader;
+
+    private final List<String> loadPaths;
+
+    private final String gemPath;
+
+    private final RuntimeProfile runtimeProfile;
+
+    private final int warmUpConversions;
+
+    private final ServiceRegistrations serviceRegistrations;
+
+    private final List<Consumer<AsciidoctorJRuby>> initializers;
+
+    private final BlockingDeque<AsciidoctorJRuby> idleInstances = new LinkedBlockingDeque<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Guards {@link #available} that is signalled whenever an instance is returned or capacity is freed.
+     */
+    private final Lock availabilityLock = new ReentrantLock();
+
+    private final Condition available = availabilityLock.newCondition();
+
+    private volatile boolean shutdown = false;
+
+    private AsciidoctorPool(Builder builder) {
+        this.minSize = builder.minSize;
+        this.maxSize = builder.maxSize;
+        this.borrowTimeoutMillis = builder.borrowTimeoutMillis;
+        this.classLoader = builder.classLoader;
+        this.loadPaths = new ArrayList<>(builder.loadPaths);
+        this.gemPath = builder.gemPath;
+        this.runtimeProfile = builder.runtimeProfile;
+        this.warmUpConversions = builder.warmUpConversions;
+        this.serviceRegistrations = builder.serviceRegistrations;
+        this.initializers = new ArrayList<>(builder.initializers);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private void prewarm() {
+        for (int i = 0; i < minSize; i++) {
+            AsciidoctorJRuby asciidoctor = tryCreateInstance();
+            if (asciidoctor == null) {
+                break;
+            }
+            idleInstances.offerLast(asciidoctor);
+        }
+    }
+
+    /**
+     * Borrows an Asciidoctor instance using the default borrow timeout of this pool.
+     *
+     * @return A lease on an instance that must be closed to return the instance to the pool.
+     * @throws IllegalStateException if no instance became available within the borrow timeout or the pool is shut down.
+     */
+    public Lease borrow() {
+        return borrow(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows an Asciidoctor instance.
+     * If no idle instance is available and the pool has not reached its maximum size a new instance is created,
+     * otherwise the calling thread waits up to the given timeout for another lease to be returned.
+     *
+     * @param timeout the maximum time to wait for an instance.
+     * @param unit the unit of {@code timeout}.
+     * @return A lease on an instance that must be closed to return the instance to the pool.
+     * @throws IllegalStateException if no instance became available within the timeout or the pool is shut down.
+     */
+    public Lease borrow(long timeout, TimeUnit unit) {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            checkNotShutdown();
+            AsciidoctorJRuby asciidoctor = idleInstances.pollFirst();
+            if (asciidoctor == null) {
+                asciidoctor = tryCreateInstance();
+            }
+            if (asciidoctor != null) {
+                return new Lease(asciidoctor);
+            }
+            availabilityLock.lock();
+            try {
+                // Check again under the lock, so that a release in the meantime cannot be missed
+                if (!shutdown && idleInstances.isEmpty() && size.get() >= maxSize) {
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (remainingNanos <= 0) {
+                        throw new IllegalStateException(
+                                String.format("No Asciidoctor instance became available within %d ms, pool size is %d", unit.toMillis(timeout), maxSize));
+                    }
+                    available.awaitNanos(remainingNanos);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for an Asciidoctor instance", e);
+            } finally {
+                availabilityLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Converts all files concurrently, every file on one of the pooled instances.
+     * The conversions run on the given executor, which is used by at most as many tasks as this pool
+     * has instances at most. The tasks take the files from a shared queue, so that no task occupies a thread
+     * of the executor while it waits for an instance.
+     *
+     * @param files the files to convert.
+     * @param options the options that are used for every file.
+     * @param executor the executor that runs the conversions.
+     * @return The results in the same order as the given files.
+     * A failed conversion does not abort the remaining conversions, but is reported by the result of the failing file.
+     * Every result also contains the messages that were logged while converting its file.
+     */
+    public List<ConversionResult> convertFiles(Collection<File> files, Map<String, Object> options, Executor executor) {
+        return convertFiles(files, options, executor, maxSize);
+    }
+
+    private List<ConversionResult> convertFiles(Collection<File> files, Map<String, Object> options, Executor executor, int workers) {
+        checkNotShutdown();
+        List<File> fileList = new ArrayList<>(files);
+        ConversionResult[] results = new ConversionResult[fileList.size()];
+        AtomicInteger nextFile = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < Math.min(workers, fileList.size()); i++) {
+            futures.add(CompletableFuture.runAsync(() -> {
+                int index;
+                while ((index = nextFile.getAndIncrement()) < fileList.size()) {
+                    results[index] = convertPooled(fileList.get(index), options);
+                }
+            }, executor));
+        }
+        for (CompletableFuture<Void> future : futures) {
+            try {
+                future.join();
+            } catch (RuntimeException e) {
+                // Only the file that the failed task was converting is missing a result, the other tasks went on
+            }
+        }
+        List<ConversionResult> resultList = new ArrayList<>(results.length);
+        for (int i = 0; i < results.length; i++) {
+            resultList.add(results[i] != null ? results[i]
+                    : ConversionResult.failure(fileList.get(i), new IllegalStateException("The conversion of the file did not complete")));
+        }
+        return resultList;
+    }
+
+    public List<ConversionResult> convertFiles(Collection<File> files, Options options, Executor executor) {
+        return convertFiles(files, options.map(), executor);
+    }
+
+    /**
+     * Converts all files concurrently using at most {@code parallelism} threads.
+     *
+     * @see #convertFiles(Collection, Map, Executor)
+     */
+    public List<ConversionResult> convertFiles(Collection<File> files, Map<String, Object> options, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1: " + parallelism);
+        }
+        int threads = Math.min(parallelism, maxSize);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            return convertFiles(files, options, executor, threads);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public List<ConversionResult> convertFiles(Collection<File> files, Options options, int parallelism) {
+        return convertFiles(files, options.map(), parallelism);
+    }
+
+    /**
+     * Converts all files found by the given directory walker concurrently.
+     *
+     * @see #convertFiles(Collection, Map, Executor)
+     */
+    public List<ConversionResult> convertDirectory(Iterable<File> directoryWalker, Map<String, Object> options, Executor executor) {
+        return convertFiles(toList(directoryWalker), options, executor);
+    }
+
+    public List<ConversionResult> convertDirectory(Iterable<File> directoryWalker, Options options, Executor executor) {
+        return convertDirectory(directoryWalker, options.map(), executor);
+    }
+
+    /**
+     * Converts all files found by the given directory walker concurrently using at most {@code parallelism} threads.
+     *
+     * @see #convertFiles(Collection, Map, Executor)
+     */
+    public List<ConversionResult> convertDirectory(Iterable<File> directoryWalker, Map<String, Object> options, int parallelism) {
+        return convertFiles(toList(directoryWalker), options, parallelism);
+    }
+
+    public List<ConversionResult> convertDirectory(Iterable<File> directoryWalker, Options options, int parallelism) {
+        return convertDirectory(directoryWalker, options.map(), parallelism);
+    }
+
+    /**
+     * Reads the headers of all files concurrently using at most as many threads as the maximum size of this pool.
+     *
+     * @see #readDocumentHeaders(Collection, int)
+     */
+    public Map<File, DocumentHeader> readDocumentHeaders(Collection<File> files) {
+        return readDocumentHeaders(files, maxSize);
+    }
+
+    /**
+     * Reads the headers of all files concurrently using at most {@code parallelism} threads.
+     * The files are split into batches, every batch is parsed on one pooled instance.
+     *
+     * @param files the files to read the headers from.
+     * @param parallelism the maximum number of threads.
+     * @return The headers of the files in the order of the given files.
+     * @see org.asciidoctor.Asciidoctor#readDocumentHeaders(Collection)
+     */
+    public Map<File, DocumentHeader> readDocumentHeaders(Collection<File> files, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1: " + parallelism);
+        }
+        checkNotShutdown();
+        int threads = Math.min(parallelism, maxSize);
+        List<File> fileList = new ArrayList<>(files);
+        // Several batches per thread balance the load if the headers differ in size
+        int batchSize = Math.max(1, (fileList.size() + threads * 4 - 1) / (threads * 4));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<CompletableFuture<Map<File, DocumentHeader>>> futures = new ArrayList<>();
+            for (int i = 0; i < fileList.size(); i += batchSize) {
+                final List<File> batch = fileList.subList(i, Math.min(fileList.size(), i + batchSize));
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    try (Lease lease = borrow()) {
+                        return lease.getAsciidoctor().readDocumentHeaders(batch);
+                    }
+                }, executor));
+            }
+            Map<File, DocumentHeader> documentHeaders = new LinkedHashMap<>();
+            for (CompletableFuture<Map<File, DocumentHeader>> future : futures) {
+                try {
+                    documentHeaders.putAll(future.join());
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+                }
+            }
+            return documentHeaders;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private ConversionResult convertPooled(File file, Map<String, Object> options) {
+        try (Lease lease = borrow()) {
+            return lease.getAsciidoctor().convertFileToResult(file, options);
+        } catch (RuntimeException e) {
+            return ConversionResult.failure(file, e);
+        }
+    }
+
+    private static List<File> toList(Iterable<File> files) {
+        List<File> list = new ArrayList<>();
+        for (File file : files) {
+            list.add(file);
+        }
+        return list;
+    }
+
+    /**
+     * @return The number of instances currently managed by this pool, idle or borrowed.
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * @return The number of instances that are currently not borrowed.
+     */
+    public int getIdleCount() {
+        return idleInstances.size();
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Shuts down all idle instances.
+     * Instances that are currently borrowed are shut down as soon as their lease is closed.
+     */
+    public void shutdown() {
+        shutdown = true;
+        AsciidoctorJRuby asciidoctor;
+        while ((asciidoctor = idleInstances.pollFirst()) != null) {
+            destroy(asciidoctor);
+        }
+        // Waiting borrowers fail instead of waiting for their timeout
+        signalAvailable();
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    private AsciidoctorJRuby tryCreateInstance() {
+        while (true) {
+            int current = size.get();
+            if (current >= maxSize) {
+                return null;
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+        try {
+            return createInstance();
+        } catch (RuntimeException e) {
+            size.decrementAndGet();
+            signalAvailable();
+            throw e;
+        }
+    }
+
+    private AsciidoctorJRuby createInstance() {
+        AsciidoctorJRuby asciidoctor = JRubyAsciidoctor.create(classLoader, loadPaths, gemPath, runtimeProfile, serviceRegistrations);
+        try {
+            for (Consumer<AsciidoctorJRuby> initializer : initializers) {
+                initializer.accept(asciidoctor);
+            }
+            if (warmUpConversions > 0) {
+                asciidoctor.warmUp(warmUpConversions);
+            }
+        } catch (RuntimeException e) {
+            // Do not leak the runtime of an instance that never enters the pool
+            try {
+                asciidoctor.shutdown();
+            } catch (RuntimeException shutdownException) {
+                e.addSuppressed(shutdownException);
+            }
+            throw e;
+        }
+        return asciidoctor;
+    }
+
+    private void release(AsciidoctorJRuby asciidoctor, boolean invalid) {
+        if (shutdown || invalid) {
+            // Frees the capacity and wakes waiting borrowers, the next borrow creates a replacement,
+            // so that closing a lease does not boot a new runtime
+            destroy(asciidoctor);
+        } else {
+            offerIdle(asciidoctor);
+        }
+    }
+
+    private void offerIdle(AsciidoctorJRuby asciidoctor) {
+        // Most recently used instances are handed out first as their JIT state is the warmest
+        idleInstances.offerFirst(asciidoctor);
+        // The pool may have been shut down after it drained the idle instances, but before this offer
+        if (shutdown && idleInstances.remove(asciidoctor)) {
+            destroy(asciidoctor);
+        }
+        signalAvailable();
+    }
+
+    private void destroy(AsciidoctorJRuby asciidoctor) {
+        try {
+            asciidoctor.shutdown();
+        } finally {
+            size.decrementAndGet();
+            signalAvailable();
+        }
+    }
+
+    private void signalAvailable() {
+        availabilityLock.lock();
+        try {
+            available.signalAll();
+        } finally {
+            availabilityLock.unlock();
+        }
+    }
+
+    private void checkNotShutdown() {
+        if (shutdown) {
+            throw new IllegalStateException("The Asciidoctor pool has been shut down");
+        }
+    }
+
+    /**
+     * Grants exclusive access to one pooled Asciidoctor instance until it is closed.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final AsciidoctorJRuby asciidoctor;
+
+        private boolean closed = false;
+
+        private boolean invalid = false;
+
+        private Lease(AsciidoctorJRuby asciidoctor) {
+            this.asciidoctor = asciidoctor;
+        }
+
+        public AsciidoctorJRuby getAsciidoctor() {
+            if (closed) {
+                throw new IllegalStateException("The lease has already been returned to the pool");
+            }
+            return asciidoctor;
+        }
+
+        /**
+         * Marks the instance as unusable, e.g. after a failure left its runtime in an undefined state.
+         * Instead of being returned to the pool the instance is shut down when the lease is closed.
+         */
+        public void invalidate() {
+            this.invalid = true;
+        }
+
+        /**
+         * Returns the instance to the pool.
+         * Closing a lease more than once has no effect.
+         */
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(asciidoctor, invalid);
+            }
+        }
+    }
+
+    public static class Builder {
+
+        private int minSize = 1;
+
+        private int maxSize = Runtime.getRuntime().availableProcessors();
+
+        private long borrowTimeoutMillis = TimeUnit.MINUTES.toMillis(1);
+
+        private ClassLoader classLoader;
+
+        private List<String> loadPaths = new ArrayList<>();
+
+        private String gemPath;
+
+        private RuntimeProfile runtimeProfile = RuntimeProfile.DEFAULT;
+
+        private int warmUpConversions;
+
+        private ServiceRegistrations serviceRegistrations = ServiceRegistrations.all();
+
+        private List<Consumer<AsciidoctorJRuby>> initializers = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * @param minSize the number of instances that are created eagerly when the pool is built.
+         * Invalidated instances are replaced lazily on the next borrow.
+         */
+        public Builder minSize(int minSize) {
+            if (minSize < 0) {
+                throw new IllegalArgumentException("minSize must not be negative: " + minSize);
+            }
+            this.minSize = minSize;
+            return this;
+        }
+
+        /**
+         * @param maxSize the maximum number of instances, i.e. the maximum number of concurrent conversions.
+         */
+        public Builder maxSize(int maxSize) {
+            if (maxSize < 1) {
+                throw new IllegalArgumentException("maxSize must be at least 1: " + maxSize);
+            }
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        public Builder borrowTimeout(long timeout, TimeUnit unit) {
+            this.borrowTimeoutMillis = unit.toMillis(timeout);
+            return this;
+        }
+
+        public Builder classLoader(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+            return this;
+        }
+
+        public Builder loadPaths(String... loadPaths) {
+            return loadPaths(Arrays.asList(loadPaths));
+        }
+
+        public Builder loadPaths(List<String> loadPaths) {
+            this.loadPaths.addAll(loadPaths);
+            return this;
+        }
+
+        public Builder gemPath(String gemPath) {
+            this.gemPath = gemPath;
+            return this;
+        }
+
+        public Builder runtimeProfile(RuntimeProfile runtimeProfile) {
+            this.runtimeProfile = runtimeProfile;
+            return this;
+        }
+
+        /**
+         * Selects the extensions, converters and log handlers found via the {@link java.util.ServiceLoader}
+         * that are applied to every new instance of the pool.
+         * The services are discovered only once for all instances.
+         */
+        public Builder serviceRegistrations(ServiceRegistrations serviceRegistrations) {
+            this.serviceRegistrations = serviceRegistrations;
+            return this;
+        }
+
+        /**
+         * Warms up every new instance after all registrations have been replayed,
+         * so that borrowers never get an instance whose runtime has not compiled the hot code paths yet.
+         *
+         * @param conversions the number of warm-up conversions per instance, 0 to disable warming up.
+         * @see AsciidoctorJRuby#warmUp(int)
+         */
+        public Builder warmUp(int conversions) {
+            if (conversions < 0) {
+                throw new IllegalArgumentException("The number of warm-up conversions must not be negative: " + conversions);
+            }
+            this.warmUpConversions = conversions;
+            return this;
+        }
+
+        public Builder requireLibrary(String... libraries) {
+            final List<String> requiredLibraries = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(libraries)));
+            return initializer(asciidoctor -> asciidoctor.requireLibraries(requiredLibraries));
+        }
+
+        public Builder extensions(Consumer<JavaExtensionRegistry> registration) {
+            return initializer(asciidoctor -> registration.accept(asciidoctor.javaExtensionRegistry()));
+        }
+
+        public Builder rubyExtensions(Consumer<RubyExtensionRegistry> registration) {
+            return initializer(asciidoctor -> registration.accept(asciidoctor.rubyExtensionRegistry()));
+        }
+
+        public Builder converters(Consumer<JavaConverterRegistry> registration) {
+            return initializer(asciidoctor -> registration.accept(asciidoctor.javaConverterRegistry()));
+        }
+
+        public Builder logHandler(LogHandler logHandler) {
+            return initializer(asciidoctor -> asciidoctor.registerLogHandler(logHandler));
+        }
+
+        /**
+         * Sets a cache that is shared by all instances of the pool.
+         */
+        public Builder conversionCache(ConversionCache conversionCache) {
+            return initializer(asciidoctor -> asciidoctor.setConversionCache(conversionCache));
+        }
+
+        /**
+         * Sets a cache for the content of included files that is shared by all instances of the pool.
+         */
+        public Builder includeContentCache(IncludeContentCache includeContentCache) {
+            return initializer(asciidoctor -> asciidoctor.setIncludeContentCache(includeContentCache));
+        }
+
+        /**
+         * Sets a resolver for the resources that documents refer to that is shared by all instances of the pool.
+         */
+        public Builder resourceResolver(ResourceResolver resourceResolver) {
+            return initializer(asciidoctor -> asciidoctor.setResourceResolver(resourceResolver));
+        }
+
+        /**
+         * Adds an arbitrary initialization step that is executed on every new instance of the pool
+         * in the order in which all registrations were added to this builder.
+         */
+        public Builder initializer(Consumer<AsciidoctorJRuby> initializer) {
+            this.initializers.add(initializer);
+            return this;
+        }
+
+        /**
+         * Creates the pool and eagerly creates {@code minSize} instances.
+         */
+        public AsciidoctorPool build() {
+            if (minSize > maxSize) {
+                throw new IllegalArgumentException(String.format("minSize %d must not be greater than maxSize %d", minSize, maxSize));
+            }
+            AsciidoctorPool pool = new AsciidoctorPool(this);
+            pool.prewarm();
+            return pool;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.asciidoctor.jruby;
+
+import org.asciidoctor.Options;
+
+import java.util.Map;
+
+/**
+ * Options that were converted once into the representation used by the Ruby runtime of one
+ * {@link AsciidoctorJRuby} instance, so that they can be reused for many conversions without converting
+ * them again on every call.
+ * <p>
+ * Instances are created via {@link AsciidoctorJRuby#compileOptions(Options)} and are immutable,
+ * so they can be shared between threads.
+ * They can only be used with the instance that created them.
+ *
+ * <pre>
+ * CompiledOptions compiledOptions = asciidoctor.compileOptions(OptionsBuilder.options().safe(SafeMode.SAFE).get());
+ * for (String snippet: snippets) {
+ *     String html = asciidoctor.convert(snippet, compiledOptions);
+ * }
+ * </pre>
+ */
+public interface CompiledOptions {
+
+    /**
+     * @return An unmodifiable copy of the options that were compiled.
+     */
+    Map<String, Object> getOptions();
+
+    /**
+     * Creates new compiled options that contain these options and the given overrides.
+     * Only the overrides are converted, the other options are shared with this instance.
+     * Attributes are merged with the compiled attributes instead of replacing them.
+     *
+     * @param overrides the options to set in addition to or instead of the compiled options.
+     * @return New compiled options, this instance is not modified.
+     */
+    CompiledOptions withOverrides(Map<String, Object> overrides);
+
+    /**
+     * @see #withOverrides(Map)
+     */
+    CompiledOptions withOverrides(Options overrides);
+
+}
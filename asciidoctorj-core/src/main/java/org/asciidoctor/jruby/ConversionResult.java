@@ -0,0 +1,85 @@
+package org.asciidoctor.jruby;
+
+import org.asciidoctor.log.LogRecord;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of converting a single file as part of a batch conversion.
+ * A failure of one file does not abort the conversion of the remaining files,
+ * instead it is reported by the result of the file that failed.
+ */
+public class ConversionResult {
+
+    private final File file;
+
+    private final String output;
+
+    private final RuntimeException failure;
+
+    private final List<LogRecord> logRecords;
+
+    private ConversionResult(File file, String output, RuntimeException failure, List<LogRecord> logRecords) {
+        this.file = file;
+        this.output = output;
+        this.failure = failure;
+        this.logRecords = Collections.unmodifiableList(logRecords);
+    }
+
+    public static ConversionResult success(File file, String output) {
+        return success(file, output, Collections.<LogRecord>emptyList());
+    }
+
+    public static ConversionResult success(File file, String output, List<LogRecord> logRecords) {
+        return new ConversionResult(file, output, null, logRecords);
+    }
+
+    public static ConversionResult failure(File file, RuntimeException failure) {
+        return failure(file, failure, Collections.<LogRecord>emptyList());
+    }
+
+    public static ConversionResult failure(File file, RuntimeException failure, List<LogRecord> logRecords) {
+        return new ConversionResult(file, null, failure, logRecords);
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return The converted content or {@code null} if the conversion failed or the output was written to a file.
+     */
+    public String getOutput() {
+        return output;
+    }
+
+    /**
+     * @return The exception that aborted the conversion of this file or {@code null} if the conversion succeeded.
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    /**
+     * @return The messages that were logged while converting the file,
+     * or an empty list if the conversion did not collect them.
+     * @see AsciidoctorJRuby#convertFileToResult(File, java.util.Map)
+     */
+    public List<LogRecord> getLogRecords() {
+        return logRecords;
+    }
+
+    public boolean isSuccessful() {
+        return failure == null;
+    }
+
+    @Override
+    public String toString() {
+        return "ConversionResult{" +
+                "file=" + file +
+                ", successful=" + isSuccessful() +
+                '}';
+    }
+}
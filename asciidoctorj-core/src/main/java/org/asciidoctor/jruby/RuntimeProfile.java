@@ -0,0 +1,43 @@
+package org.asciidoctor.jruby;
+
+/**
+ * Selects how the JRuby runtime of an Asciidoctor instance is configured,
+ * trading the time to the first conversion against the throughput of later conversions and memory usage.
+ * <p>
+ * A profile is passed to {@link AsciidoctorJRuby.Factory#create(RuntimeProfile)} or
+ * {@link AsciidoctorPool.Builder#runtimeProfile(RuntimeProfile)}.
+ * Instances that should reach their peak throughput before the first real conversion
+ * can additionally be warmed up via {@link AsciidoctorJRuby#warmUp()}.
+ */
+public enum RuntimeProfile {
+
+    /**
+     * The default configuration of JRuby, which interprets Ruby code first and compiles methods
+     * to JVM bytecode once they were called often enough.
+     */
+    DEFAULT,
+
+    /**
+     * Optimized for a short time to the first conversion, similar to starting JRuby with the {@code --dev} flag.
+     * Ruby code is only interpreted and never compiled to JVM bytecode.
+     * This is useful for CLI tools and short living processes that only convert a few documents.
+     */
+    STARTUP,
+
+    /**
+     * Optimized for peak throughput of long running processes that convert many documents.
+     * Methods are compiled to JVM bytecode earlier and more methods are eligible for compilation than by default.
+     * <p>
+     * Whether JRuby uses invokedynamic is a setting of the whole JVM that cannot be changed per runtime.
+     * It can be enabled additionally by starting the JVM with {@code -Djruby.compile.invokedynamic=true}.
+     */
+    THROUGHPUT,
+
+    /**
+     * Optimized for a small memory footprint, e.g. when many instances are kept in a pool.
+     * Ruby code is only interpreted, so that no classes are generated for compiled methods,
+     * and the native POSIX and FFI support of JRuby is not loaded.
+     */
+    LOW_MEMORY
+
+}
@@ -0,0 +1,94 @@
+package org.asciidoctor.jruby;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Defines which of the extensions, converters and log handlers that are registered as services of the
+ * {@link java.util.ServiceLoader} are applied to a new Asciidoctor instance, and when.
+ * Instances are immutable, every method that changes a setting returns a new instance:
+ *
+ * <pre>
+ * AsciidoctorJRuby asciidoctor = AsciidoctorJRuby.Factory.create(RuntimeProfile.DEFAULT,
+ *     ServiceRegistrations.all().excluding(SomeExtensionRegistry.class).deferred());
+ * </pre>
+ *
+ * The filters test the classes of the service implementations, i.e. the classes implementing
+ * {@link org.asciidoctor.jruby.extension.spi.ExtensionRegistry}, {@link org.asciidoctor.jruby.converter.spi.ConverterRegistry}
+ * and {@link org.asciidoctor.log.LogHandler}.
+ */
+public final class ServiceRegistrations {
+
+    private static final ServiceRegistrations ALL = new ServiceRegistrations(serviceClass -> true, false);
+
+    private static final ServiceRegistrations NONE = new ServiceRegistrations(serviceClass -> false, false);
+
+    private final Predicate<Class<?>> filter;
+
+    private final boolean deferred;
+
+    private ServiceRegistrations(Predicate<Class<?>> filter, boolean deferred) {
+        this.filter = filter;
+        this.deferred = deferred;
+    }
+
+    /**
+     * @return Registrations that apply all services, immediately when the instance is created.
+     * This is the default.
+     */
+    public static ServiceRegistrations all() {
+        return ALL;
+    }
+
+    /**
+     * @return Registrations that do not apply any service.
+     */
+    public static ServiceRegistrations none() {
+        return NONE;
+    }
+
+    /**
+     * @return Registrations that only apply the given service implementations.
+     */
+    public static ServiceRegistrations only(Class<?>... serviceClasses) {
+        Set<Class<?>> allowed = new HashSet<>(Arrays.asList(serviceClasses));
+        return new ServiceRegistrations(allowed::contains, false);
+    }
+
+    /**
+     * @param filter accepts the classes of the service implementations that should be applied.
+     * @return Registrations that only apply the services that this instance and the given filter accept.
+     */
+    public ServiceRegistrations filter(Predicate<Class<?>> filter) {
+        return new ServiceRegistrations(this.filter.and(filter), deferred);
+    }
+
+    /**
+     * @return Registrations that do not apply the given service implementations.
+     */
+    public ServiceRegistrations excluding(Class<?>... serviceClasses) {
+        Set<Class<?>> excluded = new HashSet<>(Arrays.asList(serviceClasses));
+        return filter(serviceClass -> !excluded.contains(serviceClass));
+    }
+
+    /**
+     * Defers the registration of extensions and converters until the instance is used for the first time,
+     * e.g. for a conversion or a registration, so that creating instances that are not used stays cheap.
+     * Log handlers are always registered immediately, so that they receive all messages.
+     *
+     * @return Registrations that defer the registration of extensions and converters.
+     */
+    public ServiceRegistrations deferred() {
+        return new ServiceRegistrations(filter, true);
+    }
+
+    public boolean accepts(Class<?> serviceClass) {
+        return filter.test(serviceClass);
+    }
+
+    public boolean isDeferred() {
+        return deferred;
+    }
+}
@@ -0,0 +1,104 @@
+package org.asciidoctor.jruby;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records how long the individual phases of creating an Asciidoctor instance took.
+ * This allows to track startup time regressions, e.g. by logging {@link #toString()}
+ * after creating an instance via {@link AsciidoctorJRuby#getStartupTimings()}.
+ */
+public class StartupTimings {
+
+    /**
+     * Creating and initializing the JRuby runtime.
+     */
+    public static final String RUNTIME = "runtime";
+
+    /**
+     * Loading the Asciidoctor gem and the AsciidoctorJ glue code.
+     */
+    public static final String ASCIIDOCTOR = "asciidoctor";
+
+    /**
+     * Installing the logger that forwards Asciidoctor log messages to Java.
+     */
+    public static final String LOGGER = "logger";
+
+    /**
+     * Registering extensions found via the {@link java.util.ServiceLoader}.
+     */
+    public static final String EXTENSIONS = "extensions";
+
+    /**
+     * Registering converters found via the {@link java.util.ServiceLoader}.
+     */
+    public static final String CONVERTERS = "converters";
+
+    /**
+     * Registering log handlers found via the {@link java.util.ServiceLoader}.
+     */
+    public static final String LOG_HANDLERS = "logHandlers";
+
+    /**
+     * Converting the built-in corpus via {@link AsciidoctorJRuby#warmUp()}, if the instance was warmed up.
+     */
+    public static final String WARM_UP = "warmUp";
+
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    /**
+     * Records the duration of a phase that started at {@code startNanos}.
+     *
+     * @param phase the name of the phase.
+     * @param startNanos the value of {@link System#nanoTime()} when the phase started.
+     * @return The current value of {@link System#nanoTime()}, so that it can be used as the start of the next phase.
+     */
+    public synchronized long record(String phase, long startNanos) {
+        long now = System.nanoTime();
+        Long previous = phases.get(phase);
+        phases.put(phase, (previous != null ? previous : 0L) + now - startNanos);
+        return now;
+    }
+
+    /**
+     * @return The durations in nanoseconds of all phases in the order in which they were executed.
+     */
+    public synchronized Map<String, Long> getPhases() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(phases));
+    }
+
+    /**
+     * @param phase the name of the phase.
+     * @param unit the time unit of the result.
+     * @return The duration of the phase or 0 if the phase was not executed.
+     */
+    public synchronized long getDuration(String phase, TimeUnit unit) {
+        Long nanos = phases.get(phase);
+        return nanos != null ? unit.convert(nanos, TimeUnit.NANOSECONDS) : 0L;
+    }
+
+    /**
+     * @param unit the time unit of the result.
+     * @return The sum of the durations of all phases.
+     */
+    public synchronized long getTotal(TimeUnit unit) {
+        long total = 0;
+        for (Long nanos : phases.values()) {
+            total += nanos;
+        }
+        return unit.convert(total, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder sb = new StringBuilder("StartupTimings{");
+        for (Map.Entry<String, Long> phase : phases.entrySet()) {
+            sb.append(phase.getKey()).append('=').append(TimeUnit.NANOSECONDS.toMillis(phase.getValue())).append("ms, ");
+        }
+        sb.append("total=").append(getTotal(TimeUnit.MILLISECONDS)).append("ms}");
+        return sb.toString();
+    }
+}
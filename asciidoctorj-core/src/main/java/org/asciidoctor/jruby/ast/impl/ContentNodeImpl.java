@@ -33,6 +33,7 @@ public abstract class ContentNodeImpl extends RubyObjectWrapper implements Conte
     @Override
     public void setId(String id) {
         setString("id", id);
+        FindByIndex.invalidate(getRubyObject());
     }
 
     @Override
@@ -173,7 +174,11 @@ public abstract class ContentNodeImpl extends RubyObjectWrapper implements Conte
 
     @Override
     public boolean setAttribute(Object name, Object value, boolean overwrite) {
-        return getBoolean("set_attr", name, value, overwrite);
+        boolean set = getBoolean("set_attr", name, value, overwrite);
+        if (set && "role".equals(name)) {
+            FindByIndex.invalidate(getRubyObject());
+        }
+        return set;
     }
 
     @Override
@@ -210,11 +215,13 @@ public abstract class ContentNodeImpl extends RubyObjectWrapper implements Conte
     @Override
     public void addRole(String role) {
         getRubyProperty("add_role", role);
+        FindByIndex.invalidate(getRubyObject());
     }
 
     @Override
     public void removeRole(String role) {
         getRubyProperty("remove_role", role);
+        FindByIndex.invalidate(getRubyObject());
     }
 
     @Override
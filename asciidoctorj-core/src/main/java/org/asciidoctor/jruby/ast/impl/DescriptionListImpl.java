@@ -18,7 +18,7 @@ public class DescriptionListImpl extends StructuralNodeImpl implements Descripti
     @Override
     public java.util.List<DescriptionListEntry> getItems() {
         RubyArray rubyBlocks = (RubyArray) getRubyProperty("items");
-        return new RubyBlockListDecorator<>(rubyBlocks);
+        return new RubyBlockListDecorator<>(rubyBlocks, getRubyObject());
     }
 
     @Override
@@ -40,6 +40,6 @@ public class DescriptionListImpl extends StructuralNodeImpl implements Descripti
     @Override
     public List<StructuralNode> getBlocks() {
         RubyArray rubyBlocks = (RubyArray) getRubyProperty("blocks");
-        return new RubyBlockListDecorator<>(rubyBlocks);
+        return new RubyBlockListDecorator<>(rubyBlocks, getRubyObject());
     }
 }
@@ -0,0 +1,57 @@
+package org.asciidoctor.jruby.ast.impl;
+
+import org.asciidoctor.ast.Cursor;
+
+/**
+ * Immutable {@link Cursor} that holds plain Java values instead of a reference to a Ruby cursor,
+ * so that it can be used from any thread and after the Ruby runtime has been shut down.
+ */
+public class DetachedCursor implements Cursor {
+
+    private final String file;
+    private final String dir;
+    private final String path;
+    private final int lineNumber;
+
+    public DetachedCursor(String file, String dir, String path, int lineNumber) {
+        this.file = file;
+        this.dir = dir;
+        this.path = path;
+        this.lineNumber = lineNumber;
+    }
+
+    /**
+     * @return A detached copy of the given cursor, or {@code null} if the cursor is {@code null}.
+     */
+    public static Cursor copyOf(Cursor cursor) {
+        if (cursor == null || cursor instanceof DetachedCursor) {
+            return cursor;
+        }
+        return new DetachedCursor(cursor.getFile(), cursor.getDir(), cursor.getPath(), cursor.getLineNumber());
+    }
+
+    @Override
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public String getDir() {
+        return dir;
+    }
+
+    @Override
+    public String getFile() {
+        return file;
+    }
+
+    @Override
+    public String toString() {
+        return path + ": line " + lineNumber;
+    }
+}
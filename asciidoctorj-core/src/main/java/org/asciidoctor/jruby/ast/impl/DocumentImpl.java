@@ -1,11 +1,16 @@
 package org.asciidoctor.jruby.ast.impl;
 
+import java.util.List;
 import java.util.Map;
 
 import org.asciidoctor.ast.Document;
+import org.asciidoctor.ast.NodeSnapshot;
+import org.asciidoctor.ast.StructuralNode;
 import org.asciidoctor.ast.Title;
+import org.asciidoctor.jruby.internal.RubyBlockListDecorator;
 import org.asciidoctor.jruby.internal.RubyHashUtil;
 import org.jruby.Ruby;
+import org.jruby.RubyArray;
 import org.jruby.RubyBoolean;
 import org.jruby.RubyHash;
 import org.jruby.RubySymbol;
@@ -76,4 +81,26 @@ public class DocumentImpl extends StructuralNodeImpl implements Document {
     public void setSourcemap(boolean state) {
         setBoolean("sourcemap", state);
     }
+
+    @Override
+    public NodeSnapshot snapshot() {
+        Ruby runtime = getRuntime();
+        IRubyObject snapshot = runtime.getModule("AsciidoctorModule")
+                .callMethod(runtime.getCurrentContext(), "snapshot", getRubyObject());
+        return NodeSnapshotImpl.fromRuby((RubyArray) snapshot);
+    }
+
+    @Override
+    public void buildIndex() {
+        FindByIndex.build(getRubyObject());
+    }
+
+    @Override
+    protected List<StructuralNode> findByRubySelector(RubyHash selector) {
+        RubyArray indexedBlocks = FindByIndex.findBy(getRubyObject(), selector);
+        if (indexedBlocks == null) {
+            return super.findByRubySelector(selector);
+        }
+        return new RubyBlockListDecorator<>(indexedBlocks);
+    }
 }
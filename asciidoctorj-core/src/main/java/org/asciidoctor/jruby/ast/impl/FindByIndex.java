@@ -0,0 +1,74 @@
+package org.asciidoctor.jruby.ast.impl;
+
+import org.jruby.Ruby;
+import org.jruby.RubyArray;
+import org.jruby.RubyClass;
+import org.jruby.RubyHash;
+import org.jruby.runtime.ThreadContext;
+import org.jruby.runtime.builtin.IRubyObject;
+
+/**
+ * Manages the optional index of a document that answers {@code findBy} selectors by context, style, role and id
+ * without walking the whole document.
+ * <p>
+ * The index itself is an instance of the Ruby class {@code AsciidoctorModule::FindByIndex} that is attached to the
+ * Ruby document in an internal variable, like the Java nodes in the {@link NodeCache}.
+ * Modifications of the tree through the Java API invalidate the index, which is then rebuilt on the next lookup.
+ */
+public class FindByIndex {
+
+    private static final String KEY_INDEX = "asciidoctorj_find_by_index";
+
+    /**
+     * Set on the index class of a runtime once the first index is built, so that modifications do not have to
+     * look up the document as long as no document of that runtime uses an index.
+     */
+    private static final String KEY_INDEX_BUILT = "asciidoctorj_find_by_index_built";
+
+    private FindByIndex() {
+    }
+
+    public static void build(IRubyObject document) {
+        Ruby runtime = document.getRuntime();
+        RubyClass indexClass = getIndexClass(runtime);
+        IRubyObject index = indexClass.callMethod(runtime.getCurrentContext(), "new", document);
+        document.getInternalVariables().setInternalVariable(KEY_INDEX, index);
+        indexClass.setInternalVariable(KEY_INDEX_BUILT, Boolean.TRUE);
+    }
+
+    /**
+     * @return The nodes matching the selector, or {@code null} if the document has no index
+     * or the selector cannot be answered by the index.
+     */
+    public static RubyArray findBy(IRubyObject document, RubyHash selector) {
+        IRubyObject index = getIndex(document);
+        if (index == null) {
+            return null;
+        }
+        IRubyObject result = index.callMethod(document.getRuntime().getCurrentContext(), "find_by", selector);
+        return result.isNil() ? null : (RubyArray) result;
+    }
+
+    /**
+     * Invalidates the index of the document that contains the given node, if the document has an index.
+     */
+    public static void invalidate(IRubyObject node) {
+        Ruby runtime = node.getRuntime();
+        if (getIndexClass(runtime).getInternalVariable(KEY_INDEX_BUILT) == null) {
+            return;
+        }
+        ThreadContext threadContext = runtime.getCurrentContext();
+        IRubyObject index = getIndex(node.callMethod(threadContext, "document"));
+        if (index != null) {
+            index.callMethod(threadContext, "invalidate");
+        }
+    }
+
+    private static RubyClass getIndexClass(Ruby runtime) {
+        return runtime.getModule("AsciidoctorModule").getClass("FindByIndex");
+    }
+
+    private static IRubyObject getIndex(IRubyObject document) {
+        return (IRubyObject) document.getInternalVariables().getInternalVariable(KEY_INDEX);
+    }
+}
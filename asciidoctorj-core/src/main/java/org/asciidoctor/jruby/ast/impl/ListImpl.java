@@ -15,7 +15,7 @@ public class ListImpl extends StructuralNodeImpl implements List {
     @Override
     public java.util.List<StructuralNode> getItems() {
         RubyArray rubyBlocks = (RubyArray) getRubyProperty("items");
-        return new RubyBlockListDecorator<>(rubyBlocks);
+        return new RubyBlockListDecorator<>(rubyBlocks, getRubyObject());
     }
 
     @Override
@@ -37,6 +37,6 @@ public class ListImpl extends StructuralNodeImpl implements List {
     @Override
     public java.util.List<StructuralNode> getBlocks() {
         RubyArray rubyBlocks = (RubyArray) getRubyProperty("blocks");
-        return new RubyBlockListDecorator<>(rubyBlocks);
+        return new RubyBlockListDecorator<>(rubyBlocks, getRubyObject());
     }
 }
@@ -1,11 +1,11 @@
 package org.asciidoctor.jruby.ast.impl;
 
 import org.asciidoctor.ast.ContentNode;
-import org.asciidoctor.jruby.internal.RubyObjectWrapper;
 import org.jruby.Ruby;
 import org.jruby.RubyArray;
 import org.jruby.RubyClass;
 import org.jruby.RubyModule;
+import org.jruby.RubySymbol;
 import org.jruby.java.proxies.RubyObjectHolderProxy;
 import org.jruby.runtime.builtin.IRubyObject;
 
@@ -27,29 +27,27 @@ public final class NodeConverter {
 
         LIST_CLASS("Asciidoctor", "List") {
             @Override
-            public boolean isInstance(IRubyObject object) {
-                return super.isInstance(object) && !"dlist".equals(new RubyObjectWrapper(object).getString("context"));
+            NodeType discriminate(IRubyObject object) {
+                return isDescriptionList(object) ? DEFINITIONLIST_CLASS : this;
             }
         },
 
         DEFINITIONLIST_CLASS("Asciidoctor", "List") {
             @Override
-            public boolean isInstance(IRubyObject object) {
-                return super.isInstance(object) && "dlist".equals(new RubyObjectWrapper(object).getString("context"));
+            NodeType discriminate(IRubyObject object) {
+                return isDescriptionList(object) ? this : LIST_CLASS;
             }
         },
 
         DEFINITIONLIST_ITEM_CLASS("Array") {
             @Override
-            public boolean isInstance(IRubyObject object) {
-                if (!super.isInstance(object)) {
-                    return false;
-                }
+            NodeType discriminate(IRubyObject object) {
                 RubyArray array = (RubyArray) object;
-                boolean ret = array.size() == 2
-                        && object.getRuntime().getArray().isInstance((IRubyObject) array.get(0))
-                        && (null == array.get(1) || LIST_ITEM_CLASS.isInstance((IRubyObject) array.get(1)));
-                return ret;
+                if (array.size() != 2 || !(array.eltInternal(0) instanceof RubyArray)) {
+                    return null;
+                }
+                IRubyObject description = array.eltInternal(1);
+                return description == null || description.isNil() || LIST_ITEM_CLASS.isInstance(description) ? this : null;
             }
 
         },
@@ -62,6 +60,16 @@ public final class NodeConverter {
 
         TABLE_CELL_CLASS("Asciidoctor", "Table", "Cell");
 
+        /**
+         * Name of the internal variable of a Ruby class that holds the node type of its instances.
+         */
+        private static final String KEY_NODE_TYPE = "asciidoctorj_node_type";
+
+        /**
+         * Marks Ruby classes whose instances are no AST nodes.
+         */
+        private static final Object NO_NODE_TYPE = new Object();
+
         private String[] path;
 
         NodeType(String... path) {
@@ -86,12 +94,49 @@ public final class NodeConverter {
         }
 
         private static NodeType getNodeType(IRubyObject rubyObject) {
+            NodeType nodeType = lookupNodeType(rubyObject);
+            if (nodeType == null) {
+                throw new IllegalArgumentException("Don't know what to do with a " + rubyObject.getMetaClass());
+            }
+            return nodeType;
+        }
+
+        /**
+         * Resolves the node type in constant time.
+         * The node type of the Ruby class is resolved once and stored in an internal variable of the class,
+         * which is specific to the Ruby runtime.
+         * Lists and description lists share the same class and are distinguished by their context.
+         */
+        private static NodeType lookupNodeType(IRubyObject rubyObject) {
+            RubyClass rubyClass = rubyObject.getMetaClass().getRealClass();
+            Object nodeType = rubyClass.getInternalVariables().getInternalVariable(KEY_NODE_TYPE);
+            if (nodeType == null) {
+                nodeType = resolveNodeType(rubyClass);
+                rubyClass.getInternalVariables().setInternalVariable(KEY_NODE_TYPE, nodeType);
+            }
+            return nodeType == NO_NODE_TYPE ? null : ((NodeType) nodeType).discriminate(rubyObject);
+        }
+
+        private static Object resolveNodeType(RubyClass rubyClass) {
             for (NodeType nodeType: values()) {
-                if (nodeType.isInstance(rubyObject)) {
+                if (rubyClass == nodeType.getRubyClass(rubyClass.getRuntime())) {
                     return nodeType;
                 }
             }
-            throw new IllegalArgumentException("Don't know what to do with a " + rubyObject.getMetaClass());
+            return NO_NODE_TYPE;
+        }
+
+        private static boolean isDescriptionList(IRubyObject object) {
+            IRubyObject context = object.getInstanceVariables().getInstanceVariable("@context");
+            return context instanceof RubySymbol && "dlist".equals(((RubySymbol) context).asJavaString());
+        }
+
+        /**
+         * @param object an instance of the Ruby class of this node type.
+         * @return the actual node type of the object, or {@code null} if it is not a node.
+         */
+        NodeType discriminate(IRubyObject object) {
+            return this;
         }
 
         /**
@@ -99,8 +144,7 @@ public final class NodeConverter {
          * @return {@code true} if the given Ruby object is recognized as this node type.
          */
         public boolean isInstance(IRubyObject object) {
-            Ruby rubyRuntime = object.getRuntime();
-            return getRubyClass(rubyRuntime).equals(object.getMetaClass().getRealClass());
+            return lookupNodeType(object) == this;
         }
     }
 
@@ -119,8 +163,7 @@ public final class NodeConverter {
             if (rubyObject.isNil()) {
                 return null;
             }
-            NodeCache nodeCache = NodeCache.get(rubyObject);
-            ContentNode cachedNode = nodeCache.getASTNode();
+            ContentNode cachedNode = NodeCache.getASTNode(rubyObject);
             if (cachedNode != null) {
                 return cachedNode;
             }
@@ -165,7 +208,7 @@ public final class NodeConverter {
                     throw new IllegalArgumentException("Don't know what to do with a " + rubyObject);
             }
 
-            nodeCache.setASTNode(ret);
+            NodeCache.setASTNode(rubyObject, ret);
 
             return ret;
         } else if (object instanceof ContentNode) {
@@ -0,0 +1,163 @@
+package org.asciidoctor.jruby.ast.impl;
+
+import org.asciidoctor.ast.Cursor;
+import org.asciidoctor.ast.NodeSnapshot;
+import org.asciidoctor.jruby.internal.RubyHashUtil;
+import org.jruby.RubyArray;
+import org.jruby.RubyHash;
+import org.jruby.RubyNumeric;
+import org.jruby.runtime.builtin.IRubyObject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Plain Java implementation of a {@link NodeSnapshot} that holds no references to Ruby objects.
+ * <p>
+ * Snapshots are created from the nested arrays that {@code AsciidoctorModule.snapshot} creates in a single walk
+ * of the Ruby AST, so that reading the tree does not require a call into the Ruby runtime per property and node.
+ */
+public class NodeSnapshotImpl implements NodeSnapshot {
+
+    private static final int ID = 0;
+    private static final int CONTEXT = 1;
+    private static final int STYLE = 2;
+    private static final int ROLES = 3;
+    private static final int TITLE = 4;
+    private static final int LEVEL = 5;
+    private static final int ATTRIBUTES = 6;
+    private static final int SOURCE_LOCATION = 7;
+    private static final int CHILDREN = 8;
+
+    private final String id;
+    private final String context;
+    private final String style;
+    private final List<String> roles;
+    private final String title;
+    private final int level;
+    private final Map<String, Object> attributes;
+    private final Cursor sourceLocation;
+    private final List<NodeSnapshot> children;
+
+    private NodeSnapshotImpl(String id, String context, String style, List<String> roles, String title, int level,
+                             Map<String, Object> attributes, Cursor sourceLocation, List<NodeSnapshot> children) {
+        this.id = id;
+        this.context = context;
+        this.style = style;
+        this.roles = roles;
+        this.title = title;
+        this.level = level;
+        this.attributes = attributes;
+        this.sourceLocation = sourceLocation;
+        this.children = children;
+    }
+
+    /**
+     * Creates the snapshot from an array of the form
+     * {@code [id, context, style, roles, title, level, attributes, [file, dir, path, lineno], children]}.
+     */
+    static NodeSnapshot fromRuby(RubyArray node) {
+        RubyArray rubyChildren = (RubyArray) node.eltInternal(CHILDREN);
+        List<NodeSnapshot> children = new ArrayList<>(rubyChildren.size());
+        for (int i = 0; i < rubyChildren.size(); i++) {
+            children.add(fromRuby((RubyArray) rubyChildren.eltInternal(i)));
+        }
+
+        return new NodeSnapshotImpl(
+                toJavaString(node.eltInternal(ID)),
+                toJavaString(node.eltInternal(CONTEXT)),
+                toJavaString(node.eltInternal(STYLE)),
+                Collections.unmodifiableList(toStringList((RubyArray) node.eltInternal(ROLES))),
+                toJavaString(node.eltInternal(TITLE)),
+                toJavaInt(node.eltInternal(LEVEL)),
+                Collections.unmodifiableMap(RubyHashUtil.convertRubyHashMapToStringObjectMap((RubyHash) node.eltInternal(ATTRIBUTES))),
+                toSourceLocation(node.eltInternal(SOURCE_LOCATION)),
+                Collections.unmodifiableList(children));
+    }
+
+    private static Cursor toSourceLocation(IRubyObject location) {
+        if (location.isNil()) {
+            return null;
+        }
+        RubyArray array = (RubyArray) location;
+        return new DetachedCursor(
+                toJavaString(array.eltInternal(0)),
+                toJavaString(array.eltInternal(1)),
+                toJavaString(array.eltInternal(2)),
+                toJavaInt(array.eltInternal(3)));
+    }
+
+    private static List<String> toStringList(RubyArray array) {
+        List<String> result = new ArrayList<>(array.size());
+        for (int i = 0; i < array.size(); i++) {
+            result.add(toJavaString(array.eltInternal(i)));
+        }
+        return result;
+    }
+
+    private static String toJavaString(IRubyObject value) {
+        return value.isNil() ? null : value.asJavaString();
+    }
+
+    private static int toJavaInt(IRubyObject value) {
+        return value.isNil() ? 0 : (int) ((RubyNumeric) value).getLongValue();
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String getContext() {
+        return context;
+    }
+
+    @Override
+    public String getStyle() {
+        return style;
+    }
+
+    @Override
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    @Override
+    public String getTitle() {
+        return title;
+    }
+
+    @Override
+    public int getLevel() {
+        return level;
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public Cursor getSourceLocation() {
+        return sourceLocation;
+    }
+
+    @Override
+    public List<NodeSnapshot> getChildren() {
+        return children;
+    }
+
+    @Override
+    public Stream<NodeSnapshot> stream() {
+        return Stream.concat(Stream.of(this), children.stream().flatMap(NodeSnapshot::stream));
+    }
+
+    @Override
+    public String toString() {
+        return "NodeSnapshot{context=" + context + ", id=" + id + ", children=" + children.size() + "}";
+    }
+}
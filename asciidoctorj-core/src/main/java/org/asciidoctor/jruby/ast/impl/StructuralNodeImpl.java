@@ -1,11 +1,16 @@
 package org.asciidoctor.jruby.ast.impl;
 
 import org.asciidoctor.ast.Cursor;
+import org.asciidoctor.ast.NodeVisitor;
 import org.asciidoctor.ast.StructuralNode;
+import org.asciidoctor.ast.Traversal;
 import org.asciidoctor.jruby.internal.RubyBlockListDecorator;
 import org.asciidoctor.jruby.internal.RubyHashUtil;
 import org.asciidoctor.jruby.internal.RubyUtils;
+import org.jruby.Ruby;
 import org.jruby.RubyArray;
+import org.jruby.RubyHash;
+import org.jruby.RubyNumeric;
 import org.jruby.runtime.builtin.IRubyObject;
 
 import java.util.List;
@@ -57,6 +62,7 @@ public class StructuralNodeImpl extends ContentNodeImpl implements StructuralNod
     @Override
     public void setStyle(String style) {
         setString("style", style);
+        FindByIndex.invalidate(getRubyObject());
     }
 
     @Override
@@ -68,12 +74,13 @@ public class StructuralNodeImpl extends ContentNodeImpl implements StructuralNod
     @Override
     public List<StructuralNode> getBlocks() {
         RubyArray rubyBlocks = (RubyArray) getRubyProperty("blocks");
-        return new RubyBlockListDecorator<>(rubyBlocks);
+        return new RubyBlockListDecorator<>(rubyBlocks, getRubyObject());
     }
 
     @Override
     public void append(StructuralNode block) {
         getRubyObject().callMethod(runtime.getCurrentContext(), "<<", ((StructuralNodeImpl) block).getRubyObject());
+        FindByIndex.invalidate(getRubyObject());
     }
 
     @Override
@@ -151,8 +158,40 @@ public class StructuralNodeImpl extends ContentNodeImpl implements StructuralNod
 
     @Override
     public List<StructuralNode> findBy(Map<Object, Object> selector) {
-        RubyArray rubyBlocks = (RubyArray) getRubyProperty("find_by", RubyHashUtil.convertMapToRubyHashWithSymbolsIfNecessary(runtime, selector));
+        return findByRubySelector(RubyHashUtil.convertMapToRubyHashWithSymbolsIfNecessary(runtime, selector));
+    }
+
+    protected List<StructuralNode> findByRubySelector(RubyHash selector) {
+        RubyArray rubyBlocks = (RubyArray) getRubyProperty("find_by", selector);
         return new RubyBlockListDecorator<>(rubyBlocks);
     }
 
+    @Override
+    public void traverse(Traversal traversal, NodeVisitor visitor) {
+        Ruby runtime = getRuntime();
+        IRubyObject contexts = runtime.getNil();
+        if (!traversal.getContexts().isEmpty()) {
+            RubyArray contextSymbols = RubyArray.newArray(runtime, traversal.getContexts().size());
+            for (String context : traversal.getContexts()) {
+                contextSymbols.append(RubyUtils.toSymbol(runtime, context));
+            }
+            contexts = contextSymbols;
+        }
+        IRubyObject maxDepth = traversal.getMaxDepth() == Traversal.UNLIMITED_DEPTH
+                ? runtime.getNil()
+                : runtime.newFixnum(traversal.getMaxDepth());
+
+        RubyArray acceptedNodes = (RubyArray) runtime.getModule("AsciidoctorModule").callMethod(
+                runtime.getCurrentContext(),
+                "traverse",
+                new IRubyObject[]{getRubyObject(), runtime.newBoolean(traversal.getOrder() == Traversal.Order.POST_ORDER), contexts, maxDepth});
+
+        // The result alternates between nodes and their depths
+        for (int i = 0; i < acceptedNodes.size(); i += 2) {
+            StructuralNode node = (StructuralNode) NodeConverter.createASTNode(acceptedNodes.eltInternal(i));
+            int depth = (int) ((RubyNumeric) acceptedNodes.eltInternal(i + 1)).getLongValue();
+            visitor.visit(node, depth);
+        }
+    }
+
 }
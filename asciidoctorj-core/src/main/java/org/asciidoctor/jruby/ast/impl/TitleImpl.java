@@ -0,0 +1,55 @@
+package org.asciidoctor.jruby.ast.impl;
+
+import org.asciidoctor.ast.Title;
+
+/**
+ * A plain Java copy of a structured document title that keeps no reference to the Ruby runtime.
+ */
+public class TitleImpl implements Title {
+
+    private String main;
+    private String subtitle;
+    private String combined;
+    private boolean sanitized;
+
+    private TitleImpl() {
+        super();
+    }
+
+    public static Title getInstance(Title title) {
+        if (title == null) {
+            return null;
+        }
+        TitleImpl titleImpl = new TitleImpl();
+        titleImpl.main = title.getMain();
+        titleImpl.subtitle = title.getSubtitle();
+        titleImpl.combined = title.getCombined();
+        titleImpl.sanitized = title.isSanitized();
+        return titleImpl;
+    }
+
+    @Override
+    public String getMain() {
+        return main;
+    }
+
+    @Override
+    public String getSubtitle() {
+        return subtitle;
+    }
+
+    @Override
+    public String getCombined() {
+        return combined;
+    }
+
+    @Override
+    public boolean isSanitized() {
+        return sanitized;
+    }
+
+    @Override
+    public String toString() {
+        return combined;
+    }
+}
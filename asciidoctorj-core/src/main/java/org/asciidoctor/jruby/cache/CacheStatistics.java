@@ -0,0 +1,70 @@
+package org.asciidoctor.jruby.cache;
+
+/**
+ * An immutable snapshot of the statistics of a {@link ConversionCache}.
+ */
+public class CacheStatistics {
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final long evictionCount;
+
+    private final long entryCount;
+
+    private final long size;
+
+    public CacheStatistics(long hitCount, long missCount, long evictionCount, long entryCount, long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.entryCount = entryCount;
+        this.size = size;
+    }
+
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return The ratio of hits to all requests, or 0 if there was no request yet.
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0.0 : (double) hitCount / requestCount;
+    }
+
+    /**
+     * @return The number of entries that were removed to stay within the size bound.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * @return The current size of all entries in bytes.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", entryCount=" + entryCount +
+                ", size=" + size +
+                '}';
+    }
+}
@@ -0,0 +1,42 @@
+package org.asciidoctor.jruby.cache;
+
+/**
+ * A cache for conversion results that is consulted by
+ * {@link org.asciidoctor.Asciidoctor#convert(String, java.util.Map)} before the content is passed to Asciidoctor.
+ * <p>
+ * The keys are hex encoded hashes of the content, the options and the registered extensions and converters.
+ * Implementations must be thread safe.
+ * <p>
+ * A cache is set via {@link org.asciidoctor.jruby.AsciidoctorJRuby#setConversionCache(ConversionCache)}.
+ *
+ * @see MemoryConversionCache
+ * @see DiskConversionCache
+ */
+public interface ConversionCache {
+
+    /**
+     * @param key the hash of the conversion input.
+     * @return The cached output for the key or {@code null} if there is no entry for it.
+     */
+    String get(String key);
+
+    /**
+     * Stores the output of a conversion.
+     * The cache may evict other entries to stay within its size bound.
+     *
+     * @param key the hash of the conversion input.
+     * @param output the converted document.
+     */
+    void put(String key, String output);
+
+    /**
+     * Removes all entries.
+     */
+    void clear();
+
+    /**
+     * @return A snapshot of the statistics of this cache.
+     */
+    CacheStatistics getStatistics();
+
+}
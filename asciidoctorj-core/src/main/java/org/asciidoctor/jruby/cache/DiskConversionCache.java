@@ -0,0 +1,183 @@
+package org.asciidoctor.jruby.cache;
+
+import org.asciidoctor.jruby.internal.AsciidoctorCoreException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link ConversionCache} that stores every result as a UTF-8 encoded file in a directory,
+ * so that results survive restarts of the application.
+ * When the total size of all files exceeds the maximum size the least recently used files are deleted.
+ * <p>
+ * On creation the existing files in the directory are picked up in the order of their last modification.
+ * The cache assumes that it is the only one writing to the directory.
+ * <p>
+ * Changes to the implementation of extensions or converters are not detected,
+ * so the directory should be cleared when a new version of them is deployed.
+ */
+public class DiskConversionCache implements ConversionCache {
+
+    private static final Logger logger = Logger.getLogger(DiskConversionCache.class.getName());
+
+    private static final String SUFFIX = ".cache";
+
+    private final Path directory;
+
+    private final long maxSize;
+
+    /**
+     * File sizes by key in the order of their last access.
+     */
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    /**
+     * @param directory the directory to store the results in, it is created if it does not exist.
+     * @param maxSize the maximum size of all cached results in bytes.
+     */
+    public DiskConversionCache(File directory, long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.directory = directory.toPath();
+        this.maxSize = maxSize;
+        try {
+            Files.createDirectories(this.directory);
+            loadEntries();
+        } catch (IOException e) {
+            throw new AsciidoctorCoreException("Cannot initialize conversion cache in " + directory, e);
+        }
+    }
+
+    private void loadEntries() throws IOException {
+        List<Path> files = new ArrayList<>();
+        final Map<Path, BasicFileAttributes> attributes = new LinkedHashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+                attributes.put(file, Files.readAttributes(file, BasicFileAttributes.class));
+            }
+        }
+        files.sort(new Comparator<Path>() {
+            @Override
+            public int compare(Path o1, Path o2) {
+                return attributes.get(o1).lastModifiedTime().compareTo(attributes.get(o2).lastModifiedTime());
+            }
+        });
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            long fileSize = attributes.get(file).size();
+            entries.put(fileName.substring(0, fileName.length() - SUFFIX.length()), fileSize);
+            size += fileSize;
+        }
+        evict();
+    }
+
+    @Override
+    public synchronized String get(String key) {
+        if (entries.get(key) == null) {
+            missCount++;
+            return null;
+        }
+        try {
+            Path file = fileFor(key);
+            String output = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            // Persist the access order for the next start
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            hitCount++;
+            return output;
+        } catch (NoSuchFileException e) {
+            // Deleted by someone else
+            size -= entries.remove(key);
+            missCount++;
+            return null;
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Cannot read cached conversion result " + key, e);
+            missCount++;
+            return null;
+        }
+    }
+
+    @Override
+    public synchronized void put(String key, String output) {
+        byte[] bytes = output.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > maxSize) {
+            return;
+        }
+        Path file = fileFor(key);
+        try {
+            Path tmpFile = Files.createTempFile(directory, key, ".tmp");
+            Files.write(tmpFile, bytes);
+            Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Cannot write cached conversion result " + key, e);
+            return;
+        }
+        Long previousSize = entries.put(key, (long) bytes.length);
+        if (previousSize != null) {
+            size -= previousSize;
+        }
+        size += bytes.length;
+        evict();
+    }
+
+    private void evict() {
+        for (Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator(); size > maxSize && it.hasNext(); ) {
+            Map.Entry<String, Long> eldest = it.next();
+            try {
+                Files.deleteIfExists(fileFor(eldest.getKey()));
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Cannot delete cached conversion result " + eldest.getKey(), e);
+            }
+            size -= eldest.getValue();
+            it.remove();
+            evictionCount++;
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        for (String key : entries.keySet()) {
+            try {
+                Files.deleteIfExists(fileFor(key));
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Cannot delete cached conversion result " + key, e);
+            }
+        }
+        entries.clear();
+        size = 0;
+    }
+
+    @Override
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount, missCount, evictionCount, entries.size(), size);
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+}
@@ -0,0 +1,168 @@
+package org.asciidoctor.jruby.cache;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache for the content of included files that is shared by all documents that are converted by an instance,
+ * or by all instances of a pool.
+ * <p>
+ * Entries are keyed by the real path of a file and are only used as long as the modification time and the size
+ * of the file did not change. The least recently used entries are evicted when the total size of all entries
+ * exceeds the maximum size.
+ * <p>
+ * A cache is set via {@link org.asciidoctor.jruby.AsciidoctorJRuby#setIncludeContentCache(IncludeContentCache)}.
+ * Asciidoctor then reads includes of local files without attributes from the cache, all other includes,
+ * e.g. with lines or tags, are read as usual.
+ * Include processors read files through the cache via
+ * {@link org.asciidoctor.extension.PreprocessorReader#push_include(File, String, int, Map)}.
+ * This class is thread safe.
+ */
+public class IncludeContentCache {
+
+    private final long maxSize;
+
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    /**
+     * @param maxSize the maximum size of the content of all cached files in bytes.
+     */
+    public IncludeContentCache(long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * @param path the path of the file.
+     * @return The content of the file, from the cache if it did not change since it was cached.
+     * The returned array is shared and must not be modified.
+     * @throws IOException if the file cannot be read.
+     */
+    public byte[] read(String path) throws IOException {
+        return read(new File(path).toPath());
+    }
+
+    /**
+     * @param file the file.
+     * @return The content of the file, from the cache if it did not change since it was cached.
+     * The returned array is shared and must not be modified.
+     * @throws IOException if the file cannot be read.
+     */
+    public byte[] read(Path file) throws IOException {
+        Path realPath = file.toRealPath();
+        BasicFileAttributes attributes = Files.readAttributes(realPath, BasicFileAttributes.class);
+
+        synchronized (this) {
+            Entry entry = entries.get(realPath);
+            if (entry != null && entry.isCurrent(attributes)) {
+                hitCount++;
+                return entry.content;
+            }
+            missCount++;
+        }
+
+        // Read outside of the lock, concurrent conversions including other files do not have to wait
+        byte[] content = readContent(realPath, attributes.size());
+        // Only cache the content if the file did not change while it was read
+        if (content.length == attributes.size() && attributes.lastModifiedTime().equals(Files.getLastModifiedTime(realPath))) {
+            put(realPath, new Entry(attributes.lastModifiedTime(), attributes.size(), content));
+        }
+        return content;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * @return A snapshot of the statistics of this cache.
+     */
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount, missCount, evictionCount, entries.size(), size);
+    }
+
+    private synchronized void put(Path realPath, Entry entry) {
+        if (entry.content.length > maxSize) {
+            // Would evict everything else and still not fit
+            return;
+        }
+        Entry previous = entries.put(realPath, entry);
+        if (previous != null) {
+            size -= previous.content.length;
+        }
+        size += entry.content.length;
+        for (Iterator<Map.Entry<Path, Entry>> it = entries.entrySet().iterator(); size > maxSize && it.hasNext(); ) {
+            Map.Entry<Path, Entry> eldest = it.next();
+            size -= eldest.getValue().content.length;
+            it.remove();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Reads the file via a FileChannel directly into an array of the expected size.
+     */
+    private static byte[] readContent(Path file, long expectedSize) throws IOException {
+        if (expectedSize > Integer.MAX_VALUE - 8) {
+            throw new IOException("File too large to include: " + file);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate((int) expectedSize);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer) < 0) {
+                    // The file shrank in the meantime
+                    return Arrays.copyOf(buffer.array(), buffer.position());
+                }
+            }
+            if (channel.position() < channel.size()) {
+                // The file grew in the meantime
+                return Files.readAllBytes(file);
+            }
+            return buffer.array();
+        }
+    }
+
+    private static class Entry {
+
+        private final FileTime lastModifiedTime;
+
+        private final long fileSize;
+
+        private final byte[] content;
+
+        private Entry(FileTime lastModifiedTime, long fileSize, byte[] content) {
+            this.lastModifiedTime = lastModifiedTime;
+            this.fileSize = fileSize;
+            this.content = content;
+        }
+
+        private boolean isCurrent(BasicFileAttributes attributes) {
+            return fileSize == attributes.size() && lastModifiedTime.equals(attributes.lastModifiedTime());
+        }
+    }
+}
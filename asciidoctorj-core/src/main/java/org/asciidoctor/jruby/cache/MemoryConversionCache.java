@@ -0,0 +1,81 @@
+package org.asciidoctor.jruby.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A {@link ConversionCache} that keeps the results in memory and evicts the least recently used entries
+ * when the total size of all entries exceeds the maximum size.
+ * The size of an entry is estimated as two bytes per character of the output.
+ */
+public class MemoryConversionCache implements ConversionCache {
+
+    private final long maxSize;
+
+    private final LinkedHashMap<String, String> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    /**
+     * @param maxSize the maximum size of all cached results in bytes.
+     */
+    public MemoryConversionCache(long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public synchronized String get(String key) {
+        String output = entries.get(key);
+        if (output == null) {
+            missCount++;
+        } else {
+            hitCount++;
+        }
+        return output;
+    }
+
+    @Override
+    public synchronized void put(String key, String output) {
+        long entrySize = sizeOf(output);
+        if (entrySize > maxSize) {
+            // Would evict everything else and still not fit
+            return;
+        }
+        String previous = entries.put(key, output);
+        if (previous != null) {
+            size -= sizeOf(previous);
+        }
+        size += entrySize;
+        for (Iterator<Map.Entry<String, String>> it = entries.entrySet().iterator(); size > maxSize && it.hasNext(); ) {
+            Map.Entry<String, String> eldest = it.next();
+            size -= sizeOf(eldest.getValue());
+            it.remove();
+            evictionCount++;
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    @Override
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(hitCount, missCount, evictionCount, entries.size(), size);
+    }
+
+    private static long sizeOf(String output) {
+        return 2L * output.length();
+    }
+}
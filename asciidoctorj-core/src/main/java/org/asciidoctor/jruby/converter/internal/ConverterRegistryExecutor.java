@@ -1,24 +1,30 @@
 package org.asciidoctor.jruby.converter.internal;
 
 import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.asciidoctor.jruby.ServiceRegistrations;
 import org.asciidoctor.jruby.converter.spi.ConverterRegistry;
-
-import java.util.ServiceLoader;
+import org.asciidoctor.jruby.internal.ServiceLoaderCache;
 
 public class ConverterRegistryExecutor {
 
     private AsciidoctorJRuby asciidoctor;
 
+    private ServiceRegistrations serviceRegistrations;
+
     public ConverterRegistryExecutor(AsciidoctorJRuby asciidoctor) {
+        this(asciidoctor, ServiceRegistrations.all());
+    }
+
+    public ConverterRegistryExecutor(AsciidoctorJRuby asciidoctor, ServiceRegistrations serviceRegistrations) {
         this.asciidoctor = asciidoctor;
+        this.serviceRegistrations = serviceRegistrations;
     }
 
     public void registerAllConverters() {
-        ServiceLoader<ConverterRegistry> converterRegistryServiceLoader = ServiceLoader
-                .load(ConverterRegistry.class);
-
-        for (ConverterRegistry converterRegistry : converterRegistryServiceLoader) {
-            converterRegistry.register(asciidoctor);
+        for (ConverterRegistry converterRegistry : ServiceLoaderCache.load(ConverterRegistry.class)) {
+            if (serviceRegistrations.accepts(converterRegistry.getClass())) {
+                converterRegistry.register(asciidoctor);
+            }
         }
     }
 }
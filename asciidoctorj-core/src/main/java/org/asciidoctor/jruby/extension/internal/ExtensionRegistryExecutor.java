@@ -1,24 +1,30 @@
 package org.asciidoctor.jruby.extension.internal;
 
 import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.asciidoctor.jruby.ServiceRegistrations;
 import org.asciidoctor.jruby.extension.spi.ExtensionRegistry;
-
-import java.util.ServiceLoader;
+import org.asciidoctor.jruby.internal.ServiceLoaderCache;
 
 public class ExtensionRegistryExecutor {
 
     private AsciidoctorJRuby asciidoctor;
 
+    private ServiceRegistrations serviceRegistrations;
+
     public ExtensionRegistryExecutor(AsciidoctorJRuby asciidoctor) {
+        this(asciidoctor, ServiceRegistrations.all());
+    }
+
+    public ExtensionRegistryExecutor(AsciidoctorJRuby asciidoctor, ServiceRegistrations serviceRegistrations) {
         this.asciidoctor = asciidoctor;
+        this.serviceRegistrations = serviceRegistrations;
     }
 
     public void registerAllExtensions() {
-        ServiceLoader<ExtensionRegistry> extensionRegistryServiceLoader = ServiceLoader
-                .load(ExtensionRegistry.class);
-        
-        for (ExtensionRegistry extensionRegistry : extensionRegistryServiceLoader) {
-            extensionRegistry.register(asciidoctor);
+        for (ExtensionRegistry extensionRegistry : ServiceLoaderCache.load(ExtensionRegistry.class)) {
+            if (serviceRegistrations.accepts(extensionRegistry.getClass())) {
+                extensionRegistry.register(asciidoctor);
+            }
         }
     }
 }
@@ -3,9 +3,19 @@ package org.asciidoctor.jruby.extension.internal;
 import org.asciidoctor.ast.Document;
 import org.asciidoctor.jruby.ast.impl.NodeConverter;
 import org.asciidoctor.extension.PreprocessorReader;
+import org.asciidoctor.jruby.cache.IncludeContentCache;
+import org.asciidoctor.jruby.internal.RubyHashUtil;
+import org.jcodings.specific.UTF8Encoding;
 import org.jruby.RubyHash;
+import org.jruby.RubyString;
 import org.jruby.runtime.builtin.IRubyObject;
+import org.jruby.util.ByteList;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Collections;
 import java.util.Map;
 
 public class PreprocessorReaderImpl extends ReaderImpl implements PreprocessorReader {
@@ -23,6 +33,36 @@ public class PreprocessorReaderImpl extends ReaderImpl implements PreprocessorRe
         getRubyProperty("push_include", data, file, path, lineNumber, attributes);
     }
 
+    @Override
+    public void push_include(File file, String path, int lineNumber, Map<String, Object> attributes) {
+        byte[] content;
+        try {
+            IncludeContentCache cache = getIncludeContentCache();
+            content = cache != null ? cache.read(file.toPath()) : Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // The Ruby String shares the bytes and only copies them when it is modified, so the cached content stays intact
+        RubyString data = RubyString.newStringShared(getRuntime(), new ByteList(content, UTF8Encoding.INSTANCE, false));
+        RubyHash attributeHash = RubyHashUtil.convertMapToRubyHashWithStrings(getRuntime(),
+                attributes != null ? attributes : Collections.<String, Object>emptyMap());
+
+        getRubyProperty("push_include", data, file.getAbsolutePath(), path, lineNumber, attributeHash);
+    }
+
+    /**
+     * @return The cache that was set via {@link org.asciidoctor.jruby.AsciidoctorJRuby#setIncludeContentCache(IncludeContentCache)}
+     * on the instance that owns this reader, or {@code null} if there is none.
+     */
+    private IncludeContentCache getIncludeContentCache() {
+        IRubyObject includeCaching = getRuntime().getModule("AsciidoctorJ").getConstantAt("IncludeCaching");
+        if (includeCaching == null) {
+            return null;
+        }
+        IRubyObject cache = includeCaching.callMethod(getRuntime().getCurrentContext(), "cache");
+        return cache.isNil() ? null : cache.toJava(IncludeContentCache.class);
+    }
+
     @Override
     @Deprecated
     public Document document() {
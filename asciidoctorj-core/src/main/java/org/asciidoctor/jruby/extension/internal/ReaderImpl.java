@@ -4,6 +4,7 @@ import java.util.List;
 
 import org.asciidoctor.extension.Reader;
 import org.asciidoctor.jruby.internal.RubyObjectWrapper;
+import org.asciidoctor.jruby.internal.RubyStringListDecorator;
 import org.jruby.Ruby;
 import org.jruby.RubyArray;
 import org.jruby.RubyClass;
@@ -16,10 +17,11 @@ public class ReaderImpl extends RubyObjectWrapper implements Reader {
     }
 
     static ReaderImpl createReader(Ruby runtime, List<String> lines) {
-        RubyArray rubyLines = runtime.newArray(lines.size());
-        for (String line : lines) {
-            rubyLines.add(runtime.newString(line));
-        }
+        // The Ruby Array of lines read from another reader is not converted again, only copied
+        // so that reading does not modify the list. The copy shares the elements until it is modified.
+        RubyArray rubyLines = lines instanceof RubyStringListDecorator
+                ? ((RubyStringListDecorator) lines).getRubyArray().aryDup()
+                : RubyStringListDecorator.toRubyArray(runtime, lines);
 
         RubyClass readerClass = runtime.getModule("Asciidoctor").getClass("Reader");
         return new ReaderImpl(readerClass.callMethod("new", rubyLines));
@@ -63,7 +65,7 @@ public class ReaderImpl extends RubyObjectWrapper implements Reader {
 
     @Override
     public List<String> readLines() {
-        return getList("read_lines", String.class);
+        return toLineList(getRubyProperty("read_lines"));
     }
 
     @Override
@@ -73,7 +75,7 @@ public class ReaderImpl extends RubyObjectWrapper implements Reader {
 
     @Override
     public List<String> lines() {
-        return getList("lines", String.class);
+        return toLineList(getRubyProperty("lines"));
     }
 
     @Override
@@ -83,7 +85,7 @@ public class ReaderImpl extends RubyObjectWrapper implements Reader {
 
     @Override
     public void restoreLines(List<String> lines) {
-        getRubyProperty("unshift_lines", lines);
+        getRubyProperty("unshift_lines", RubyStringListDecorator.toRubyArray(getRuntime(), lines));
     }
 
     @Override
@@ -93,7 +95,7 @@ public class ReaderImpl extends RubyObjectWrapper implements Reader {
 
     @Override
     public List<String> peekLines(int lineCount) {
-        return getList("peek_lines", String.class, lineCount);
+        return toLineList(getRubyProperty("peek_lines", lineCount));
     }
 
     @Override
@@ -106,4 +108,12 @@ public class ReaderImpl extends RubyObjectWrapper implements Reader {
         getRubyProperty("terminate");
     }
 
+    /**
+     * Lines are returned as a view of the Ruby Array, so that only the lines that are actually accessed
+     * are converted, and restoring them does not have to convert them back.
+     */
+    private static List<String> toLineList(IRubyObject lines) {
+        return lines instanceof RubyArray ? new RubyStringListDecorator((RubyArray) lines) : null;
+    }
+
 }
@@ -1,6 +1,5 @@
 package org.asciidoctor.jruby.extension.processorproxies;
 
-import org.asciidoctor.ast.ContentModel;
 import org.asciidoctor.extension.*;
 import org.asciidoctor.jruby.ast.impl.ContentNodeImpl;
 import org.asciidoctor.jruby.extension.internal.JRubyProcessor;
@@ -128,132 +127,25 @@ public class AbstractProcessorProxy<T extends Processor> extends RubyObject {
     }
 
     protected static void applyAnnotations(Class<? extends Processor> processor, RubyClass rubyClass) {
-        handleLocationAnnotation(processor, rubyClass);
-
-        handleNameAnnotation(processor, rubyClass);
-
-        handleContentModelAnnotation(processor, rubyClass);
-
-        handleDefaultAttributeAnnotation(processor, rubyClass);
-
-        handleDefaultAttributesAnnotation(processor, rubyClass);
-
-        handlePositionalAttributesAnnotation(processor, rubyClass);
-
-        handleContextsAnnotation(processor, rubyClass);
-
-        handleFormatAnnotation(processor, rubyClass);
+        applyAnnotations(processor, rubyClass, false);
     }
 
-    private static void handleFormatAnnotation(Class<? extends Processor> processor, RubyClass rubyClass) {
-        Ruby rubyRuntime = rubyClass.getRuntime();
-        if (processor.isAnnotationPresent(Format.class)) {
-            Format format = processor.getAnnotation(Format.class);
-            switch (format.value()) {
-                case CUSTOM:
-                    rubyClass.callMethod(rubyRuntime.getCurrentContext(), "option", new IRubyObject[]{
-                            rubyRuntime.newSymbol("regexp"),
-                            convertRegexp(rubyRuntime, format.regexp())
-                    });
-                default:
-                    rubyClass.callMethod(rubyRuntime.getCurrentContext(), "option", new IRubyObject[]{
-                            rubyRuntime.newSymbol("format"),
-                            rubyRuntime.newSymbol(format.value().optionValue().substring(1))
-                    });
-            }
-        }
-    }
-
-    private static void handleContextsAnnotation(Class<? extends Processor> processor, RubyClass rubyClass) {
-        Ruby rubyRuntime = rubyClass.getRuntime();
-        if (processor.isAnnotationPresent(Contexts.class)) {
-            Contexts contexts = processor.getAnnotation(Contexts.class);
-            RubyArray contextList = rubyRuntime.newArray();
-            for (String value : contexts.value()) {
-                contextList.add(rubyRuntime.newSymbol(value.substring(1)));
-            }
-            rubyClass.callMethod(rubyRuntime.getCurrentContext(), "option", new IRubyObject[]{
-                    rubyRuntime.newSymbol("contexts"),
-                    contextList
-            });
-
-        }
-    }
-
-    private static void handleDefaultAttributesAnnotation(Class<? extends Processor> processor, RubyClass rubyClass) {
-        Ruby rubyRuntime = rubyClass.getRuntime();
-        if (processor.isAnnotationPresent(DefaultAttributes.class)) {
-            DefaultAttributes defaultAttributes = processor.getAnnotation(DefaultAttributes.class);
-            RubyHash defaultAttrs = RubyHash.newHash(rubyRuntime);
-            for (DefaultAttribute defaultAttribute : defaultAttributes.value()) {
-                defaultAttrs.put(defaultAttribute.key(), defaultAttribute.value());
-            }
-            rubyClass.callMethod(rubyRuntime.getCurrentContext(), "option", new IRubyObject[]{
-                    rubyRuntime.newSymbol("default_attrs"),
-                    defaultAttrs
-            });
-        }
+    protected static void applyAnnotations(Processor processor, RubyClass rubyClass) {
+        // The state of a processor instance is not known, so it disables caching conversion results.
+        applyAnnotations(processor.getClass(), rubyClass, true);
     }
 
-    private static void handleDefaultAttributeAnnotation(Class<? extends Processor> processor, RubyClass rubyClass) {
+    private static void applyAnnotations(Class<? extends Processor> processor, RubyClass rubyClass, boolean instance) {
         Ruby rubyRuntime = rubyClass.getRuntime();
-        if (processor.isAnnotationPresent(DefaultAttribute.class)) {
-            DefaultAttribute defaultAttribute = processor.getAnnotation(DefaultAttribute.class);
-            RubyHash defaultAttrs = RubyHash.newHash(rubyRuntime);
-            defaultAttrs.put(defaultAttribute.key(), defaultAttribute.value());
-            rubyClass.callMethod(rubyRuntime.getCurrentContext(), "option", new IRubyObject[]{
-                    rubyRuntime.newSymbol("default_attrs"),
-                    defaultAttrs
-            });
-        }
-    }
-
-    private static void handlePositionalAttributesAnnotation(Class<? extends Processor> processor, RubyClass rubyClass) {
-        Ruby rubyRuntime = rubyClass.getRuntime();
-        if (processor.isAnnotationPresent(PositionalAttributes.class)) {
-            PositionalAttributes positionalAttributes = processor.getAnnotation(PositionalAttributes.class);
-            RubyArray positionalAttrs = RubyArray.newArray(rubyRuntime);
-            for (String positionalAttribute : positionalAttributes.value()) {
-                positionalAttrs.add(positionalAttribute);
-            }
-            rubyClass.callMethod(rubyRuntime.getCurrentContext(), "option", new IRubyObject[]{
-                    rubyRuntime.newSymbol("positional_attrs"),
-                    positionalAttrs
-            });
-        }
-    }
-
-    private static void handleContentModelAnnotation(Class<? extends Processor> processor, RubyClass rubyClass) {
-        Ruby rubyRuntime = rubyClass.getRuntime();
-        if (processor.isAnnotationPresent(ContentModel.class)) {
-            ContentModel contentModel = processor.getAnnotation(ContentModel.class);
-            rubyClass.callMethod(rubyRuntime.getCurrentContext(), "option", new IRubyObject[]{
-                    rubyRuntime.newSymbol("content_model"),
-                    rubyRuntime.newSymbol(contentModel.value().substring(1))
-            });
-        }
-    }
-
-    private static void handleNameAnnotation(Class<? extends Processor> processor, RubyClass rubyClass) {
-        Ruby rubyRuntime = rubyClass.getRuntime();
-        if (processor.isAnnotationPresent(Name.class)) {
-            Name name = processor.getAnnotation(Name.class);
-            rubyClass.callMethod(rubyRuntime.getCurrentContext(), "option", new IRubyObject[]{
-                    rubyRuntime.newSymbol("name"),
-                    rubyRuntime.newString(name.value())
-            });
-        }
-    }
-
-    private static void handleLocationAnnotation(Class<? extends Processor> processor, RubyClass rubyClass) {
-        Ruby rubyRuntime = rubyClass.getRuntime();
-        if (processor.isAnnotationPresent(Location.class)) {
-            Location location = processor.getAnnotation(Location.class);
-            rubyClass.callMethod(rubyRuntime.getCurrentContext(), "option", new IRubyObject[]{
-                    rubyRuntime.newSymbol("location"),
-                    rubyRuntime.newSymbol(location.value().optionValue().substring(1))
-            });
-        }
+        // The generated Ruby class names depend on the registration order, the Java class name
+        // identifies the processor in the fingerprint used for caching conversion results.
+        // All options are applied in a single call, the descriptor is only created once per class.
+        rubyRuntime.getModule("AsciidoctorModule").callMethod(rubyRuntime.getCurrentContext(), "apply_processor_options", new IRubyObject[]{
+                rubyClass,
+                rubyRuntime.newString(processor.getName()),
+                ProcessorDescriptor.of(processor).toRubyHash(rubyRuntime),
+                rubyRuntime.newBoolean(instance)
+        });
     }
 
     protected static RubyRegexp convertRegexp(Ruby runtime, CharSequence regexp) {
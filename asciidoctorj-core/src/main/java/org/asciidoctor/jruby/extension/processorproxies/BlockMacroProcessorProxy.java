@@ -49,7 +49,7 @@ public class BlockMacroProcessorProxy extends AbstractMacroProcessorProxy<BlockM
             }
         });
 
-        applyAnnotations(blockMacroProcessor.getClass(), rubyClass);
+        applyAnnotations(blockMacroProcessor, rubyClass);
 
         ProcessorProxyUtil.defineAnnotatedMethods(rubyClass, BlockMacroProcessorProxy.class);
         return rubyClass;
@@ -50,7 +50,7 @@ public class BlockProcessorProxy extends AbstractProcessorProxy<BlockProcessor>
             }
         });
 
-        applyAnnotations(blockProcessor.getClass(), rubyClass);
+        applyAnnotations(blockProcessor, rubyClass);
 
         ProcessorProxyUtil.defineAnnotatedMethods(rubyClass, BlockProcessorProxy.class);
         return rubyClass;
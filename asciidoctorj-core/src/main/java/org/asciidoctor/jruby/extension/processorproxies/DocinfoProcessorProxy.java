@@ -51,7 +51,7 @@ public class DocinfoProcessorProxy extends AbstractProcessorProxy<DocinfoProcess
             }
         });
 
-        applyAnnotations(docinfoProcessor.getClass(), rubyClass);
+        applyAnnotations(docinfoProcessor, rubyClass);
 
         ProcessorProxyUtil.defineAnnotatedMethods(rubyClass, DocinfoProcessorProxy.class);
         return rubyClass;
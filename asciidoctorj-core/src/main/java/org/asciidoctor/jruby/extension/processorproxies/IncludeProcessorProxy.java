@@ -52,7 +52,7 @@ public class IncludeProcessorProxy extends AbstractProcessorProxy<IncludeProcess
             }
         });
 
-        applyAnnotations(includeProcessor.getClass(), rubyClass);
+        applyAnnotations(includeProcessor, rubyClass);
 
         ProcessorProxyUtil.defineAnnotatedMethods(rubyClass, IncludeProcessorProxy.class);
         return rubyClass;
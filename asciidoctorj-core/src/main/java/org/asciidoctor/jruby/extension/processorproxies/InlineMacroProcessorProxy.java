@@ -50,7 +50,7 @@ public class InlineMacroProcessorProxy extends AbstractMacroProcessorProxy<Inlin
             }
         });
 
-        applyAnnotations(inlineMacroProcessor.getClass(), rubyClass);
+        applyAnnotations(inlineMacroProcessor, rubyClass);
 
         ProcessorProxyUtil.defineAnnotatedMethods(rubyClass, InlineMacroProcessorProxy.class);
         return rubyClass;
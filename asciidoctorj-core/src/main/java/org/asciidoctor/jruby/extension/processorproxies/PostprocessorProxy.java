@@ -2,22 +2,35 @@ package org.asciidoctor.jruby.extension.processorproxies;
 
 import org.asciidoctor.ast.Document;
 import org.asciidoctor.extension.Postprocessor;
+import org.asciidoctor.extension.StreamingPostprocessor;
 import org.asciidoctor.jruby.ast.impl.NodeConverter;
+import org.asciidoctor.jruby.internal.AsciidoctorCoreException;
 import org.asciidoctor.jruby.internal.JRubyAsciidoctor;
 import org.asciidoctor.jruby.internal.RubyHashMapDecorator;
 import org.asciidoctor.jruby.internal.RubyHashUtil;
 import org.asciidoctor.jruby.internal.RubyUtils;
+import org.asciidoctor.jruby.internal.RubyWriterWrapper;
+import org.jcodings.specific.UTF8Encoding;
 import org.jruby.Ruby;
+import org.jruby.RubyArray;
 import org.jruby.RubyClass;
 import org.jruby.RubyHash;
+import org.jruby.RubyString;
 import org.jruby.anno.JRubyMethod;
 import org.jruby.runtime.Block;
 import org.jruby.runtime.Helpers;
 import org.jruby.runtime.ThreadContext;
 import org.jruby.runtime.builtin.IRubyObject;
+import org.jruby.util.ByteList;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.function.Function;
 
 public class PostprocessorProxy extends AbstractProcessorProxy<Postprocessor> {
 
@@ -51,7 +64,7 @@ public class PostprocessorProxy extends AbstractProcessorProxy<Postprocessor> {
             }
         });
 
-        applyAnnotations(postprocessor.getClass(), rubyClass);
+        applyAnnotations(postprocessor, rubyClass);
 
         ProcessorProxyUtil.defineAnnotatedMethods(rubyClass, PostprocessorProxy.class);
         return rubyClass;
@@ -93,6 +106,10 @@ public class PostprocessorProxy extends AbstractProcessorProxy<Postprocessor> {
 
     @JRubyMethod(name = "process", required = 2)
     public IRubyObject process(ThreadContext context, IRubyObject document, IRubyObject output) {
+        if (getProcessor() instanceof StreamingPostprocessor) {
+            return processStreaming(context, document, output);
+        }
+
         Object o = getProcessor().process(
                 (Document) NodeConverter.createASTNode(document),
                 RubyUtils.rubyToJava(getRuntime(), output, String.class));
@@ -100,4 +117,74 @@ public class PostprocessorProxy extends AbstractProcessorProxy<Postprocessor> {
         return convertProcessorResult(o);
     }
 
+    private IRubyObject processStreaming(ThreadContext context, IRubyObject rubyDocument, IRubyObject output) {
+        final StreamingPostprocessor postprocessor = (StreamingPostprocessor) getProcessor();
+        final Document document = (Document) NodeConverter.createASTNode(rubyDocument);
+        Function<Writer, Writer> filter = out -> postprocessor.process(document, out);
+
+        RubyWriterWrapper outputWriter = getOutputWriter(context, rubyDocument);
+        if (outputWriter != null && onlyStreamingPostprocessorsFollow(context, rubyDocument)) {
+            // The output is written to a Writer and no later postprocessor needs it as a String,
+            // so filter it while it is written instead of now
+            outputWriter.addFilter(filter);
+            return output;
+        }
+        if (output.isNil()) {
+            return output;
+        }
+
+        // Filter the bytes of the output chunk-wise into the bytes of a new Ruby String without creating Java Strings
+        final ByteList bytes = new ByteList();
+        Writer bytesWriter = new OutputStreamWriter(new OutputStream() {
+            @Override
+            public void write(int b) {
+                bytes.append(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytes.append(b, off, len);
+            }
+        }, StandardCharsets.UTF_8);
+        RubyWriterWrapper writer = (RubyWriterWrapper) RubyWriterWrapper.wrap(getRuntime(), bytesWriter);
+        writer.addFilter(filter);
+        try {
+            writer.write(context, output);
+            writer.flush();
+        } catch (IOException e) {
+            throw new AsciidoctorCoreException("Postprocessor " + getProcessorClass().getName() + " failed to filter the output", e);
+        }
+        return RubyString.newString(getRuntime(), bytes, UTF8Encoding.INSTANCE);
+    }
+
+    /**
+     * @return The wrapper of the Writer that the document is written to, or null if the output is returned as a String
+     * or written to a file.
+     */
+    private RubyWriterWrapper getOutputWriter(ThreadContext context, IRubyObject rubyDocument) {
+        IRubyObject options = rubyDocument.callMethod(context, "options");
+        if (!(options instanceof RubyHash)) {
+            return null;
+        }
+        IRubyObject outputWriter = ((RubyHash) options).fastARef(getRuntime().newSymbol(RubyWriterWrapper.OPTION_NAME));
+        return outputWriter instanceof RubyWriterWrapper ? (RubyWriterWrapper) outputWriter : null;
+    }
+
+    private boolean onlyStreamingPostprocessorsFollow(ThreadContext context, IRubyObject rubyDocument) {
+        RubyArray postprocessors = (RubyArray) rubyDocument.callMethod(context, "extensions").callMethod(context, "postprocessors");
+        boolean following = false;
+        for (int i = 0; i < postprocessors.size(); i++) {
+            IRubyObject instance = postprocessors.eltInternal(i).callMethod(context, "instance");
+            if (following) {
+                if (!(instance instanceof PostprocessorProxy)
+                        || !(((PostprocessorProxy) instance).getProcessor() instanceof StreamingPostprocessor)) {
+                    return false;
+                }
+            } else if (instance == this) {
+                following = true;
+            }
+        }
+        return following;
+    }
+
 }
@@ -52,7 +52,7 @@ public class PreprocessorProxy extends AbstractProcessorProxy<Preprocessor> {
             }
         });
 
-        applyAnnotations(preprocessor.getClass(), rubyClass);
+        applyAnnotations(preprocessor, rubyClass);
 
         ProcessorProxyUtil.defineAnnotatedMethods(rubyClass, PreprocessorProxy.class);
         return rubyClass;
@@ -0,0 +1,244 @@
+package org.asciidoctor.jruby.extension.processorproxies;
+
+import org.asciidoctor.ast.ContentModel;
+import org.asciidoctor.extension.Contexts;
+import org.asciidoctor.extension.DefaultAttribute;
+import org.asciidoctor.extension.DefaultAttributes;
+import org.asciidoctor.extension.Format;
+import org.asciidoctor.extension.FormatType;
+import org.asciidoctor.extension.Location;
+import org.asciidoctor.extension.Name;
+import org.asciidoctor.extension.PositionalAttributes;
+import org.asciidoctor.extension.processing.ProcessorDescriptorGenerator;
+import org.jruby.Ruby;
+import org.jruby.RubyArray;
+import org.jruby.RubyHash;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.asciidoctor.extension.processing.ProcessorDescriptorGenerator.KEY_CONTENT_MODEL;
+import static org.asciidoctor.extension.processing.ProcessorDescriptorGenerator.KEY_CONTEXTS;
+import static org.asciidoctor.extension.processing.ProcessorDescriptorGenerator.KEY_DEFAULT_ATTRS;
+import static org.asciidoctor.extension.processing.ProcessorDescriptorGenerator.KEY_FORMAT;
+import static org.asciidoctor.extension.processing.ProcessorDescriptorGenerator.KEY_LOCATION;
+import static org.asciidoctor.extension.processing.ProcessorDescriptorGenerator.KEY_NAME;
+import static org.asciidoctor.extension.processing.ProcessorDescriptorGenerator.KEY_POSITIONAL_ATTRS;
+import static org.asciidoctor.extension.processing.ProcessorDescriptorGenerator.KEY_REGEXP;
+import static org.asciidoctor.extension.processing.ProcessorDescriptorGenerator.KEY_VERSION;
+
+/**
+ * The configuration of a Java extension class that its annotations define, in the form Asciidoctor expects it.
+ * <p>
+ * The descriptor is read from the resource that {@link ProcessorDescriptorGenerator} created when the extension was compiled.
+ * If there is none, it is created from the annotations of the class.
+ * Either way it is created only once per class, so that registering the same extension on many runtimes,
+ * e.g. in an {@link org.asciidoctor.jruby.AsciidoctorPool}, does not reflect over the annotations again.
+ */
+public class ProcessorDescriptor {
+
+    private static final Logger LOGGER = Logger.getLogger(ProcessorDescriptor.class.getName());
+
+    private static final ClassValue<ProcessorDescriptor> DESCRIPTORS = new ClassValue<ProcessorDescriptor>() {
+        @Override
+        protected ProcessorDescriptor computeValue(Class<?> processorClass) {
+            ProcessorDescriptor descriptor = fromResource(processorClass);
+            return descriptor != null ? descriptor : fromAnnotations(processorClass);
+        }
+    };
+
+    private final boolean generated;
+
+    private final Map<String, Object> options = new LinkedHashMap<>();
+
+    private ProcessorDescriptor(boolean generated) {
+        this.generated = generated;
+    }
+
+    public static ProcessorDescriptor of(Class<?> processorClass) {
+        return DESCRIPTORS.get(processorClass);
+    }
+
+    /**
+     * @return Whether this descriptor was read from a resource created by {@link ProcessorDescriptorGenerator}.
+     */
+    public boolean isGenerated() {
+        return generated;
+    }
+
+    /**
+     * @return The options of the processor class, the values are Strings, Lists of Strings or Maps of Strings.
+     * Values of options that Asciidoctor expects as symbols or regular expressions are Strings as well.
+     */
+    public Map<String, Object> getOptions() {
+        return Collections.unmodifiableMap(options);
+    }
+
+    /**
+     * Converts the options into a Ruby Hash that can be passed to {@code AsciidoctorModule.apply_processor_options}.
+     */
+    public RubyHash toRubyHash(Ruby runtime) {
+        RubyHash hash = RubyHash.newHash(runtime);
+        for (Map.Entry<String, Object> option : options.entrySet()) {
+            String key = option.getKey();
+            Object value = option.getValue();
+            if (KEY_NAME.equals(key)) {
+                hash.fastASet(runtime.newSymbol(key), runtime.newString((String) value));
+            } else if (KEY_REGEXP.equals(key)) {
+                hash.fastASet(runtime.newSymbol(key), AbstractProcessorProxy.convertRegexp(runtime, (String) value));
+            } else if (KEY_CONTEXTS.equals(key)) {
+                RubyArray contexts = runtime.newArray();
+                for (String context : (List<String>) value) {
+                    contexts.add(runtime.newSymbol(context));
+                }
+                hash.fastASet(runtime.newSymbol(key), contexts);
+            } else if (KEY_POSITIONAL_ATTRS.equals(key)) {
+                RubyArray positionalAttrs = runtime.newArray();
+                for (String positionalAttr : (List<String>) value) {
+                    positionalAttrs.add(runtime.newString(positionalAttr));
+                }
+                hash.fastASet(runtime.newSymbol(key), positionalAttrs);
+            } else if (KEY_DEFAULT_ATTRS.equals(key)) {
+                RubyHash defaultAttrs = RubyHash.newHash(runtime);
+                for (Map.Entry<String, String> defaultAttr : ((Map<String, String>) value).entrySet()) {
+                    defaultAttrs.fastASet(runtime.newString(defaultAttr.getKey()), runtime.newString(defaultAttr.getValue()));
+                }
+                hash.fastASet(runtime.newSymbol(key), defaultAttrs);
+            } else {
+                hash.fastASet(runtime.newSymbol(key), runtime.newSymbol((String) value));
+            }
+        }
+        return hash;
+    }
+
+    static ProcessorDescriptor fromResource(Class<?> processorClass) {
+        ClassLoader classLoader = processorClass.getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+        String resourceName = ProcessorDescriptorGenerator.RESOURCE_PREFIX + processorClass.getName() + ProcessorDescriptorGenerator.RESOURCE_SUFFIX;
+        Properties properties = new Properties();
+        try (InputStream in = classLoader.getResourceAsStream(resourceName)) {
+            if (in == null) {
+                return null;
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Cannot read the descriptor " + resourceName + ", reading the annotations instead", e);
+            return null;
+        }
+        if (!ProcessorDescriptorGenerator.VERSION.equals(properties.getProperty(KEY_VERSION))) {
+            return null;
+        }
+
+        // Same order as the annotations are read by fromAnnotations
+        ProcessorDescriptor descriptor = new ProcessorDescriptor(true);
+        descriptor.putIfPresent(KEY_LOCATION, properties.getProperty(KEY_LOCATION));
+        descriptor.putIfPresent(KEY_NAME, properties.getProperty(KEY_NAME));
+        descriptor.putIfPresent(KEY_CONTENT_MODEL, properties.getProperty(KEY_CONTENT_MODEL));
+        descriptor.putIfPresent(KEY_DEFAULT_ATTRS, readMap(properties, KEY_DEFAULT_ATTRS));
+        descriptor.putIfPresent(KEY_POSITIONAL_ATTRS, readList(properties, KEY_POSITIONAL_ATTRS));
+        descriptor.putIfPresent(KEY_CONTEXTS, readList(properties, KEY_CONTEXTS));
+        descriptor.putIfPresent(KEY_REGEXP, properties.getProperty(KEY_REGEXP));
+        descriptor.putIfPresent(KEY_FORMAT, properties.getProperty(KEY_FORMAT));
+        return descriptor;
+    }
+
+    static ProcessorDescriptor fromAnnotations(Class<?> processorClass) {
+        ProcessorDescriptor descriptor = new ProcessorDescriptor(false);
+
+        Location location = processorClass.getAnnotation(Location.class);
+        if (location != null) {
+            descriptor.options.put(KEY_LOCATION, location.value().optionValue().substring(1));
+        }
+
+        Name name = processorClass.getAnnotation(Name.class);
+        if (name != null) {
+            descriptor.options.put(KEY_NAME, name.value());
+        }
+
+        ContentModel contentModel = processorClass.getAnnotation(ContentModel.class);
+        if (contentModel != null) {
+            descriptor.options.put(KEY_CONTENT_MODEL, contentModel.value().substring(1));
+        }
+
+        // @DefaultAttributes replaces a single @DefaultAttribute
+        DefaultAttributes defaultAttributes = processorClass.getAnnotation(DefaultAttributes.class);
+        DefaultAttribute defaultAttribute = processorClass.getAnnotation(DefaultAttribute.class);
+        if (defaultAttributes != null || defaultAttribute != null) {
+            Map<String, String> defaultAttrs = new LinkedHashMap<>();
+            for (DefaultAttribute attribute : defaultAttributes != null ? defaultAttributes.value() : new DefaultAttribute[]{defaultAttribute}) {
+                defaultAttrs.put(attribute.key(), attribute.value());
+            }
+            descriptor.options.put(KEY_DEFAULT_ATTRS, defaultAttrs);
+        }
+
+        PositionalAttributes positionalAttributes = processorClass.getAnnotation(PositionalAttributes.class);
+        if (positionalAttributes != null) {
+            List<String> positionalAttrs = new ArrayList<>();
+            for (String positionalAttribute : positionalAttributes.value()) {
+                positionalAttrs.add(positionalAttribute);
+            }
+            descriptor.options.put(KEY_POSITIONAL_ATTRS, positionalAttrs);
+        }
+
+        Contexts contexts = processorClass.getAnnotation(Contexts.class);
+        if (contexts != null) {
+            List<String> contextNames = new ArrayList<>();
+            for (String context : contexts.value()) {
+                contextNames.add(context.substring(1));
+            }
+            descriptor.options.put(KEY_CONTEXTS, contextNames);
+        }
+
+        Format format = processorClass.getAnnotation(Format.class);
+        if (format != null) {
+            if (format.value() == FormatType.CUSTOM) {
+                descriptor.options.put(KEY_REGEXP, format.regexp());
+            }
+            descriptor.options.put(KEY_FORMAT, format.value().optionValue().substring(1));
+        }
+        return descriptor;
+    }
+
+    private void putIfPresent(String key, Object value) {
+        if (value != null) {
+            options.put(key, value);
+        }
+    }
+
+    private static List<String> readList(Properties properties, String key) {
+        List<String> values = new ArrayList<>();
+        String value;
+        while ((value = properties.getProperty(key + "." + values.size())) != null) {
+            values.add(value);
+        }
+        return values.isEmpty() && !properties.containsKey(key) ? null : values;
+    }
+
+    private static Map<String, String> readMap(Properties properties, String key) {
+        String prefix = key + ".";
+        Map<String, String> values = new LinkedHashMap<>();
+        // The descriptor is sorted by key, the order of default attributes does not matter
+        for (String name : new TreeSet<>(properties.stringPropertyNames())) {
+            if (name.startsWith(prefix)) {
+                values.put(name.substring(prefix.length()), properties.getProperty(name));
+            }
+        }
+        return values.isEmpty() && !properties.containsKey(key) ? null : values;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessorDescriptor{generated=" + generated + ", options=" + options + "}";
+    }
+}
@@ -27,12 +27,12 @@ public final class ProcessorProxyUtil {
 
     /**
      * Returns the Ruby module Asciidoc::Extensions.
+     * The module is loaded on first access as it is not required during startup.
      * @param rubyRuntime
      * @return The Ruby object for the module Asciidoc::Extensions.
      */
-    private static RubyModule getExtensionsModule(Ruby rubyRuntime) {
-        RubyModule asciidoctorModule = rubyRuntime.getModule("Asciidoctor");
-        return asciidoctorModule.defineOrGetModuleUnder("Extensions");
+    public static RubyModule getExtensionsModule(Ruby rubyRuntime) {
+        return (RubyModule) rubyRuntime.getModule("AsciidoctorModule").callMethod("extensions");
     }
 
     public static RubyClass defineProcessorClass(Ruby rubyRuntime, String baseClassName, JRubyAsciidoctorObjectAllocator objectAllocator) {
@@ -50,7 +50,7 @@ public class TreeprocessorProxy extends AbstractProcessorProxy<Treeprocessor> {
             }
         });
 
-        applyAnnotations(treeProcessor.getClass(), rubyClass);
+        applyAnnotations(treeProcessor, rubyClass);
 
         rubyClass.defineAnnotatedMethods(TreeprocessorProxy.class);
         return rubyClass;
@@ -0,0 +1,129 @@
+package org.asciidoctor.jruby.incremental;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The persisted state of an incremental build.
+ * For every converted document it records the hash of its content, the hash of the options
+ * and the hashes of all files it included.
+ * <p>
+ * The state is stored in a simple line based text format:
+ * <pre>
+ * asciidoctorj-incremental-build 1
+ * D &lt;content hash&gt; &lt;options hash&gt; &lt;document path&gt;
+ * I &lt;content hash&gt; &lt;include path&gt;
+ * </pre>
+ * Include lines belong to the preceding document line.
+ */
+class BuildState {
+
+    private static final String HEADER = "asciidoctorj-incremental-build 1";
+
+    /**
+     * Hash of dependencies that cannot be checked without fetching them, e.g. URI includes.
+     * A document with such a dependency is always converted.
+     */
+    static final String VOLATILE = "-";
+
+    private final File stateFile;
+
+    private final Map<String, DocumentState> documents = new LinkedHashMap<>();
+
+    BuildState(File stateFile) {
+        this.stateFile = stateFile;
+    }
+
+    static BuildState load(File stateFile) throws IOException {
+        BuildState buildState = new BuildState(stateFile);
+        if (!stateFile.isFile()) {
+            return buildState;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(stateFile.toPath(), StandardCharsets.UTF_8)) {
+            if (!HEADER.equals(reader.readLine())) {
+                // Unknown format, start from scratch
+                return buildState;
+            }
+            DocumentState current = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith("D ")) {
+                    String[] parts = line.split(" ", 4);
+                    current = new DocumentState(parts[1], parts[2]);
+                    buildState.documents.put(parts[3], current);
+                } else if (line.startsWith("I ") && current != null) {
+                    String[] parts = line.split(" ", 3);
+                    current.dependencies.put(parts[2], parts[1]);
+                }
+            }
+        }
+        return buildState;
+    }
+
+    void save() throws IOException {
+        File parent = stateFile.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create directory " + parent);
+        }
+        File tmpFile = new File(stateFile.getPath() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tmpFile.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (Map.Entry<String, DocumentState> document : documents.entrySet()) {
+                DocumentState state = document.getValue();
+                writer.write("D " + state.contentHash + " " + state.optionsHash + " " + document.getKey());
+                writer.newLine();
+                for (Map.Entry<String, String> dependency : state.dependencies.entrySet()) {
+                    writer.write("I " + dependency.getValue() + " " + dependency.getKey());
+                    writer.newLine();
+                }
+            }
+        }
+        Files.move(tmpFile.toPath(), stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    DocumentState get(String path) {
+        return documents.get(path);
+    }
+
+    void put(String path, DocumentState documentState) {
+        documents.put(path, documentState);
+    }
+
+    void remove(String path) {
+        documents.remove(path);
+    }
+
+    /**
+     * Removes the state of all documents that do not exist anymore.
+     */
+    void removeDeletedDocuments() {
+        for (Iterator<String> it = documents.keySet().iterator(); it.hasNext(); ) {
+            if (!new File(it.next()).isFile()) {
+                it.remove();
+            }
+        }
+    }
+
+    static class DocumentState {
+
+        final String contentHash;
+
+        final String optionsHash;
+
+        final Map<String, String> dependencies = new LinkedHashMap<>();
+
+        DocumentState(String contentHash, String optionsHash) {
+            this.contentHash = contentHash;
+            this.optionsHash = optionsHash;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.asciidoctor.jruby.incremental;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Collects the targets of all includes that were resolved while converting one document.
+ * An instance is passed to Asciidoctor in the option {@link #OPTION_NAME}, the Ruby side
+ * calls {@link #includeResolved(String)} for every include that is pushed onto the reader
+ * and {@link #includeMissing(String)} for every local include whose target does not exist.
+ */
+public final class IncludeTracker {
+
+    public static final String OPTION_NAME = "asciidoctorj_include_tracker";
+
+    private final Set<String> includes = new LinkedHashSet<>();
+
+    private final Set<String> missingIncludes = new LinkedHashSet<>();
+
+    /**
+     * Called by Ruby for every resolved include.
+     *
+     * @param file the absolute path or URI of the included content.
+     */
+    public void includeResolved(String file) {
+        includes.add(file);
+    }
+
+    /**
+     * Called by Ruby for every local include whose target does not exist.
+     *
+     * @param file the absolute path that the include target was resolved to.
+     */
+    public void includeMissing(String file) {
+        missingIncludes.add(file);
+    }
+
+    public Set<String> getIncludes() {
+        return Collections.unmodifiableSet(includes);
+    }
+
+    public Set<String> getMissingIncludes() {
+        return Collections.unmodifiableSet(missingIncludes);
+    }
+}
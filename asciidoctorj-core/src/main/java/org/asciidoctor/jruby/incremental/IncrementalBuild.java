@@ -0,0 +1,171 @@
+package org.asciidoctor.jruby.incremental;
+
+import org.asciidoctor.Asciidoctor;
+import org.asciidoctor.Options;
+import org.asciidoctor.jruby.ConversionResult;
+import org.asciidoctor.jruby.internal.AsciidoctorCoreException;
+import org.asciidoctor.jruby.internal.HashUtils;
+import org.asciidoctor.jruby.internal.JRubyRuntimeContext;
+import org.asciidoctor.jruby.internal.RubyUtils;
+import org.jruby.Ruby;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts only documents that changed since the previous build.
+ * <p>
+ * For every converted document the build records the hash of its content, the hash of the options
+ * including all attributes, and the hashes of all files that were included while converting it,
+ * either by Asciidoctor itself or by include processors.
+ * The next run converts a document only if one of these hashes changed or if one of its includes
+ * was a URI, as their content cannot be checked without fetching them.
+ * The state is persisted in the given state file between builds:
+ *
+ * <pre>
+ * IncrementalBuild build = new IncrementalBuild(asciidoctor, new File("build/asciidoctor.state"));
+ * IncrementalBuildResult result = build.convertDirectory(new AsciiDocDirectoryWalker("src/docs/asciidoc"), options);
+ * </pre>
+ *
+ * Changes to the converter itself, e.g. to templates or registered extensions, are not detected.
+ * In this case the state file should be deleted to force a full rebuild.
+ */
+public class IncrementalBuild {
+
+    private final Asciidoctor asciidoctor;
+
+    private final File stateFile;
+
+    public IncrementalBuild(Asciidoctor asciidoctor, File stateFile) {
+        this.asciidoctor = asciidoctor;
+        this.stateFile = stateFile;
+        installIncludeTracking(JRubyRuntimeContext.get(asciidoctor));
+    }
+
+    private static void installIncludeTracking(Ruby rubyRuntime) {
+        InputStream script = IncrementalBuild.class.getResourceAsStream("include_tracking.rb");
+        RubyUtils.loadRubyClass(rubyRuntime, script);
+    }
+
+    public IncrementalBuildResult convertDirectory(Iterable<File> directoryWalker, Map<String, Object> options) {
+        List<File> files = new ArrayList<>();
+        for (File file : directoryWalker) {
+            files.add(file);
+        }
+        return convertFiles(files, options);
+    }
+
+    public IncrementalBuildResult convertDirectory(Iterable<File> directoryWalker, Options options) {
+        return convertDirectory(directoryWalker, options.map());
+    }
+
+    public IncrementalBuildResult convertFiles(Collection<File> files, Options options) {
+        return convertFiles(files, options.map());
+    }
+
+    /**
+     * Converts all files that changed since the last build.
+     *
+     * @param files the files to convert.
+     * @param options the options that are used to convert every file.
+     * @return The results of the converted files and the list of files that were up to date.
+     */
+    public IncrementalBuildResult convertFiles(Collection<File> files, Map<String, Object> options) {
+        BuildState buildState = loadState();
+        buildState.removeDeletedDocuments();
+        String optionsHash = HashUtils.sha256(HashUtils.canonicalize(options));
+
+        List<ConversionResult> converted = new ArrayList<>();
+        List<File> upToDate = new ArrayList<>();
+        for (File file : files) {
+            String path = file.getAbsolutePath();
+            String contentHash = hashFile(path);
+            if (isUpToDate(buildState.get(path), contentHash, optionsHash)) {
+                upToDate.add(file);
+                continue;
+            }
+
+            IncludeTracker includeTracker = new IncludeTracker();
+            Map<String, Object> trackingOptions = new HashMap<>(options);
+            trackingOptions.put(IncludeTracker.OPTION_NAME, includeTracker);
+            try {
+                String output = asciidoctor.convertFile(file, trackingOptions);
+                converted.add(ConversionResult.success(file, output));
+                buildState.put(path, createDocumentState(contentHash, optionsHash, includeTracker));
+            } catch (RuntimeException e) {
+                // Forget the document so that it is converted again in the next build
+                buildState.remove(path);
+                converted.add(ConversionResult.failure(file, e));
+            }
+        }
+
+        saveState(buildState);
+        return new IncrementalBuildResult(converted, upToDate);
+    }
+
+    private static boolean isUpToDate(BuildState.DocumentState documentState, String contentHash, String optionsHash) {
+        if (documentState == null
+                || !documentState.contentHash.equals(contentHash)
+                || !documentState.optionsHash.equals(optionsHash)) {
+            return false;
+        }
+        for (Map.Entry<String, String> dependency : documentState.dependencies.entrySet()) {
+            if (BuildState.VOLATILE.equals(dependency.getValue())
+                    || !dependency.getValue().equals(hashFile(dependency.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static BuildState.DocumentState createDocumentState(String contentHash, String optionsHash, IncludeTracker includeTracker) {
+        BuildState.DocumentState documentState = new BuildState.DocumentState(contentHash, optionsHash);
+        // The hash of a missing file is empty, so that the document is converted again once the file is created
+        for (String missingInclude : includeTracker.getMissingIncludes()) {
+            documentState.dependencies.put(missingInclude, hashFile(missingInclude));
+        }
+        for (String include : includeTracker.getIncludes()) {
+            File includedFile = new File(include);
+            documentState.dependencies.put(include, includedFile.isFile() ? hashFile(include) : BuildState.VOLATILE);
+        }
+        return documentState;
+    }
+
+    private BuildState loadState() {
+        try {
+            return BuildState.load(stateFile);
+        } catch (IOException e) {
+            throw new AsciidoctorCoreException("Cannot read incremental build state from " + stateFile, e);
+        }
+    }
+
+    private void saveState(BuildState buildState) {
+        try {
+            buildState.save();
+        } catch (IOException e) {
+            throw new AsciidoctorCoreException("Cannot write incremental build state to " + stateFile, e);
+        }
+    }
+
+    /**
+     * @return The hash of the file content, or an empty string if the file does not exist anymore.
+     */
+    private static String hashFile(String path) {
+        File file = new File(path);
+        if (!file.isFile()) {
+            return "";
+        }
+        try {
+            return HashUtils.sha256(Files.readAllBytes(file.toPath()));
+        } catch (IOException e) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package org.asciidoctor.jruby.incremental;
+
+import org.asciidoctor.jruby.ConversionResult;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of one run of an {@link IncrementalBuild}.
+ */
+public class IncrementalBuildResult {
+
+    private final List<ConversionResult> converted;
+
+    private final List<File> upToDate;
+
+    IncrementalBuildResult(List<ConversionResult> converted, List<File> upToDate) {
+        this.converted = Collections.unmodifiableList(converted);
+        this.upToDate = Collections.unmodifiableList(upToDate);
+    }
+
+    /**
+     * @return The results of all documents that were converted because they or one of their includes changed.
+     */
+    public List<ConversionResult> getConverted() {
+        return converted;
+    }
+
+    /**
+     * @return All documents that were skipped because neither they nor their includes changed.
+     */
+    public List<File> getUpToDate() {
+        return upToDate;
+    }
+
+    @Override
+    public String toString() {
+        return "IncrementalBuildResult{" +
+                "converted=" + converted.size() +
+                ", upToDate=" + upToDate.size() +
+                '}';
+    }
+}
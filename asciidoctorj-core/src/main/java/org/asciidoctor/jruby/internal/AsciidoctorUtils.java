@@ -1,5 +1,8 @@
 package org.asciidoctor.jruby.internal;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -36,6 +39,71 @@ public class AsciidoctorUtils {
         return false;
     }
     
+    /**
+     * Resolves all paths in the options that Asciidoctor would resolve against the current directory
+     * against the base directory of the options instead.
+     * This way a conversion with a base directory does not have to change the current directory of the
+     * Ruby runtime, which is shared by all conversions that run concurrently on the same instance.
+     *
+     * @param options the options of a conversion, they are not modified.
+     * @return the given options if they do not define a base directory, otherwise a copy of them
+     * with an absolute base directory and the relative paths resolved against it.
+     */
+    public static Map<String, Object> resolveAgainstBaseDir(Map<String, Object> options) {
+        return resolveAgainstBaseDir(options, (String) options.get(Options.BASEDIR));
+    }
+
+    /**
+     * @see #resolveAgainstBaseDir(Map)
+     * @param baseDir the base directory to resolve against, e.g. the one of options the given options override.
+     */
+    public static Map<String, Object> resolveAgainstBaseDir(Map<String, Object> options, String baseDir) {
+        if (baseDir == null) {
+            return options;
+        }
+        File baseDirFile = new File(baseDir).getAbsoluteFile();
+
+        Map<String, Object> resolvedOptions = new HashMap<>(options);
+        if (options.containsKey(Options.BASEDIR)) {
+            resolvedOptions.put(Options.BASEDIR, baseDirFile.getPath());
+        }
+
+        Object templateDirs = options.get(Options.TEMPLATE_DIRS);
+        if (templateDirs instanceof List) {
+            List<Object> resolvedTemplateDirs = new ArrayList<>();
+            for (Object templateDir : (List<?>) templateDirs) {
+                resolvedTemplateDirs.add(templateDir instanceof String ? resolve(baseDirFile, (String) templateDir) : templateDir);
+            }
+            resolvedOptions.put(Options.TEMPLATE_DIRS, resolvedTemplateDirs);
+        } else if (templateDirs instanceof String[]) {
+            String[] resolvedTemplateDirs = ((String[]) templateDirs).clone();
+            for (int i = 0; i < resolvedTemplateDirs.length; i++) {
+                resolvedTemplateDirs[i] = resolve(baseDirFile, resolvedTemplateDirs[i]);
+            }
+            resolvedOptions.put(Options.TEMPLATE_DIRS, resolvedTemplateDirs);
+        }
+
+        resolvePathOption(resolvedOptions, Options.TO_DIR, baseDirFile);
+        resolvePathOption(resolvedOptions, Options.DESTINATION_DIR, baseDirFile);
+        // A relative target file is resolved against the target directory if there is one
+        if (!options.containsKey(Options.TO_DIR)) {
+            resolvePathOption(resolvedOptions, Options.TO_FILE, baseDirFile);
+        }
+        return resolvedOptions;
+    }
+
+    private static void resolvePathOption(Map<String, Object> options, String key, File baseDir) {
+        Object path = options.get(key);
+        if (path instanceof String) {
+            options.put(key, resolve(baseDir, (String) path));
+        }
+    }
+
+    private static String resolve(File baseDir, String path) {
+        File file = new File(path);
+        return file.isAbsolute() ? path : new File(baseDir, path).getPath();
+    }
+
     public static String toAsciidoctorCommand(Map<String, Object> options,
             String inputPath) {
 
@@ -0,0 +1,115 @@
+package org.asciidoctor.jruby.internal;
+
+import org.asciidoctor.Options;
+import org.asciidoctor.jruby.CompiledOptions;
+import org.jruby.Ruby;
+import org.jruby.RubyHash;
+import org.jruby.RubySymbol;
+import org.jruby.runtime.builtin.IRubyObject;
+
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class CompiledOptionsImpl implements CompiledOptions {
+
+    private final Ruby rubyRuntime;
+
+    private final Map<String, Object> options;
+
+    private final RubyHash rubyHash;
+
+    private final String canonicalForm;
+
+    private CompiledOptionsImpl(Ruby rubyRuntime, Map<String, Object> options, RubyHash rubyHash) {
+        this.rubyRuntime = rubyRuntime;
+        this.options = Collections.unmodifiableMap(options);
+        this.rubyHash = rubyHash;
+        this.canonicalForm = HashUtils.canonicalize(options);
+    }
+
+    static CompiledOptionsImpl compile(Ruby rubyRuntime, Map<String, Object> options) {
+        Map<String, Object> copy = copyOptions(AsciidoctorUtils.resolveAgainstBaseDir(options));
+        RubyHash rubyHash = RubyHashUtil.convertMapToRubyHashWithSymbols(rubyRuntime, copy);
+        return new CompiledOptionsImpl(rubyRuntime, copy, freeze(rubyHash));
+    }
+
+    @Override
+    public CompiledOptions withOverrides(Map<String, Object> overrides) {
+        Map<String, Object> mergedOptions = new HashMap<>(options);
+        String baseDir = (String) (overrides.containsKey(Options.BASEDIR) ? overrides.get(Options.BASEDIR) : options.get(Options.BASEDIR));
+        Map<String, Object> overriddenOptions = copyOptions(AsciidoctorUtils.resolveAgainstBaseDir(overrides, baseDir));
+        RubyHash overriddenHash = RubyHashUtil.convertMapToRubyHashWithSymbols(rubyRuntime, overriddenOptions);
+
+        RubyHash mergedHash = (RubyHash) rubyHash.dup();
+        RubySymbol attributesKey = RubyUtils.toSymbol(rubyRuntime, Options.ATTRIBUTES);
+        Object compiledAttributes = options.get(Options.ATTRIBUTES);
+        for (Map.Entry<String, Object> override : overriddenOptions.entrySet()) {
+            RubySymbol key = RubyUtils.toSymbol(rubyRuntime, override.getKey());
+            IRubyObject value = overriddenHash.fastARef(key);
+            if (key == attributesKey && compiledAttributes instanceof Map && override.getValue() instanceof Map) {
+                Map<String, Object> mergedAttributes = new HashMap<>((Map<String, Object>) compiledAttributes);
+                mergedAttributes.putAll((Map<String, Object>) override.getValue());
+                mergedOptions.put(Options.ATTRIBUTES, mergedAttributes);
+
+                RubyHash attributes = (RubyHash) rubyHash.fastARef(attributesKey).dup();
+                for (Object entry : ((RubyHash) value).directEntrySet()) {
+                    Map.Entry<?, ?> attribute = (Map.Entry<?, ?>) entry;
+                    attributes.fastASet((IRubyObject) attribute.getKey(), (IRubyObject) attribute.getValue());
+                }
+                attributes.setFrozen(true);
+                value = attributes;
+            } else {
+                mergedOptions.put(override.getKey(), override.getValue());
+            }
+            mergedHash.fastASet(key, value);
+        }
+        return new CompiledOptionsImpl(rubyRuntime, mergedOptions, freeze(mergedHash));
+    }
+
+    @Override
+    public CompiledOptions withOverrides(Options overrides) {
+        return withOverrides(overrides.map());
+    }
+
+    @Override
+    public Map<String, Object> getOptions() {
+        return options;
+    }
+
+    /**
+     * @return The compiled options as a frozen Ruby Hash, Asciidoctor copies the options before modifying them.
+     */
+    RubyHash getRubyHash() {
+        return rubyHash;
+    }
+
+    String getCanonicalForm() {
+        return canonicalForm;
+    }
+
+    static CompiledOptionsImpl of(CompiledOptions compiledOptions, Ruby rubyRuntime) {
+        CompiledOptionsImpl compiledOptionsImpl = (CompiledOptionsImpl) compiledOptions;
+        if (compiledOptionsImpl.rubyRuntime != rubyRuntime) {
+            throw new IllegalArgumentException("CompiledOptions can only be used with the Asciidoctor instance that created them");
+        }
+        return compiledOptionsImpl;
+    }
+
+    private static Map<String, Object> copyOptions(Map<String, Object> options) {
+        if (options.get(Options.TO_FILE) instanceof OutputStream) {
+            throw new IllegalArgumentException("Options writing to a stream cannot be compiled");
+        }
+        return new HashMap<>(options);
+    }
+
+    private static RubyHash freeze(RubyHash rubyHash) {
+        IRubyObject attributes = rubyHash.fastARef(RubyUtils.toSymbol(rubyHash.getRuntime(), Options.ATTRIBUTES));
+        if (attributes instanceof RubyHash) {
+            attributes.setFrozen(true);
+        }
+        rubyHash.setFrozen(true);
+        return rubyHash;
+    }
+}
@@ -0,0 +1,109 @@
+package org.asciidoctor.jruby.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the leading part of an AsciiDoc file that contains the document header.
+ * <p>
+ * The header starts at the first line that is neither blank, nor a comment, an attribute entry,
+ * a block attribute line or a preprocessor directive, and it ends at the first blank line after that.
+ * Everything up to and including this blank line is returned, the rest of the file is not read.
+ */
+final class DocumentHeaderScanner {
+
+    private static final int CHUNK_SIZE = 4096;
+
+    private static final int DEFAULT_MAX_HEADER_SIZE = 64 * 1024;
+
+    private static final String COMMENT_BLOCK_DELIMITER = "////";
+
+    private DocumentHeaderScanner() {
+    }
+
+    /**
+     * @return The leading bytes of the file that contain the complete header,
+     * or {@code null} if the end of the header could not be found within the first 64kB.
+     * In this case the caller should parse the complete file.
+     */
+    static byte[] readHeader(Path path) throws IOException {
+        return readHeader(path, DEFAULT_MAX_HEADER_SIZE);
+    }
+
+    static byte[] readHeader(Path path, int maxHeaderSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteArrayOutputStream header = new ByteArrayOutputStream(CHUNK_SIZE);
+            ByteArrayOutputStream line = new ByteArrayOutputStream(128);
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE);
+            State state = new State();
+            while (header.size() + line.size() < maxHeaderSize) {
+                buffer.clear();
+                if (channel.read(buffer) < 0) {
+                    line.writeTo(header);
+                    return header.toByteArray();
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    line.write(b);
+                    if (b == '\n') {
+                        boolean endOfHeader = state.accept(line.toString(StandardCharsets.UTF_8.name()));
+                        line.writeTo(header);
+                        line.reset();
+                        if (endOfHeader) {
+                            return header.toByteArray();
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    private static class State {
+
+        private boolean inCommentBlock = false;
+
+        private boolean headerStarted = false;
+
+        /**
+         * @return {@code true} if the line ends the header.
+         */
+        boolean accept(String line) {
+            String trimmed = line.trim();
+            if (inCommentBlock) {
+                if (trimmed.equals(COMMENT_BLOCK_DELIMITER)) {
+                    inCommentBlock = false;
+                }
+                return false;
+            }
+            if (trimmed.equals(COMMENT_BLOCK_DELIMITER)) {
+                inCommentBlock = true;
+                return false;
+            }
+            if (trimmed.isEmpty()) {
+                return headerStarted;
+            }
+            if (!headerStarted && !isMetadataLine(trimmed)) {
+                headerStarted = true;
+            }
+            return false;
+        }
+
+        private static boolean isMetadataLine(String line) {
+            return line.startsWith("//")
+                    || (line.startsWith(":") && line.indexOf(':', 1) > 0)
+                    || line.startsWith("[")
+                    || line.startsWith("ifdef::")
+                    || line.startsWith("ifndef::")
+                    || line.startsWith("ifeval::")
+                    || line.startsWith("endif::")
+                    || line.startsWith("include::");
+        }
+    }
+}
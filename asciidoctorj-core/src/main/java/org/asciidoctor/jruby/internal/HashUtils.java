@@ -0,0 +1,99 @@
+package org.asciidoctor.jruby.internal;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class HashUtils {
+
+    private HashUtils() {
+        super();
+    }
+
+    /**
+     * @return The hex encoded SHA-256 hash of the given bytes.
+     */
+    public static String sha256(byte[] content) {
+        MessageDigest digest = newDigest();
+        return toHex(digest.digest(content));
+    }
+
+    /**
+     * @return The hex encoded SHA-256 hash of the UTF-8 encoded parts.
+     * The parts are separated so that {@code ("ab", "c")} and {@code ("a", "bc")} yield different hashes.
+     */
+    public static String sha256(String... parts) {
+        MessageDigest digest = newDigest();
+        for (String part : parts) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        return toHex(digest.digest());
+    }
+
+    /**
+     * Creates a string representation of options that does not depend on the iteration order of maps,
+     * so that equal options always result in the same hash.
+     * Every value is tagged with its type and every string is prefixed with its length,
+     * so that different options, e.g. {@code {x="1, y=2"}} and {@code {x="1", y="2"}},
+     * or {@code true} and {@code "true"}, never result in the same representation.
+     */
+    public static String canonicalize(Object value) {
+        StringBuilder sb = new StringBuilder();
+        appendCanonical(sb, value);
+        return sb.toString();
+    }
+
+    private static void appendCanonical(StringBuilder sb, Object value) {
+        if (value == null) {
+            sb.append('N');
+        } else if (value instanceof Map) {
+            Map<String, String> sorted = new TreeMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                sorted.put(canonicalize(entry.getKey()), canonicalize(entry.getValue()));
+            }
+            sb.append('M').append(sorted.size()).append('{');
+            for (Map.Entry<String, String> entry : sorted.entrySet()) {
+                sb.append(entry.getKey()).append(entry.getValue());
+            }
+            sb.append('}');
+        } else if (value instanceof Collection) {
+            appendElements(sb, 'L', (Collection<?>) value);
+        } else if (value instanceof Object[]) {
+            appendElements(sb, 'A', Arrays.asList((Object[]) value));
+        } else {
+            String string = String.valueOf(value);
+            sb.append('S').append(value.getClass().getName()).append(':')
+                    .append(string.length()).append(':').append(string);
+        }
+    }
+
+    private static void appendElements(StringBuilder sb, char tag, Collection<?> elements) {
+        sb.append(tag).append(elements.size()).append('[');
+        for (Object element : elements) {
+            appendCanonical(sb, element);
+        }
+        sb.append(']');
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] hash) {
+        StringBuilder sb = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+}
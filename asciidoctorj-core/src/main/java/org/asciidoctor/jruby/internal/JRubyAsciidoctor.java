@@ -9,24 +9,44 @@ import org.asciidoctor.converter.JavaConverterRegistry;
 import org.asciidoctor.extension.ExtensionGroup;
 import org.asciidoctor.extension.JavaExtensionRegistry;
 import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.asciidoctor.jruby.CompiledOptions;
+import org.asciidoctor.jruby.ConversionResult;
 import org.asciidoctor.jruby.ast.impl.NodeConverter;
 import org.asciidoctor.log.LogHandler;
+import org.asciidoctor.log.Severity;
 import org.asciidoctor.log.LogRecord;
 import org.asciidoctor.jruby.DirectoryWalker;
+import org.asciidoctor.jruby.RuntimeProfile;
+import org.asciidoctor.jruby.ServiceRegistrations;
+import org.asciidoctor.jruby.StartupTimings;
 import org.asciidoctor.extension.RubyExtensionRegistry;
 import org.asciidoctor.jruby.ast.impl.DocumentHeaderImpl;
+import org.asciidoctor.jruby.ast.impl.TitleImpl;
+import org.asciidoctor.jruby.cache.ConversionCache;
+import org.asciidoctor.jruby.cache.IncludeContentCache;
+import org.asciidoctor.jruby.resource.ResourceResolver;
 import org.asciidoctor.jruby.converter.internal.ConverterRegistryExecutor;
 import org.asciidoctor.jruby.extension.internal.ExtensionRegistryExecutor;
+import org.asciidoctor.jruby.extension.processorproxies.ProcessorProxyUtil;
 import org.asciidoctor.jruby.log.internal.JULLogHandler;
 import org.asciidoctor.jruby.log.internal.JavaLogger;
 import org.asciidoctor.jruby.log.internal.LogHandlerRegistryExecutor;
 import org.jruby.*;
 import org.jruby.exceptions.RaiseException;
 import org.jruby.javasupport.JavaEmbedUtils;
+import org.jcodings.specific.UTF8Encoding;
 import org.jruby.runtime.builtin.IRubyObject;
+import org.jruby.util.ByteList;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -36,27 +56,66 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
 
     private static final String GEM_PATH = "GEM_PATH";
 
+    private static final int THROUGHPUT_JIT_THRESHOLD = 20;
+
+    private static final int THROUGHPUT_JIT_MAX = 16384;
+
+    private static final int DEFAULT_WARM_UP_CONVERSIONS = 10;
+
     protected RubyGemsPreloader rubyGemsPreloader;
 
     protected Ruby rubyRuntime;
 
     private RubyClass extensionGroupClass;
 
-    private List<LogHandler> logHandlers = new ArrayList<>();
+    /**
+     * Handlers are registered rarely but iterated for every logged message, possibly by many threads.
+     */
+    private final CopyOnWriteArrayList<LogHandler> logHandlers = new CopyOnWriteArrayList<>();
+
+    /**
+     * The log records of the conversion started by {@link #convertToResult(String, Map)} on the current thread.
+     */
+    private final ThreadLocal<List<LogRecord>> capturedLogRecords = new ThreadLocal<>();
+
+    private final StartupTimings startupTimings;
+
+    private volatile ConversionCache conversionCache;
+
+    private volatile IncludeContentCache includeContentCache;
+
+    private volatile ResourceResolver resourceResolver;
+
+    private volatile boolean captureLogCaller;
+
+    /**
+     * The service registrations of extensions and converters that are applied on the first use of this instance,
+     * or {@code null} if they were already applied, guarded by {@link #serviceRegistrationLock} when written.
+     */
+    private volatile ServiceRegistrations pendingServiceRegistrations;
+
+    private ClassLoader pendingServiceClassLoader;
+
+    private Thread serviceRegistrationThread;
+
+    private final Object serviceRegistrationLock = new Object();
 
     private final static Logger LOGGER = Logger.getLogger("asciidoctorj");
 
     public JRubyAsciidoctor() {
-        this(createRubyRuntime(Collections.singletonMap(GEM_PATH, null), new ArrayList<>(), null));
+        this(createRubyRuntime(Collections.singletonMap(GEM_PATH, null), new ArrayList<>(), null, createConfiguration(RuntimeProfile.DEFAULT)), new StartupTimings());
         processRegistrations(this);
     }
 
-    private JRubyAsciidoctor(final Ruby rubyRuntime) {
+    private JRubyAsciidoctor(final Ruby rubyRuntime, final StartupTimings startupTimings) {
         this.rubyRuntime = rubyRuntime;
+        this.startupTimings = startupTimings;
 
+        long start = System.nanoTime();
         InputStream inputStream = getClass().getResourceAsStream("asciidoctorclass.rb");
         final String script = IOUtils.readFull(inputStream);
         this.rubyRuntime.evalScriptlet(script);
+        startupTimings.record(StartupTimings.ASCIIDOCTOR, start);
 
         this.rubyGemsPreloader = new RubyGemsPreloader(this.rubyRuntime);
         this.logHandlers.add(new JULLogHandler());
@@ -86,36 +145,135 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
         return processRegistrations(createJRubyAsciidoctorInstance(Collections.singletonMap(GEM_PATH, gemPath), loadPaths, null));
     }
 
+    public static JRubyAsciidoctor create(ClassLoader classloader, List<String> loadPaths, String gemPath) {
+        return create(classloader, loadPaths, gemPath, RuntimeProfile.DEFAULT);
+    }
+
+    public static JRubyAsciidoctor create(RuntimeProfile runtimeProfile) {
+        return create(null, null, null, runtimeProfile);
+    }
+
+    public static JRubyAsciidoctor create(ClassLoader classloader, RuntimeProfile runtimeProfile) {
+        return create(classloader, null, null, runtimeProfile);
+    }
+
+    public static JRubyAsciidoctor create(ClassLoader classloader, List<String> loadPaths, String gemPath, RuntimeProfile runtimeProfile) {
+        return create(classloader, loadPaths, gemPath, runtimeProfile, ServiceRegistrations.all());
+    }
+
+    public static JRubyAsciidoctor create(RuntimeProfile runtimeProfile, ServiceRegistrations serviceRegistrations) {
+        return create(null, null, null, runtimeProfile, serviceRegistrations);
+    }
+
+    public static JRubyAsciidoctor create(ClassLoader classloader, List<String> loadPaths, String gemPath,
+                                          RuntimeProfile runtimeProfile, ServiceRegistrations serviceRegistrations) {
+        Map<String, String> env = gemPath != null ? Collections.singletonMap(GEM_PATH, gemPath) : null;
+        List<String> paths = loadPaths != null ? loadPaths : new ArrayList<>();
+        return processRegistrations(createJRubyAsciidoctorInstance(env, paths, classloader, createConfiguration(runtimeProfile)), serviceRegistrations);
+    }
+
+    /**
+     * Creates an instance that is optimized for a short time to first conversion instead of peak throughput.
+     *
+     * @see RuntimeProfile#STARTUP
+     */
+    public static JRubyAsciidoctor createForFastStartup() {
+        return createForFastStartup(null);
+    }
+
+    public static JRubyAsciidoctor createForFastStartup(ClassLoader classloader) {
+        return create(classloader, RuntimeProfile.STARTUP);
+    }
+
     private static JRubyAsciidoctor processRegistrations(JRubyAsciidoctor asciidoctor) {
-        registerExtensions(asciidoctor);
-        registerConverters(asciidoctor);
-        registerLogHandlers(asciidoctor);
+        return processRegistrations(asciidoctor, ServiceRegistrations.all());
+    }
+
+    private static JRubyAsciidoctor processRegistrations(JRubyAsciidoctor asciidoctor, ServiceRegistrations serviceRegistrations) {
+        if (serviceRegistrations.isDeferred()) {
+            // The services are looked up via the context class loader, use the one of the creating thread later on
+            asciidoctor.pendingServiceClassLoader = Thread.currentThread().getContextClassLoader();
+            asciidoctor.pendingServiceRegistrations = serviceRegistrations;
+        } else {
+            registerExtensionsAndConverters(asciidoctor, serviceRegistrations);
+        }
+        StartupTimings startupTimings = asciidoctor.startupTimings;
+        long start = System.nanoTime();
+        registerLogHandlers(asciidoctor, serviceRegistrations);
+        startupTimings.record(StartupTimings.LOG_HANDLERS, start);
+        logger.fine(startupTimings.toString());
         return asciidoctor;
     }
 
-    private static void registerConverters(AsciidoctorJRuby asciidoctor) {
-        new ConverterRegistryExecutor(asciidoctor).registerAllConverters();
+    private static void registerExtensionsAndConverters(JRubyAsciidoctor asciidoctor, ServiceRegistrations serviceRegistrations) {
+        StartupTimings startupTimings = asciidoctor.startupTimings;
+        long start = System.nanoTime();
+        registerExtensions(asciidoctor, serviceRegistrations);
+        start = startupTimings.record(StartupTimings.EXTENSIONS, start);
+        registerConverters(asciidoctor, serviceRegistrations);
+        startupTimings.record(StartupTimings.CONVERTERS, start);
+    }
+
+    /**
+     * Applies the deferred service registrations of extensions and converters, if there are any.
+     * Called by every method that uses the registered extensions or converters, or registers new ones,
+     * so that the services are registered before them like without deferring.
+     */
+    private void applyPendingServiceRegistrations() {
+        if (pendingServiceRegistrations == null) {
+            return;
+        }
+        synchronized (serviceRegistrationLock) {
+            // The services use this instance to register themselves, which must not apply them again
+            if (pendingServiceRegistrations == null || serviceRegistrationThread == Thread.currentThread()) {
+                return;
+            }
+            Thread thread = Thread.currentThread();
+            ClassLoader contextClassLoader = thread.getContextClassLoader();
+            serviceRegistrationThread = thread;
+            try {
+                thread.setContextClassLoader(pendingServiceClassLoader);
+                registerExtensionsAndConverters(this, pendingServiceRegistrations);
+            } finally {
+                thread.setContextClassLoader(contextClassLoader);
+                serviceRegistrationThread = null;
+                pendingServiceClassLoader = null;
+                pendingServiceRegistrations = null;
+            }
+        }
     }
 
-    private static void registerExtensions(AsciidoctorJRuby asciidoctor) {
-        new ExtensionRegistryExecutor(asciidoctor).registerAllExtensions();
+    private static void registerConverters(AsciidoctorJRuby asciidoctor, ServiceRegistrations serviceRegistrations) {
+        new ConverterRegistryExecutor(asciidoctor, serviceRegistrations).registerAllConverters();
     }
 
-    private static void registerLogHandlers(AsciidoctorJRuby asciidoctor) {
-        new LogHandlerRegistryExecutor(asciidoctor).registerAllLogHandlers();
+    private static void registerExtensions(AsciidoctorJRuby asciidoctor, ServiceRegistrations serviceRegistrations) {
+        new ExtensionRegistryExecutor(asciidoctor, serviceRegistrations).registerAllExtensions();
+    }
+
+    private static void registerLogHandlers(AsciidoctorJRuby asciidoctor, ServiceRegistrations serviceRegistrations) {
+        new LogHandlerRegistryExecutor(asciidoctor, serviceRegistrations).registerAllLogHandlers();
     }
 
     private static JRubyAsciidoctor createJRubyAsciidoctorInstance(Map<String, String> environmentVars, List<String> loadPaths, ClassLoader classloader) {
-        Ruby rubyRuntime = createRubyRuntime(environmentVars, loadPaths, classloader);
-        JRubyAsciidoctor jrubyAsciidoctor = new JRubyAsciidoctor(rubyRuntime);
+        return createJRubyAsciidoctorInstance(environmentVars, loadPaths, classloader, createConfiguration(RuntimeProfile.DEFAULT));
+    }
+
+    private static JRubyAsciidoctor createJRubyAsciidoctorInstance(Map<String, String> environmentVars, List<String> loadPaths, ClassLoader classloader, RubyInstanceConfig config) {
+        StartupTimings startupTimings = new StartupTimings();
+        long start = System.nanoTime();
+        Ruby rubyRuntime = createRubyRuntime(environmentVars, loadPaths, classloader, config);
+        startupTimings.record(StartupTimings.RUNTIME, start);
+        JRubyAsciidoctor jrubyAsciidoctor = new JRubyAsciidoctor(rubyRuntime, startupTimings);
+        start = System.nanoTime();
         JavaLogger.install(rubyRuntime, jrubyAsciidoctor);
+        startupTimings.record(StartupTimings.LOGGER, start);
         return jrubyAsciidoctor;
     }
 
-    private static Ruby createRubyRuntime(Map<String, String> environmentVars, List<String> loadPaths, ClassLoader classloader) {
+    private static Ruby createRubyRuntime(Map<String, String> environmentVars, List<String> loadPaths, ClassLoader classloader, RubyInstanceConfig config) {
         Map<String, String> env = environmentVars != null ? new HashMap<>(environmentVars) : new HashMap<>();
 
-        RubyInstanceConfig config = createOptimizedConfiguration();
         if (classloader != null) {
             config.setLoader(classloader);
         }
@@ -129,15 +287,115 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
         environmentInjector.inject(environmentVars);
     }
 
-    private static RubyInstanceConfig createOptimizedConfiguration() {
-        return new RubyInstanceConfig();
+    private static RubyInstanceConfig createConfiguration(RuntimeProfile runtimeProfile) {
+        RubyInstanceConfig config = new RubyInstanceConfig();
+        switch (runtimeProfile) {
+            case STARTUP:
+                // Same as JRuby's --dev flag: compiling to bytecode does not pay off for a small number of conversions
+                config.setCompileMode(RubyInstanceConfig.CompileMode.OFF);
+                config.setJitThreshold(-1);
+                break;
+            case THROUGHPUT:
+                // Compile hot methods after fewer calls than the default of 50 and allow more compiled methods than 4096
+                config.setCompileMode(RubyInstanceConfig.CompileMode.JIT);
+                config.setJitThreshold(THROUGHPUT_JIT_THRESHOLD);
+                config.setJitMax(THROUGHPUT_JIT_MAX);
+                break;
+            case LOW_MEMORY:
+                // Compiled methods are held as generated classes, native support loads jnr-posix and jffi
+                config.setCompileMode(RubyInstanceConfig.CompileMode.OFF);
+                config.setJitThreshold(-1);
+                config.setNativeEnabled(false);
+                break;
+            default:
+                break;
+        }
+        return config;
     }
 
     @Override
-    public void registerLogHandler(final LogHandler logHandler) {
-        if (!this.logHandlers.contains(logHandler)) {
-            this.logHandlers.add(logHandler);
+    public StartupTimings getStartupTimings() {
+        return startupTimings;
+    }
+
+    @Override
+    public void warmUp() {
+        warmUp(DEFAULT_WARM_UP_CONVERSIONS);
+    }
+
+    @Override
+    public void warmUp(int conversions) {
+        long start = System.nanoTime();
+        String corpus = IOUtils.readFull(getClass().getResourceAsStream("warmup.adoc"));
+        for (int i = 0; i < conversions; i++) {
+            // Bypass the conversion cache, a cached result would not run any code
+            convert(rubyRuntime.newString(corpus), OptionsBuilder.options().headerFooter(true).asMap(), String.class);
+        }
+        startupTimings.record(StartupTimings.WARM_UP, start);
+    }
+
+    @Override
+    public void setConversionCache(ConversionCache conversionCache) {
+        this.conversionCache = conversionCache;
+    }
+
+    @Override
+    public ConversionCache getConversionCache() {
+        return conversionCache;
+    }
+
+    @Override
+    public synchronized void setIncludeContentCache(IncludeContentCache includeContentCache) {
+        RubyModule asciidoctorJModule = rubyRuntime.getModule("AsciidoctorJ");
+        if (asciidoctorJModule.getConstantAt("IncludeCaching") == null) {
+            if (includeContentCache == null) {
+                return;
+            }
+            RubyUtils.loadRubyClass(rubyRuntime, IncludeContentCache.class.getResourceAsStream("include_caching.rb"));
+        }
+        // The Ruby side reads the cache from the module, so that it is shared by all documents of this runtime
+        asciidoctorJModule.getConstantAt("IncludeCaching")
+                .callMethod(rubyRuntime.getCurrentContext(), "cache=", JavaEmbedUtils.javaToRuby(rubyRuntime, includeContentCache));
+        this.includeContentCache = includeContentCache;
+    }
+
+    @Override
+    public IncludeContentCache getIncludeContentCache() {
+        return includeContentCache;
+    }
+
+    @Override
+    public synchronized void setResourceResolver(ResourceResolver resourceResolver) {
+        RubyModule asciidoctorJModule = rubyRuntime.getModule("AsciidoctorJ");
+        if (asciidoctorJModule.getConstantAt("ResourceResolving") == null) {
+            if (resourceResolver == null) {
+                return;
+            }
+            RubyUtils.loadRubyClass(rubyRuntime, ResourceResolver.class.getResourceAsStream("resource_resolving.rb"));
         }
+        asciidoctorJModule.getConstantAt("ResourceResolving")
+                .callMethod(rubyRuntime.getCurrentContext(), "resolver=", JavaEmbedUtils.javaToRuby(rubyRuntime, resourceResolver));
+        this.resourceResolver = resourceResolver;
+    }
+
+    @Override
+    public ResourceResolver getResourceResolver() {
+        return resourceResolver;
+    }
+
+    @Override
+    public void setCaptureLogCaller(boolean captureLogCaller) {
+        this.captureLogCaller = captureLogCaller;
+    }
+
+    @Override
+    public boolean isCaptureLogCaller() {
+        return captureLogCaller;
+    }
+
+    @Override
+    public void registerLogHandler(final LogHandler logHandler) {
+        this.logHandlers.addIfAbsent(logHandler);
     }
 
     @Override
@@ -153,10 +411,11 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
 
         Document documentImpl = (Document) NodeConverter.createASTNode(document);
 
+        // Copy everything so that the header does not keep the document and its runtime alive
         return DocumentHeaderImpl.createDocumentHeader(
-                documentImpl.getStructuredDoctitle(),
+                TitleImpl.getInstance(documentImpl.getStructuredDoctitle()),
                 documentImpl.getDoctitle(),
-                documentImpl.getAttributes());
+                new HashMap<>(documentImpl.getAttributes()));
     }
 
     @SuppressWarnings("unchecked")
@@ -186,6 +445,48 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
         return this.readDocumentHeader(content);
     }
 
+    @Override
+    public Map<File, DocumentHeader> readDocumentHeaders(Collection<File> files) {
+        Map<File, DocumentHeader> documentHeaders = new LinkedHashMap<>();
+        for (File file : files) {
+            documentHeaders.put(file, readDocumentHeaderFromLeadingBytes(file));
+        }
+        return documentHeaders;
+    }
+
+    private DocumentHeader readDocumentHeaderFromLeadingBytes(File file) {
+        byte[] header;
+        try {
+            header = DocumentHeaderScanner.readHeader(file.toPath());
+        } catch (IOException e) {
+            throw new AsciidoctorCoreException("Failed to read the header of " + file, e);
+        }
+        if (header == null) {
+            return readDocumentHeader(file);
+        }
+
+        RubyHash rubyHash = getParseHeaderOnlyOption();
+        // Set the same options and attributes as Asciidoctor.load_file does
+        File absoluteFile = file.getAbsoluteFile();
+        String fileName = absoluteFile.getName();
+        int extensionIndex = fileName.lastIndexOf('.');
+        RubyHash attributes = RubyHash.newHash(rubyRuntime);
+        attributes.put(rubyRuntime.newString("docfile"), rubyRuntime.newString(absoluteFile.getPath()));
+        attributes.put(rubyRuntime.newString("docdir"), rubyRuntime.newString(absoluteFile.getParent()));
+        attributes.put(rubyRuntime.newString("docname"), rubyRuntime.newString(extensionIndex > 0 ? fileName.substring(0, extensionIndex) : fileName));
+        attributes.put(rubyRuntime.newString("docfilesuffix"), rubyRuntime.newString(extensionIndex > 0 ? fileName.substring(extensionIndex) : ""));
+        rubyHash.put(RubyUtils.toSymbol(rubyRuntime, Options.ATTRIBUTES), attributes);
+        rubyHash.put(RubyUtils.toSymbol(rubyRuntime, "input_mtime"), RubyTime.newTime(rubyRuntime, absoluteFile.lastModified()));
+
+        RubyString content = RubyString.newString(rubyRuntime, new ByteList(header, false), UTF8Encoding.INSTANCE);
+        try {
+            Document document = (Document) NodeConverter.createASTNode(getAsciidoctorModule().callMethod("load", content, rubyHash));
+            return toDocumentHeader(document);
+        } catch (RaiseException e) {
+            throw new AsciidoctorCoreException("Failed to read the header of " + file, e);
+        }
+    }
+
     private RubyHash getParseHeaderOnlyOption() {
         Map<String, Object> options = new HashMap<>();
         options.put("parse_header_only", true);
@@ -223,15 +524,18 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
 
     @Override
     public JavaExtensionRegistry javaExtensionRegistry() {
+        applyPendingServiceRegistrations();
         return new JavaExtensionRegistryImpl(this);
     }
 
     public RubyExtensionRegistry rubyExtensionRegistry() {
+        applyPendingServiceRegistrations();
         return new RubyExtensionRegistryImpl(rubyRuntime);
     }
 
     @Override
     public JavaConverterRegistry javaConverterRegistry() {
+        applyPendingServiceRegistrations();
         return new JavaConverterRegistryImpl(rubyRuntime);
     }
 
@@ -251,11 +555,12 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
     }
 
     private RubyModule getExtensionsModule() {
-        return getAsciidoctorModule()
-                .defineOrGetModuleUnder("Extensions");
+        applyPendingServiceRegistrations();
+        return ProcessorProxyUtil.getExtensionsModule(rubyRuntime);
     }
 
     private RubyModule getAsciidoctorModule() {
+        applyPendingServiceRegistrations();
         return rubyRuntime.getModule("Asciidoctor");
     }
 
@@ -265,6 +570,53 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
     }
 
     public <T> T convert(String content, Map<String, Object> options, Class<T> expectedResult) {
+        ConversionCache cache = this.conversionCache;
+        if (cache == null || expectedResult != String.class || !isCacheable(options)) {
+            return convert(rubyRuntime.newString(content), options, expectedResult);
+        }
+        return expectedResult.cast(convertCached(cache, content, HashUtils.canonicalize(options),
+                () -> convert(rubyRuntime.newString(content), options, String.class)));
+    }
+
+    private String convertCached(ConversionCache cache, String content, String canonicalOptions, Supplier<String> conversion) {
+        String fingerprint = getRegistrationFingerprint();
+        if (fingerprint == null) {
+            return conversion.get();
+        }
+        String key = HashUtils.sha256(content, canonicalOptions, fingerprint);
+        String output = cache.get(key);
+        if (output == null) {
+            output = conversion.get();
+            if (output != null) {
+                cache.put(key, output);
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Only conversions that return the result can be cached, not those that write to a file or a stream.
+     */
+    private static boolean isCacheable(Map<String, Object> options) {
+        Object toFile = options.get(Options.TO_FILE);
+        return (toFile == null || Boolean.FALSE.equals(toFile)) && !options.containsKey(Options.TO_DIR);
+    }
+
+    /**
+     * @return the fingerprint of the registered extensions and converters, or {@code null} if a processor
+     * instance is registered whose state cannot be part of it.
+     */
+    private String getRegistrationFingerprint() {
+        IRubyObject fingerprint = getAsciidoctorClassModule().callMethod("registration_fingerprint");
+        return fingerprint.isNil() ? null : fingerprint.asJavaString();
+    }
+
+    private RubyModule getAsciidoctorClassModule() {
+        applyPendingServiceRegistrations();
+        return rubyRuntime.getModule("AsciidoctorModule");
+    }
+
+    private <T> T convert(RubyString content, Map<String, Object> options, Class<T> expectedResult) {
 
         this.rubyGemsPreloader.preloadRequiredLibraries(options);
 
@@ -274,23 +626,21 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
             logger.fine("In order to use Pygments with Asciidoctor, you need to install Pygments (and Python, if you don't have it yet). Read http://asciidoctor.org/news/#syntax-highlighting-with-pygments.");
         }
 
-        String currentDirectory = rubyRuntime.getCurrentDirectory();
-
-        if (options.containsKey(Options.BASEDIR)) {
-            rubyRuntime.setCurrentDirectory((String) options.get(Options.BASEDIR));
-        }
-
         final Object toFileOption = options.get(Options.TO_FILE);
         if (toFileOption instanceof OutputStream) {
             options.put(Options.TO_FILE, RubyOutputStreamWrapper.wrap(getRubyRuntime(), (OutputStream) toFileOption));
         }
 
-        RubyHash rubyHash = RubyHashUtil.convertMapToRubyHashWithSymbols(rubyRuntime, options);
+        RubyHash rubyHash = RubyHashUtil.convertMapToRubyHashWithSymbols(rubyRuntime, AsciidoctorUtils.resolveAgainstBaseDir(options));
+
+        return convert(content, rubyHash, expectedResult);
+    }
 
+    private <T> T convert(RubyString content, RubyHash rubyHash, Class<T> expectedResult) {
+        // The base directory is passed in the options, the current directory of the runtime is shared by all threads
         try {
 
-            IRubyObject object = getAsciidoctorModule().callMethod("convert",
-                    rubyRuntime.newString(content), rubyHash);
+            IRubyObject object = getAsciidoctorModule().callMethod("convert", content, rubyHash);
             if (NodeConverter.NodeType.DOCUMENT_CLASS.isInstance(object)) {
                 // If a document is rendered to a file Asciidoctor returns the document, we return null
                 return null;
@@ -299,9 +649,6 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
         } catch (RaiseException e) {
             logger.severe(e.getException().getClass().getCanonicalName());
             throw new AsciidoctorCoreException(e);
-        } finally {
-            // we restore current directory to its original value.
-            rubyRuntime.setCurrentDirectory(currentDirectory);
         }
 
     }
@@ -329,9 +676,44 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
 
     @Override
     public void convert(Reader contentReader, Writer rendererWriter, Map<String, Object> options) throws IOException {
-        String content = IOUtils.readFull(contentReader);
-        String renderedContent = convert(content, options);
-        IOUtils.writeFull(rendererWriter, renderedContent);
+        RubyString content = readRubyString(contentReader);
+
+        // Let Asciidoctor write the output directly into the Writer instead of returning it as a String
+        Map<String, Object> streamingOptions = new HashMap<>(options);
+        RubyWriterWrapper writerWrapper = (RubyWriterWrapper) RubyWriterWrapper.wrap(rubyRuntime, rendererWriter);
+        streamingOptions.put(Options.TO_FILE, writerWrapper);
+        // Streaming postprocessors find the wrapper in the options of the document to chain their filters in front of it
+        streamingOptions.put(RubyWriterWrapper.OPTION_NAME, writerWrapper);
+        // Asciidoctor creates standalone documents when writing to a stream, when converting to a String it does not
+        if (!streamingOptions.containsKey(Options.HEADER_FOOTER)) {
+            streamingOptions.put(Options.HEADER_FOOTER, false);
+        }
+
+        convert(content, streamingOptions, String.class);
+        writerWrapper.flush();
+    }
+
+    private RubyString readRubyString(Reader reader) throws IOException {
+        // Encode the content chunk-wise into the byte buffer of the Ruby String to avoid an intermediate Java String
+        ByteList bytes = new ByteList();
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.allocate(8192);
+        ByteBuffer encoded = ByteBuffer.allocate(8192 * 3);
+        boolean endOfInput = false;
+        while (!endOfInput) {
+            endOfInput = reader.read(chars) == -1;
+            chars.flip();
+            encoder.encode(chars, encoded, endOfInput);
+            if (endOfInput) {
+                encoder.flush(encoded);
+            }
+            bytes.append(encoded.array(), 0, encoded.position());
+            encoded.clear();
+            chars.compact();
+        }
+        return RubyString.newString(rubyRuntime, bytes, UTF8Encoding.INSTANCE);
     }
 
     @Override
@@ -356,14 +738,12 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
 
         logger.fine(AsciidoctorUtils.toAsciidoctorCommand(options, file.getAbsolutePath()));
 
-        String currentDirectory = rubyRuntime.getCurrentDirectory();
-
-        if (options.containsKey(Options.BASEDIR)) {
-            rubyRuntime.setCurrentDirectory((String) options.get(Options.BASEDIR));
-        }
+        RubyHash rubyHash = RubyHashUtil.convertMapToRubyHashWithSymbols(rubyRuntime, AsciidoctorUtils.resolveAgainstBaseDir(options));
 
-        RubyHash rubyHash = RubyHashUtil.convertMapToRubyHashWithSymbols(rubyRuntime, options);
+        return convertFile(file, rubyHash, expectedResult);
+    }
 
+    private <T> T convertFile(File file, RubyHash rubyHash, Class<T> expectedResult) {
         try {
             IRubyObject object = getAsciidoctorModule().callMethod("convert_file",
                     rubyRuntime.newString(file.getAbsolutePath()), rubyHash);
@@ -376,9 +756,6 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
             logger.severe(e.getMessage());
 
             throw new AsciidoctorCoreException(e);
-        } finally {
-            // we restore current directory to its original value.
-            rubyRuntime.setCurrentDirectory(currentDirectory);
         }
     }
 
@@ -387,6 +764,44 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
         return convertFile(file, options, String.class);
     }
 
+    @Override
+    public ConversionResult convertToResult(String content, Map<String, Object> options) {
+        return convertCapturingLogRecords(null, () -> convert(content, options));
+    }
+
+    @Override
+    public ConversionResult convertToResult(String content, Options options) {
+        return convertToResult(content, options.map());
+    }
+
+    @Override
+    public ConversionResult convertFileToResult(File file, Map<String, Object> options) {
+        return convertCapturingLogRecords(file, () -> convertFile(file, options));
+    }
+
+    @Override
+    public ConversionResult convertFileToResult(File file, Options options) {
+        return convertFileToResult(file, options.map());
+    }
+
+    private ConversionResult convertCapturingLogRecords(File file, Supplier<String> conversion) {
+        // Conversions can be nested, e.g. by an extension, so restore the records of an outer conversion afterwards
+        List<LogRecord> outerLogRecords = capturedLogRecords.get();
+        List<LogRecord> logRecords = new ArrayList<>();
+        capturedLogRecords.set(logRecords);
+        try {
+            return ConversionResult.success(file, conversion.get(), logRecords);
+        } catch (RuntimeException e) {
+            return ConversionResult.failure(file, e, logRecords);
+        } finally {
+            if (outerLogRecords == null) {
+                capturedLogRecords.remove();
+            } else {
+                capturedLogRecords.set(outerLogRecords);
+            }
+        }
+    }
+
     @Override
     public <T> T convertFile(File file, Options options, Class<T> expectedResult) {
         return convertFile(file, options.map(), expectedResult);
@@ -437,10 +852,52 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
     @Override
     public Document load(String content, Map<String, Object> options) {
         RubyHash rubyHash = RubyHashUtil.convertMapToRubyHashWithSymbols(rubyRuntime, options);
+        return load(content, rubyHash);
+    }
+
+    private Document load(String content, RubyHash rubyHash) {
         return (Document) NodeConverter.createASTNode(getAsciidoctorModule().callMethod("load",
                 rubyRuntime.newString(content), rubyHash));
     }
 
+    @Override
+    public CompiledOptions compileOptions(Map<String, Object> options) {
+        this.rubyGemsPreloader.preloadRequiredLibraries(options);
+        return CompiledOptionsImpl.compile(rubyRuntime, options);
+    }
+
+    @Override
+    public CompiledOptions compileOptions(Options options) {
+        return compileOptions(options.map());
+    }
+
+    @Override
+    public String convert(String content, CompiledOptions options) {
+        return convert(content, options, String.class);
+    }
+
+    @Override
+    public <T> T convert(String content, CompiledOptions options, Class<T> expectedResult) {
+        final CompiledOptionsImpl compiledOptions = CompiledOptionsImpl.of(options, rubyRuntime);
+        ConversionCache cache = this.conversionCache;
+        if (cache == null || expectedResult != String.class || !isCacheable(compiledOptions.getOptions())) {
+            return convert(rubyRuntime.newString(content), compiledOptions.getRubyHash(), expectedResult);
+        }
+        return expectedResult.cast(convertCached(cache, content, compiledOptions.getCanonicalForm(),
+                () -> convert(rubyRuntime.newString(content), compiledOptions.getRubyHash(), String.class)));
+    }
+
+    @Override
+    public String convertFile(File file, CompiledOptions options) {
+        CompiledOptionsImpl compiledOptions = CompiledOptionsImpl.of(options, rubyRuntime);
+        return convertFile(file, compiledOptions.getRubyHash(), String.class);
+    }
+
+    @Override
+    public Document load(String content, CompiledOptions options) {
+        return load(content, CompiledOptionsImpl.of(options, rubyRuntime).getRubyHash());
+    }
+
     @Override
     public Document loadFile(File file, Map<String, Object> options) {
         RubyHash rubyHash = RubyHashUtil.convertMapToRubyHashWithSymbols(rubyRuntime, options);
@@ -456,6 +913,7 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
 
     @Override
     public ExtensionGroup createGroup(String groupName) {
+        applyPendingServiceRegistrations();
         return new ExtensionGroupImpl(groupName, this, getExtensionGroupClass());
     }
 
@@ -466,10 +924,33 @@ public class JRubyAsciidoctor implements AsciidoctorJRuby, LogHandler {
         return extensionGroupClass;
     }
 
+    /**
+     * @return {@code true} if at least one of the registered log handlers is interested in messages of the given severity.
+     */
+    @Override
+    public boolean isLoggable(Severity severity) {
+        if (capturedLogRecords.get() != null) {
+            return true;
+        }
+        for (LogHandler logHandler : logHandlers) {
+            if (logHandler.isLoggable(severity)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public void log(LogRecord logRecord) {
+        List<LogRecord> conversionLogRecords = capturedLogRecords.get();
+        if (conversionLogRecords != null) {
+            conversionLogRecords.add(logRecord);
+        }
         for (LogHandler logHandler : logHandlers) {
             try {
+                if (!logHandler.isLoggable(logRecord.getSeverity())) {
+                    continue;
+                }
                 logHandler.log(logRecord);
             } catch (Exception e) {
                 LOGGER.log(Level.WARNING, "Unexpected exception while logging Asciidoctor log entry", e);
@@ -1,6 +1,7 @@
 package org.asciidoctor.jruby.internal;
 
 import org.asciidoctor.jruby.ast.impl.ContentNodeImpl;
+import org.asciidoctor.jruby.ast.impl.FindByIndex;
 import org.asciidoctor.jruby.ast.impl.NodeConverter;
 import org.jruby.RubyArray;
 import org.jruby.runtime.builtin.IRubyObject;
@@ -14,8 +15,28 @@ public class RubyBlockListDecorator<T> extends AbstractList<T> {
 
     private final RubyArray rubyBlockList;
 
+    /**
+     * The node that owns the list, or {@code null} if modifications of the list do not modify the document.
+     */
+    private final IRubyObject owner;
+
     public RubyBlockListDecorator(RubyArray rubyBlockList) {
+        this(rubyBlockList, null);
+    }
+
+    /**
+     * Creates a decorator of the children of the given node.
+     * Modifications of the list invalidate the {@code findBy} index of the document of the owner.
+     */
+    public RubyBlockListDecorator(RubyArray rubyBlockList, IRubyObject owner) {
         this.rubyBlockList = rubyBlockList;
+        this.owner = owner;
+    }
+
+    private void modified() {
+        if (owner != null) {
+            FindByIndex.invalidate(owner);
+        }
     }
 
     @Override
@@ -33,18 +54,25 @@ public class RubyBlockListDecorator<T> extends AbstractList<T> {
 
     @Override
     public boolean add(T abstractBlock) {
-        return rubyBlockList.add(((ContentNodeImpl) abstractBlock).getRubyObject());
+        boolean added = rubyBlockList.add(((ContentNodeImpl) abstractBlock).getRubyObject());
+        modified();
+        return added;
     }
 
     @Override
     public boolean remove(Object o) {
+        boolean removed;
         if (o instanceof IRubyObject) {
-            return rubyBlockList.remove(o);
-        }
-        if (!(o instanceof ContentNodeImpl)) {
+            removed = rubyBlockList.remove(o);
+        } else if (o instanceof ContentNodeImpl) {
+            removed = rubyBlockList.remove(((ContentNodeImpl) o).getRubyObject());
+        } else {
             return false;
         }
-        return rubyBlockList.remove(((ContentNodeImpl) o).getRubyObject());
+        if (removed) {
+            modified();
+        }
+        return removed;
     }
 
     private Collection<Object> getDelegateCollection(Collection<?> c) {
@@ -62,6 +90,7 @@ public class RubyBlockListDecorator<T> extends AbstractList<T> {
     @Override
     public void clear() {
         rubyBlockList.clear();
+        modified();
     }
 
     @Override
@@ -91,6 +120,7 @@ public class RubyBlockListDecorator<T> extends AbstractList<T> {
         } else {
             oldObject = rubyBlockList.set(index, ((ContentNodeImpl) element).getRubyObject());
         }
+        modified();
         return (T) NodeConverter.createASTNode(oldObject);
     }
 
@@ -101,11 +131,13 @@ public class RubyBlockListDecorator<T> extends AbstractList<T> {
         } else {
             rubyBlockList.add(index, ((ContentNodeImpl) element).getRubyObject());
         }
+        modified();
     }
 
     @Override
     public T remove(int index) {
         Object oldObject = rubyBlockList.remove(index);
+        modified();
         if (oldObject == null) {
             return null;
         } else {
@@ -13,6 +13,8 @@ public class RubyExtensionRegistryImpl implements RubyExtensionRegistry {
 
     public RubyExtensionRegistryImpl(final Ruby rubyRuntime) {
         this.rubyRuntime = rubyRuntime;
+        // Ruby extensions subclass Asciidoctor::Extensions classes, which are only loaded on demand
+        getAsciidoctorModule().callMethod("extensions");
     }
 
     @Override
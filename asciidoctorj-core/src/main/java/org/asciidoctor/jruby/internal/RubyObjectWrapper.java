@@ -2,19 +2,34 @@ package org.asciidoctor.jruby.internal;
 
 import org.jruby.Ruby;
 import org.jruby.RubyArray;
-import org.jruby.RubyFixnum;
+import org.jruby.RubyClass;
 import org.jruby.RubyNil;
 import org.jruby.RubyNumeric;
-import org.jruby.RubySymbol;
 import org.jruby.javasupport.JavaEmbedUtils;
+import org.jruby.runtime.CallSite;
+import org.jruby.runtime.MethodIndex;
 import org.jruby.runtime.ThreadContext;
 import org.jruby.runtime.builtin.IRubyObject;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class RubyObjectWrapper {
 
+    /**
+     * Name of the internal variable of a Ruby class that holds the call sites for the instances of that class.
+     * Call sites are kept per class, so that every call site only sees one class and one runtime,
+     * and are released together with the runtime.
+     */
+    private static final String CALL_SITES_VARIABLE = "__asciidoctorj_call_sites__";
+
+    /**
+     * Setter names by property name, to avoid building the setter name on every call.
+     */
+    private static final ConcurrentMap<String, String> SETTER_NAMES = new ConcurrentHashMap<>();
+
     protected Ruby runtime;
     protected IRubyObject rubyNode;
 
@@ -31,13 +46,17 @@ public class RubyObjectWrapper {
         return runtime;
     }
 
+    public String getString(String propertyName) {
+        return toJavaString(getRubyProperty(propertyName));
+    }
+
     public String getString(String propertyName, Object... args) {
-        IRubyObject result = getRubyProperty(propertyName, args);
+        return toJavaString(getRubyProperty(propertyName, args));
+    }
 
+    private static String toJavaString(IRubyObject result) {
         if (result instanceof RubyNil) {
             return null;
-        } else if (result instanceof RubySymbol) {
-            return result.asJavaString();
         } else {
             return result.asJavaString();
         }
@@ -51,13 +70,12 @@ public class RubyObjectWrapper {
         }
     }
 
-    public String getSymbol(String propertyName, Object... args) {
-        IRubyObject result = getRubyProperty(propertyName, args);
+    public String getSymbol(String propertyName) {
+        return toJavaString(getRubyProperty(propertyName));
+    }
 
-        if (result instanceof RubyNil) {
-            return null;
-        }
-        return result.asJavaString();
+    public String getSymbol(String propertyName, Object... args) {
+        return toJavaString(getRubyProperty(propertyName, args));
     }
 
     public void setSymbol(String propertyName, String value) {
@@ -68,21 +86,27 @@ public class RubyObjectWrapper {
         }
     }
 
+    public boolean getBoolean(String propertyName) {
+        return getRubyProperty(propertyName).isTrue();
+    }
+
     public boolean getBoolean(String propertyName, Object... args) {
-        IRubyObject result = getRubyProperty(propertyName, args);
-        if (result instanceof RubyNil) {
-            return false;
-        } else {
-            return result.isTrue();
-        }
+        return getRubyProperty(propertyName, args).isTrue();
     }
 
     public void setBoolean(String propertyName, boolean value) {
         setRubyProperty(propertyName, runtime.newBoolean(value));
     }
 
+    public int getInt(String propertyName) {
+        return toJavaInt(getRubyProperty(propertyName));
+    }
+
     public int getInt(String propertyName, Object... args) {
-        IRubyObject result = getRubyProperty(propertyName, args);
+        return toJavaInt(getRubyProperty(propertyName, args));
+    }
+
+    private static int toJavaInt(IRubyObject result) {
         if (result instanceof RubyNil) {
             return 0;
         } else {
@@ -90,59 +114,107 @@ public class RubyObjectWrapper {
         }
     }
 
+    public <T> List<T> getList(String propertyName, Class<T> elementClass) {
+        return toJavaList(getRubyProperty(propertyName), elementClass);
+    }
+
     public <T> List<T> getList(String propertyName, Class<T> elementClass, Object... args) {
-        IRubyObject result = getRubyProperty(propertyName, args);
+        return toJavaList(getRubyProperty(propertyName, args), elementClass);
+    }
+
+    private <T> List<T> toJavaList(IRubyObject result, Class<T> elementClass) {
         if (result instanceof RubyNil) {
             return null;
+        }
+        RubyArray array = (RubyArray) result;
+        int size = array.size();
+        List<T> ret = new ArrayList<T>(size);
+        if (elementClass == String.class) {
+            // Most lists are lists of strings, e.g. lines or subs, that can be converted without a lookup of the converter
+            for (int i = 0; i < size; i++) {
+                IRubyObject element = array.eltInternal(i);
+                ret.add(elementClass.cast(element.isNil() ? null : element.asJavaString()));
+            }
         } else {
-            List<T> ret = new ArrayList<T>();
-            RubyArray array = (RubyArray) result;
-            for (int i = 0; i < array.size(); i++) {
-                ret.add(RubyUtils.rubyToJava(runtime, array.at(RubyFixnum.newFixnum(runtime, i)), elementClass));
+            for (int i = 0; i < size; i++) {
+                ret.add(RubyUtils.rubyToJava(runtime, array.eltInternal(i), elementClass));
             }
-            return ret;
         }
+        return ret;
     }
 
+    /**
+     * Calls the method without arguments, or reads the instance variable if the name starts with an {@code @}.
+     */
+    public IRubyObject getRubyProperty(String propertyName) {
+        if (propertyName.startsWith("@")) {
+            return rubyNode.getInstanceVariables().getInstanceVariable(propertyName);
+        }
+        return getCallSite(propertyName).call(runtime.getCurrentContext(), rubyNode, rubyNode);
+    }
 
     public IRubyObject getRubyProperty(String propertyName, Object... args) {
-        ThreadContext threadContext = runtime.getThreadService().getCurrentContext();
-
-        IRubyObject result;
         if (propertyName.startsWith("@")) {
             if (args != null && args.length > 0) {
                 throw new IllegalArgumentException("No args allowed for direct field access");
             }
-            result = rubyNode.getInstanceVariables().getInstanceVariable(propertyName);
+            return rubyNode.getInstanceVariables().getInstanceVariable(propertyName);
+        }
+
+        ThreadContext threadContext = runtime.getCurrentContext();
+        CallSite callSite = getCallSite(propertyName);
+        if (args == null || args.length == 0) {
+            return callSite.call(threadContext, rubyNode, rubyNode);
+        } else if (args.length == 1) {
+            return callSite.call(threadContext, rubyNode, rubyNode, toRubyArgument(args[0]));
+        } else {
+            IRubyObject[] rubyArgs = new IRubyObject[args.length];
+            for (int i = 0; i < args.length; i++) {
+                rubyArgs[i] = toRubyArgument(args[i]);
+            }
+            return callSite.call(threadContext, rubyNode, rubyNode, rubyArgs);
+        }
+    }
+
+    private IRubyObject toRubyArgument(Object arg) {
+        if (arg instanceof IRubyObject) {
+            return (IRubyObject) arg;
+        } else if (arg instanceof RubyObjectWrapper) {
+            return ((RubyObjectWrapper) arg).getRubyObject();
         } else {
-            if (args == null) {
-                result = rubyNode.callMethod(threadContext, propertyName);
-            } else {
-                IRubyObject[] rubyArgs = new IRubyObject[args.length];
-                for (int i = 0; i < args.length; i++) {
-                    if (args[i] instanceof RubyObjectWrapper) {
-                        rubyArgs[i] = ((RubyObjectWrapper) args[i]).getRubyObject();
-                    } else {
-                        rubyArgs[i] = JavaEmbedUtils.javaToRuby(runtime, args[i]);
-                    }
+            return JavaEmbedUtils.javaToRuby(runtime, arg);
+        }
+    }
+
+    /**
+     * Returns a call site for the method that caches the method lookup for the class of the receiver.
+     * Functional call sites also allow to call private methods like {@code callMethod} does.
+     */
+    private CallSite getCallSite(String methodName) {
+        return getCallSites(rubyNode.getMetaClass().getRealClass()).computeIfAbsent(methodName, MethodIndex::getFunctionalCallSite);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<String, CallSite> getCallSites(RubyClass rubyClass) {
+        ConcurrentMap<String, CallSite> callSites = (ConcurrentMap<String, CallSite>) rubyClass.getInternalVariable(CALL_SITES_VARIABLE);
+        if (callSites == null) {
+            synchronized (rubyClass) {
+                callSites = (ConcurrentMap<String, CallSite>) rubyClass.getInternalVariable(CALL_SITES_VARIABLE);
+                if (callSites == null) {
+                    callSites = new ConcurrentHashMap<>();
+                    rubyClass.setInternalVariable(CALL_SITES_VARIABLE, callSites);
                 }
-                result = rubyNode.callMethod(threadContext, propertyName, rubyArgs);
             }
         }
-        return result;
+        return callSites;
     }
 
     public void setRubyProperty(String propertyName, IRubyObject arg) {
-        ThreadContext threadContext = runtime.getThreadService().getCurrentContext();
-
         if (propertyName.startsWith("@")) {
             rubyNode.getInstanceVariables().setInstanceVariable(propertyName, arg);
         } else {
-            if (arg == null) {
-                rubyNode.callMethod(threadContext, propertyName + "=", runtime.getNil());
-            } else {
-                rubyNode.callMethod(threadContext, propertyName + "=", arg);
-            }
+            String setterName = SETTER_NAMES.computeIfAbsent(propertyName, name -> name + "=");
+            getCallSite(setterName).call(runtime.getCurrentContext(), rubyNode, rubyNode, arg == null ? runtime.getNil() : arg);
         }
     }
 
@@ -11,6 +11,7 @@ import org.jruby.anno.JRubyMethod;
 import org.jruby.runtime.ObjectAllocator;
 import org.jruby.runtime.ThreadContext;
 import org.jruby.runtime.builtin.IRubyObject;
+import org.jruby.util.ByteList;
 
 import java.io.IOException;
 import java.io.OutputStream;
@@ -89,16 +90,17 @@ public class RubyOutputStreamWrapper extends RubyObject {
   }
 
   private void writeToStream(IRubyObject arg) throws IOException {
-    final byte[] bytes = convertToBytes(arg);
-    out.write(bytes);
-    bytesWritten += bytes.length;
+    // Write the backing bytes of the Ruby string directly instead of copying them first
+    final ByteList bytes = convertToByteList(arg);
+    out.write(bytes.unsafeBytes(), bytes.begin(), bytes.realSize());
+    bytesWritten += bytes.realSize();
   }
 
-  private byte[] convertToBytes(IRubyObject arg) {
+  private ByteList convertToByteList(IRubyObject arg) {
     if (arg instanceof RubyString) {
-      return ((RubyString) arg).getBytes();
+      return ((RubyString) arg).getByteList();
     } else if (arg instanceof RubyNumeric) {
-      return arg.asString().getBytes();
+      return arg.asString().getByteList();
     } else {
       throw new IllegalArgumentException("Don't know how to write a " + arg + " " + arg.getClass());
     }
@@ -0,0 +1,92 @@
+package org.asciidoctor.jruby.internal;
+
+import org.jruby.Ruby;
+import org.jruby.RubyArray;
+import org.jruby.runtime.builtin.IRubyObject;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A view of a Ruby Array of Strings, e.g. the lines of a reader, as a List of Java Strings.
+ * Elements are only converted to Java Strings when they are accessed, and modifications are written
+ * to the Ruby Array, so that the list can be passed back to Ruby without copying it.
+ */
+public class RubyStringListDecorator extends AbstractList<String> implements RandomAccess {
+
+    private final RubyArray rubyArray;
+
+    public RubyStringListDecorator(RubyArray rubyArray) {
+        this.rubyArray = rubyArray;
+    }
+
+    public RubyArray getRubyArray() {
+        return rubyArray;
+    }
+
+    /**
+     * @return The Ruby Array of the list if it is a view, otherwise a new Ruby Array with the elements of the list.
+     */
+    public static RubyArray toRubyArray(Ruby runtime, List<String> strings) {
+        if (strings instanceof RubyStringListDecorator) {
+            return ((RubyStringListDecorator) strings).getRubyArray();
+        }
+        RubyArray rubyArray = RubyArray.newArray(runtime, strings.size());
+        for (String string : strings) {
+            rubyArray.append(toRubyString(runtime, string));
+        }
+        return rubyArray;
+    }
+
+    @Override
+    public int size() {
+        return rubyArray.size();
+    }
+
+    @Override
+    public String get(int index) {
+        checkIndex(index, size());
+        IRubyObject element = rubyArray.eltInternal(index);
+        return element.isNil() ? null : element.asJavaString();
+    }
+
+    @Override
+    public String set(int index, String element) {
+        String previous = get(index);
+        rubyArray.store(index, toRubyString(rubyArray.getRuntime(), element));
+        return previous;
+    }
+
+    @Override
+    public void add(int index, String element) {
+        checkIndex(index, size() + 1);
+        rubyArray.add(index, toRubyString(rubyArray.getRuntime(), element));
+        modCount++;
+    }
+
+    @Override
+    public String remove(int index) {
+        String previous = get(index);
+        rubyArray.remove(index);
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        rubyArray.clear();
+        modCount++;
+    }
+
+    private void checkIndex(int index, int upperBound) {
+        if (index < 0 || index >= upperBound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    private static IRubyObject toRubyString(Ruby runtime, String string) {
+        return string == null ? runtime.getNil() : runtime.newString(string);
+    }
+
+}
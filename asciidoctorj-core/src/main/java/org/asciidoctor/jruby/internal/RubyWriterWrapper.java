@@ -0,0 +1,229 @@
+package org.asciidoctor.jruby.internal;
+
+import org.jruby.Ruby;
+import org.jruby.RubyClass;
+import org.jruby.RubyKernel;
+import org.jruby.RubyModule;
+import org.jruby.RubyNumeric;
+import org.jruby.RubyObject;
+import org.jruby.RubyString;
+import org.jruby.anno.JRubyMethod;
+import org.jruby.runtime.ObjectAllocator;
+import org.jruby.runtime.ThreadContext;
+import org.jruby.runtime.builtin.IRubyObject;
+import org.jruby.util.ByteList;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Ruby IO-like object that decodes everything Asciidoctor writes to it chunk-wise into a Java {@link Writer}.
+ * This way the converted output is never materialized as a complete Java String.
+ */
+public class RubyWriterWrapper extends RubyObject {
+
+  public static final String RUBY_CLASS_NAME = "WriterWrapper";
+
+  /**
+   * Name of the option that passes the wrapper of the target Writer to the document,
+   * so that streaming postprocessors can chain their filters in front of it.
+   */
+  public static final String OPTION_NAME = "asciidoctorj_output_writer";
+
+  private static final int CHUNK_SIZE = 8192;
+
+  private Writer out;
+
+  private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+  private final CharBuffer chars = CharBuffer.allocate(CHUNK_SIZE);
+
+  // Trailing bytes of an incomplete multibyte sequence from the previous write
+  private ByteBuffer pending = ByteBuffer.allocate(0);
+
+  private int bytesWritten = 0;
+
+  private final List<Function<Writer, Writer>> filters = new ArrayList<>();
+
+  // The first filter of the chain in front of out, created on the first write
+  private Writer filteredOut;
+
+  public static IRubyObject wrap(final Ruby rubyRuntime, final Writer out) {
+
+    final RubyClass rubyClass = getOrCreateWriterWrapperClass(rubyRuntime);
+
+    final IRubyObject wrapper = rubyClass.allocate();
+
+    ((RubyWriterWrapper) wrapper).setOut(out);
+
+    return wrapper;
+  }
+
+  public RubyWriterWrapper(final Ruby rubyRuntime, final RubyClass rubyClass) {
+    super(rubyRuntime, rubyClass);
+  }
+
+  public void setOut(Writer out) {
+    this.out = out;
+  }
+
+  public Writer getOut() {
+    return out;
+  }
+
+  public static RubyClass getOrCreateWriterWrapperClass(final Ruby rubyRuntime) {
+    RubyModule asciidoctorModule = rubyRuntime.getModule("AsciidoctorJ");
+    RubyClass writerWrapperClass = asciidoctorModule.getClass(RUBY_CLASS_NAME);
+    if (writerWrapperClass != null) {
+      return writerWrapperClass;
+    }
+
+    final RubyClass rubyClass = asciidoctorModule.defineClassUnder(RUBY_CLASS_NAME, rubyRuntime.getObject(), new ObjectAllocator() {
+      @Override
+      public IRubyObject allocate(final Ruby runtime, final RubyClass klazz) {
+        return new RubyWriterWrapper(runtime, klazz);
+      }
+    });
+
+    rubyClass.defineAnnotatedMethods(RubyWriterWrapper.class);
+
+    return rubyClass;
+  }
+
+  @JRubyMethod(name = "write", required = 1)
+  public IRubyObject write(ThreadContext context, IRubyObject arg) throws IOException {
+    writeToWriter(arg);
+    return context.getRuntime().getNil();
+  }
+
+  @JRubyMethod(name = "<<", required = 1)
+  public IRubyObject append(ThreadContext context, IRubyObject arg) throws IOException {
+    writeToWriter(arg);
+    return this;
+  }
+
+  @JRubyMethod(name = "printf", required = 1, rest = true)
+  public IRubyObject printf(ThreadContext context, IRubyObject[] args) throws IOException {
+    writeToWriter(RubyKernel.sprintf(context, null, args));
+    return context.getRuntime().getNil();
+  }
+
+  @JRubyMethod(name = "size")
+  public IRubyObject size(ThreadContext context) throws IOException {
+    return context.getRuntime().newFixnum(bytesWritten);
+  }
+
+  /**
+   * Adds a filter in front of the Writer.
+   * The filters are chained in the order they are added, so the first filter receives the output first.
+   *
+   * @param filter creates a Writer that writes the filtered output to the Writer it is passed.
+   * @throws IllegalStateException if output was already written.
+   */
+  public void addFilter(Function<Writer, Writer> filter) {
+    if (filteredOut != null) {
+      throw new IllegalStateException("Cannot add a filter after output was written");
+    }
+    filters.add(filter);
+  }
+
+  /**
+   * Writes out any remaining characters and flushes the underlying Writer.
+   * If filters were added they are closed, so that they write out everything they buffered.
+   */
+  public void flush() throws IOException {
+    pending.flip();
+    decoder.decode(pending, chars, true);
+    decoder.flush(chars);
+    drainChars();
+    decoder.reset();
+    pending = ByteBuffer.allocate(0);
+    if (!filters.isEmpty()) {
+      getFilteredOut().close();
+    }
+    out.flush();
+  }
+
+  private Writer getFilteredOut() {
+    if (filteredOut == null) {
+      if (filters.isEmpty()) {
+        filteredOut = out;
+      } else {
+        // The filters close the Writer they write to, but the target belongs to the caller
+        Writer chain = new FilterWriter(out) {
+          @Override
+          public void close() throws IOException {
+            flush();
+          }
+        };
+        for (int i = filters.size() - 1; i >= 0; i--) {
+          chain = filters.get(i).apply(chain);
+        }
+        filteredOut = chain;
+      }
+    }
+    return filteredOut;
+  }
+
+  private void writeToWriter(IRubyObject arg) throws IOException {
+    final ByteList bytes = toByteList(arg);
+    bytesWritten += bytes.realSize();
+    ByteBuffer in = ByteBuffer.wrap(bytes.unsafeBytes(), bytes.begin(), bytes.realSize());
+    if (pending.position() > 0) {
+      in = prependPending(in);
+    }
+    while (true) {
+      CoderResult result = decoder.decode(in, chars, false);
+      drainChars();
+      if (result.isUnderflow()) {
+        break;
+      }
+    }
+    if (in.hasRemaining()) {
+      pending = ByteBuffer.allocate(Math.max(in.remaining(), 4));
+      pending.put(in);
+    } else {
+      pending.clear();
+    }
+  }
+
+  private ByteBuffer prependPending(ByteBuffer in) {
+    pending.flip();
+    ByteBuffer joined = ByteBuffer.allocate(pending.remaining() + in.remaining());
+    joined.put(pending).put(in);
+    joined.flip();
+    pending.clear();
+    return joined;
+  }
+
+  private void drainChars() throws IOException {
+    chars.flip();
+    if (chars.hasRemaining()) {
+      getFilteredOut().write(chars.array(), chars.arrayOffset() + chars.position(), chars.remaining());
+    }
+    chars.clear();
+  }
+
+  private ByteList toByteList(IRubyObject arg) {
+    if (arg instanceof RubyString) {
+      return ((RubyString) arg).getByteList();
+    } else if (arg instanceof RubyNumeric) {
+      return arg.asString().getByteList();
+    } else {
+      throw new IllegalArgumentException("Don't know how to write a " + arg + " " + arg.getClass());
+    }
+  }
+
+}
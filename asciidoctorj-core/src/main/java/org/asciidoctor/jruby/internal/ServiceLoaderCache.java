@@ -0,0 +1,77 @@
+package org.asciidoctor.jruby.internal;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.WeakHashMap;
+
+/**
+ * Caches the implementations of a service that the {@link ServiceLoader} finds for the context class loader,
+ * so that creating many Asciidoctor instances, e.g. in a pool, only scans the class path once.
+ * <p>
+ * The class loaders are weakly referenced and the implementations softly.
+ * As the classes of the implementations refer to their class loader, a cached class loader stays reachable
+ * until the garbage collector clears the implementations under memory pressure.
+ * Applications that unload class loaders, e.g. web applications in an application server,
+ * should call {@link #clear(ClassLoader)} when a class loader is discarded.
+ * <p>
+ * The cached implementations are shared by all Asciidoctor instances that are created with the same context
+ * class loader, like the log handlers always have been.
+ * Before, every instance created its own extension and converter registries, so stateful implementations
+ * must be able to register with several instances, also concurrently.
+ */
+public class ServiceLoaderCache {
+
+    private static final Map<ClassLoader, Map<Class<?>, SoftReference<List<?>>>> CACHE = new WeakHashMap<>();
+
+    private ServiceLoaderCache() {
+    }
+
+    /**
+     * @return The implementations of the service that are visible to the context class loader of the current thread.
+     */
+    public static <S> List<S> load(Class<S> service) {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = ClassLoader.getSystemClassLoader();
+        }
+        synchronized (CACHE) {
+            Map<Class<?>, SoftReference<List<?>>> services = CACHE.computeIfAbsent(classLoader, key -> new HashMap<>());
+            SoftReference<List<?>> cached = services.get(service);
+            List<S> implementations = cached != null ? (List<S>) cached.get() : null;
+            if (implementations == null) {
+                List<S> loaded = new ArrayList<>();
+                for (S implementation : ServiceLoader.load(service, classLoader)) {
+                    loaded.add(implementation);
+                }
+                implementations = Collections.unmodifiableList(loaded);
+                services.put(service, new SoftReference<>(implementations));
+            }
+            return implementations;
+        }
+    }
+
+    /**
+     * Forgets all implementations, so that the next instance scans the class path again,
+     * e.g. after new services were added to a class loader.
+     */
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    /**
+     * Forgets the implementations that were found for the class loader, so that the cache
+     * no longer keeps the class loader reachable.
+     */
+    public static void clear(ClassLoader classLoader) {
+        synchronized (CACHE) {
+            CACHE.remove(classLoader);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package org.asciidoctor.jruby.log;
+
+import org.asciidoctor.jruby.ast.impl.DetachedCursor;
+import org.asciidoctor.log.LogHandler;
+import org.asciidoctor.log.LogRecord;
+import org.asciidoctor.log.Severity;
+
+import java.io.Closeable;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Passes log records to another {@link LogHandler} on a separate thread, so that slow handlers,
+ * e.g. ones that write to files or remote services, do not slow down conversions:
+ *
+ * <pre>
+ * AsyncLogHandler logHandler = new AsyncLogHandler(myLogHandler);
+ * asciidoctor.registerLogHandler(logHandler);
+ * ...
+ * logHandler.close();
+ * </pre>
+ *
+ * The records are buffered in a ring buffer of a fixed capacity.
+ * If the handler cannot keep up and the buffer is full, the oldest records are dropped
+ * and counted in {@link #getDroppedRecords()}, so that logging never blocks a conversion.
+ */
+public class AsyncLogHandler implements LogHandler, Closeable {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private static final Logger LOGGER = Logger.getLogger("asciidoctorj");
+
+    private static final AtomicLong THREAD_COUNTER = new AtomicLong();
+
+    /**
+     * Enqueued by {@link #close()} after all other records, the dispatcher stops when it takes it.
+     */
+    private static final LogRecord STOP = new LogRecord(Severity.DEBUG, "");
+
+    private final LogHandler delegate;
+
+    private final BlockingQueue<LogRecord> buffer;
+
+    private final Thread dispatcher;
+
+    private final AtomicLong droppedRecords = new AtomicLong();
+
+    private final Object pendingLock = new Object();
+
+    /**
+     * Number of records that were accepted but are not yet dispatched or dropped, guarded by {@link #pendingLock}.
+     */
+    private long pendingRecords;
+
+    /**
+     * Written under {@link #pendingLock}, so that no record is enqueued after {@link #close()} drained the buffer.
+     */
+    private volatile boolean closed;
+
+    public AsyncLogHandler(LogHandler delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    public AsyncLogHandler(LogHandler delegate, int capacity) {
+        this.delegate = delegate;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.dispatcher = new Thread(this::dispatch, "asciidoctorj-log-" + THREAD_COUNTER.incrementAndGet());
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    @Override
+    public boolean isLoggable(Severity severity) {
+        return delegate.isLoggable(severity);
+    }
+
+    @Override
+    public void log(LogRecord logRecord) {
+        if (closed) {
+            delegate.log(logRecord);
+            return;
+        }
+        // The cursor of the record refers to the Ruby runtime, read it while the conversion is still running
+        LogRecord detachedRecord = new LogRecord(
+                logRecord.getSeverity(),
+                DetachedCursor.copyOf(logRecord.getCursor()),
+                logRecord.getMessage(),
+                logRecord.getSourceFileName(),
+                logRecord.getSourceMethodName());
+        synchronized (pendingLock) {
+            if (!closed) {
+                pendingRecords++;
+                while (!buffer.offer(detachedRecord)) {
+                    if (buffer.poll() != null) {
+                        droppedRecords.incrementAndGet();
+                        recordDone();
+                    }
+                }
+                return;
+            }
+        }
+        // Closed in the meantime
+        delegate.log(detachedRecord);
+    }
+
+    /**
+     * Waits until all records that were logged before have been passed to the handler.
+     *
+     * @param timeout the maximum time to wait.
+     * @param unit the unit of the timeout.
+     * @return {@code true} if all records were dispatched, {@code false} if the timeout elapsed before.
+     */
+    public boolean flush(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (pendingLock) {
+            while (pendingRecords > 0) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(pendingLock, remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of records that were dropped because the buffer was full.
+     */
+    public long getDroppedRecords() {
+        return droppedRecords.get();
+    }
+
+    /**
+     * Dispatches the records that are still buffered and stops the dispatcher thread.
+     * Records logged afterwards are passed to the handler directly on the logging thread.
+     */
+    @Override
+    public void close() {
+        synchronized (pendingLock) {
+            closed = true;
+        }
+        boolean interrupted = false;
+        try {
+            flush(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        // No record is enqueued once closed is set, so the dispatcher takes the stop record last.
+        // It is not interrupted, as that would also interrupt the handler, e.g. while it writes to a file.
+        while (true) {
+            try {
+                buffer.put(STOP);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        while (dispatcher.isAlive()) {
+            try {
+                dispatcher.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        // Records the dispatcher did not take before it stopped
+        LogRecord logRecord;
+        while ((logRecord = buffer.poll()) != null) {
+            if (logRecord != STOP) {
+                dispatchRecord(logRecord);
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void dispatch() {
+        while (true) {
+            LogRecord logRecord;
+            try {
+                logRecord = buffer.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (logRecord == STOP) {
+                return;
+            }
+            dispatchRecord(logRecord);
+        }
+    }
+
+    private void dispatchRecord(LogRecord logRecord) {
+        try {
+            delegate.log(logRecord);
+        } catch (Throwable t) {
+            // Also errors of the handler must not stop the dispatcher, otherwise all later records are lost
+            LOGGER.log(Level.WARNING, "Unexpected exception while logging Asciidoctor log entry", t);
+        } finally {
+            recordDone();
+        }
+    }
+
+    private void recordDone() {
+        synchronized (pendingLock) {
+            pendingRecords--;
+            if (pendingRecords == 0) {
+                pendingLock.notifyAll();
+            }
+        }
+    }
+}
@@ -24,6 +24,11 @@ public class JULLogHandler implements LogHandler {
         LOGGER.log(julLogRecord);
     }
 
+    @Override
+    public boolean isLoggable(Severity severity) {
+        return LOGGER.isLoggable(mapSeverity(severity));
+    }
+
     private static Level mapSeverity(Severity severity) {
         switch (severity) {
             case DEBUG:
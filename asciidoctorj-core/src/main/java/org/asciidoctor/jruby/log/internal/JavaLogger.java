@@ -1,8 +1,8 @@
 package org.asciidoctor.jruby.log.internal;
 
-import org.asciidoctor.log.LogHandler;
 import org.asciidoctor.ast.Cursor;
 import org.asciidoctor.jruby.ast.impl.CursorImpl;
+import org.asciidoctor.jruby.internal.JRubyAsciidoctor;
 import org.asciidoctor.log.LogRecord;
 import org.asciidoctor.log.Severity;
 import org.jruby.Ruby;
@@ -23,12 +23,12 @@ import java.util.Optional;
 
 public class JavaLogger extends RubyObject {
 
-  private final LogHandler rootLogHandler;
+  private final JRubyAsciidoctor rootLogHandler;
 
   private static final String LOG_PROPERTY_SOURCE_LOCATION = "source_location";
   private static final String LOG_PROPERTY_TEXT = "text";
 
-  public static void install(final Ruby runtime, final LogHandler logHandler) {
+  public static void install(final Ruby runtime, final JRubyAsciidoctor logHandler) {
 
     final RubyModule asciidoctorModule = runtime.getModule("Asciidoctor");
     final RubyModule loggerManager = asciidoctorModule.defineOrGetModuleUnder("LoggerManager");
@@ -51,7 +51,7 @@ public class JavaLogger extends RubyObject {
 
   }
 
-  private JavaLogger(final Ruby runtime, final RubyClass metaClass, final LogHandler rootLogHandler) {
+  private JavaLogger(final Ruby runtime, final RubyClass metaClass, final JRubyAsciidoctor rootLogHandler) {
     super(runtime, metaClass);
     this.rootLogHandler = rootLogHandler;
   }
@@ -73,6 +73,11 @@ public class JavaLogger extends RubyObject {
    */
   @JRubyMethod(name = "add", required = 1, optional = 2)
   public IRubyObject add(final ThreadContext threadContext, final IRubyObject[] args, Block block) {
+    final Severity severity = mapRubyLogLevel(args[0]);
+    if (!rootLogHandler.isLoggable(severity)) {
+      // Do not evaluate the block that builds the message
+      return getRuntime().getNil();
+    }
     final IRubyObject rubyMessage;
     if (args.length >= 2 && !args[1].isNil()) {
       rubyMessage = args[1];
@@ -83,7 +88,6 @@ public class JavaLogger extends RubyObject {
     }
     final Cursor cursor = getSourceLocation(rubyMessage);
     final String message = formatMessage(rubyMessage);
-    final Severity severity = mapRubyLogLevel(args[0]);
 
     final LogRecord record = createLogRecord(threadContext, severity, cursor, message);
 
@@ -98,7 +102,7 @@ public class JavaLogger extends RubyObject {
 
   @JRubyMethod(name = "fatal?")
   public IRubyObject fatal(final ThreadContext threadContext) {
-    return getRuntime().getTrue();
+    return getRuntime().newBoolean(rootLogHandler.isLoggable(Severity.FATAL));
   }
 
   @JRubyMethod(name = "error", required = 1, optional = 1)
@@ -108,7 +112,7 @@ public class JavaLogger extends RubyObject {
 
   @JRubyMethod(name = "error?")
   public IRubyObject error(final ThreadContext threadContext) {
-    return getRuntime().getTrue();
+    return getRuntime().newBoolean(rootLogHandler.isLoggable(Severity.ERROR));
   }
 
   @JRubyMethod(name = "warn", required = 1, optional = 1)
@@ -118,7 +122,7 @@ public class JavaLogger extends RubyObject {
 
   @JRubyMethod(name = "warn?")
   public IRubyObject warn(final ThreadContext threadContext) {
-    return getRuntime().getTrue();
+    return getRuntime().newBoolean(rootLogHandler.isLoggable(Severity.WARN));
   }
 
   @JRubyMethod(name = "info", required = 1, optional = 1)
@@ -128,7 +132,7 @@ public class JavaLogger extends RubyObject {
 
   @JRubyMethod(name = "info?")
   public IRubyObject info(final ThreadContext threadContext) {
-    return getRuntime().getTrue();
+    return getRuntime().newBoolean(rootLogHandler.isLoggable(Severity.INFO));
   }
 
   @JRubyMethod(name = "debug", required = 1, optional = 1)
@@ -138,11 +142,14 @@ public class JavaLogger extends RubyObject {
 
   @JRubyMethod(name = "debug?")
   public IRubyObject debug(final ThreadContext threadContext) {
-    return getRuntime().getTrue();
+    return getRuntime().newBoolean(rootLogHandler.isLoggable(Severity.DEBUG));
   }
 
 
   private IRubyObject log(ThreadContext threadContext, IRubyObject[] args, Block block, Severity severity) {
+    if (!rootLogHandler.isLoggable(severity)) {
+      return getRuntime().getNil();
+    }
     final IRubyObject rubyMessage;
     if (block.isGiven()) {
       rubyMessage = block.yield(threadContext, getRuntime().getNil());
@@ -163,6 +170,10 @@ public class JavaLogger extends RubyObject {
                                     final Severity severity,
                                     final Cursor cursor,
                                     final String message) {
+    if (!rootLogHandler.isCaptureLogCaller()) {
+      // Creating the backtrace is by far the most expensive part of logging a message
+      return new LogRecord(severity, cursor, message);
+    }
     final Optional<BacktraceElement> elem = threadContext.getBacktrace(0)
             .skip(1)
             .findFirst();
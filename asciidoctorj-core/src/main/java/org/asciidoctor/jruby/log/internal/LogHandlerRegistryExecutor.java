@@ -1,24 +1,31 @@
 package org.asciidoctor.jruby.log.internal;
 
 import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.asciidoctor.jruby.ServiceRegistrations;
+import org.asciidoctor.jruby.internal.ServiceLoaderCache;
 import org.asciidoctor.log.LogHandler;
 
-import java.util.ServiceLoader;
-
 public class LogHandlerRegistryExecutor {
-    private static ServiceLoader<LogHandler> logHandlerServiceLoader = ServiceLoader
-        .load(LogHandler.class);
 
     private AsciidoctorJRuby asciidoctor;
 
+    private ServiceRegistrations serviceRegistrations;
+
     public LogHandlerRegistryExecutor(AsciidoctorJRuby asciidoctor) {
+        this(asciidoctor, ServiceRegistrations.all());
+    }
+
+    public LogHandlerRegistryExecutor(AsciidoctorJRuby asciidoctor, ServiceRegistrations serviceRegistrations) {
         this.asciidoctor = asciidoctor;
+        this.serviceRegistrations = serviceRegistrations;
     }
 
     public void registerAllLogHandlers() {
-        for (LogHandler logHandler: logHandlerServiceLoader) {
-            asciidoctor.registerLogHandler(logHandler);
+        for (LogHandler logHandler : ServiceLoaderCache.load(LogHandler.class)) {
+            if (serviceRegistrations.accepts(logHandler.getClass())) {
+                asciidoctor.registerLogHandler(logHandler);
+            }
         }
     }
 
-}
\ No newline at end of file
+}
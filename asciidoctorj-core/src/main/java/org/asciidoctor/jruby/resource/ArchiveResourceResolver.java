@@ -0,0 +1,44 @@
+package org.asciidoctor.jruby.resource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+
+/**
+ * A {@link ResourceResolver} that reads the resources from a ZIP or JAR file via the NIO zip file system,
+ * without extracting them.
+ * The archive stays open until the resolver is closed.
+ */
+public class ArchiveResourceResolver extends DirectoryResourceResolver implements Closeable {
+
+    private final FileSystem fileSystem;
+
+    /**
+     * @param archive the ZIP or JAR file.
+     * @throws IOException if the archive cannot be opened.
+     */
+    public ArchiveResourceResolver(Path archive) throws IOException {
+        this(archive, "/");
+    }
+
+    /**
+     * @param archive the ZIP or JAR file.
+     * @param directory the directory in the archive that the paths of the resources are resolved against.
+     * @throws IOException if the archive cannot be opened.
+     */
+    public ArchiveResourceResolver(Path archive, String directory) throws IOException {
+        this(FileSystems.newFileSystem(archive, (ClassLoader) null), directory);
+    }
+
+    private ArchiveResourceResolver(FileSystem fileSystem, String directory) {
+        super(fileSystem.getPath("/").resolve(directory));
+        this.fileSystem = fileSystem;
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileSystem.close();
+    }
+}
@@ -0,0 +1,36 @@
+package org.asciidoctor.jruby.resource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * A {@link ResourceResolver} that reads the resources from a directory.
+ * The directory can belong to any NIO {@link java.nio.file.FileSystem}, e.g. a directory in a ZIP file,
+ * so that the documents can be converted from another location than the resources they refer to.
+ */
+public class DirectoryResourceResolver implements ResourceResolver {
+
+    private final Path root;
+
+    /**
+     * @param root the directory that the paths of the resources are resolved against.
+     */
+    public DirectoryResourceResolver(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    @Override
+    public byte[] read(String path) throws IOException {
+        Path resource = root.resolve(path.replace('\\', '/')).normalize();
+        // Paths must not escape the root directory, e.g. via ..
+        if (!resource.startsWith(root) || !Files.isRegularFile(resource)) {
+            return null;
+        }
+        return Files.readAllBytes(resource);
+    }
+}
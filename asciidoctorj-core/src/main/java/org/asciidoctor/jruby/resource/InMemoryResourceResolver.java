@@ -0,0 +1,53 @@
+package org.asciidoctor.jruby.resource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link ResourceResolver} that serves resources that were added to it in memory.
+ */
+public class InMemoryResourceResolver implements ResourceResolver {
+
+    private final Map<String, byte[]> resources = new ConcurrentHashMap<>();
+
+    /**
+     * @param path the path of the resource relative to the base directory of the conversion.
+     * @param content the content of the resource.
+     * @return this instance.
+     */
+    public InMemoryResourceResolver put(String path, byte[] content) {
+        resources.put(normalize(path), content);
+        return this;
+    }
+
+    /**
+     * Adds a text resource that is encoded as UTF-8.
+     *
+     * @see #put(String, byte[])
+     */
+    public InMemoryResourceResolver put(String path, String content) {
+        return put(path, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public InMemoryResourceResolver remove(String path) {
+        resources.remove(normalize(path));
+        return this;
+    }
+
+    @Override
+    public byte[] read(String path) {
+        return resources.get(normalize(path));
+    }
+
+    private static String normalize(String path) {
+        String normalized = path.replace('\\', '/');
+        while (normalized.startsWith("./")) {
+            normalized = normalized.substring(2);
+        }
+        while (normalized.startsWith("/")) {
+            normalized = normalized.substring(1);
+        }
+        return normalized;
+    }
+}
@@ -0,0 +1,37 @@
+package org.asciidoctor.jruby.resource;
+
+import java.io.IOException;
+
+/**
+ * Resolves the resources that a document refers to without reading them from the local file system,
+ * e.g. from an archive or an in-memory store.
+ * A resolver is consulted for included files, images that are embedded as data URIs, docinfo files
+ * and stylesheets that are embedded into the output.
+ * <p>
+ * Asciidoctor resolves the targets against the base directory of the conversion as usual, the directory does
+ * not have to exist. The resolver receives the resulting path relative to the base directory with forward slashes,
+ * e.g. {@code chapters/intro.adoc}. Resources outside of the base directory and resources that the resolver
+ * does not have are read from the file system as usual:
+ *
+ * <pre>
+ * asciidoctor.setResourceResolver(new ArchiveResourceResolver(Paths.get("docs.jar"), "docs"));
+ * asciidoctor.convert(content, OptionsBuilder.options().baseDir(new File("/docs")).safe(SafeMode.SAFE));
+ * </pre>
+ *
+ * A resolver is set via {@link org.asciidoctor.jruby.AsciidoctorJRuby#setResourceResolver(ResourceResolver)}.
+ * Implementations must be thread safe.
+ *
+ * @see InMemoryResourceResolver
+ * @see DirectoryResourceResolver
+ * @see ArchiveResourceResolver
+ */
+public interface ResourceResolver {
+
+    /**
+     * @param path the path of the resource relative to the base directory, with forward slashes.
+     * @return The content of the resource, or {@code null} if this resolver does not have it.
+     * @throws IOException if the resource exists but cannot be read.
+     */
+    byte[] read(String path) throws IOException;
+
+}
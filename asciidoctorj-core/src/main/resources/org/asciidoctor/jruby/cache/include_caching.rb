@@ -0,0 +1,50 @@
+module AsciidoctorJ
+    # Reads included files through the Java IncludeContentCache that is set via
+    # AsciidoctorJRuby.setIncludeContentCache, so that files included by many documents are read only once.
+    # Only includes of local files without attributes are read from the cache. All other includes,
+    # e.g. of URIs, with lines or tags, or if include processors are registered, are processed by Asciidoctor.
+    module IncludeCaching
+        class << self
+            attr_accessor :cache
+        end
+
+        def preprocess_include_directive target, attrlist
+            if (cache = IncludeCaching.cache) && (inc_path = IncludeCaching.cached_path self, target, attrlist)
+                begin
+                    content = cache.read inc_path
+                rescue java.io.IOException
+                    # Let Asciidoctor report that the file is not readable
+                    return super
+                end
+                shift
+                relpath = IncludeCaching.path_resolver.relative_path inc_path, @document.base_dir
+                push_include (::String.from_java_bytes content).force_encoding(::Encoding::UTF_8), inc_path, relpath, 1, {}
+                return true
+            end
+            super
+        end
+
+        def self.path_resolver
+            @path_resolver ||= ::Asciidoctor::PathResolver.new
+        end
+
+        # Returns the path of the included file if it can be read from the cache, otherwise nil.
+        # Everything that Asciidoctor would report or resolve differently is left to Asciidoctor.
+        def self.cached_path reader, target, attrlist
+            doc = reader.document
+            return unless attrlist.nil? || attrlist.empty?
+            return if doc.safe >= ::Asciidoctor::SafeMode::SECURE
+            return if (target.include? '{') || (target.include? '..') || (::Asciidoctor::Helpers.uriish? target) || (path_resolver.absolute_path? target)
+            return if (extensions = doc.extensions) && extensions.include_processors?
+            return unless (max_depth = reader.instance_variable_get :@maxdepth)
+            max_depth = max_depth[:curr] if ::Hash === max_depth
+            return unless ::Integer === max_depth && reader.include_depth < max_depth
+            path = ::File.join reader.dir, target
+            path if ::File.file? path
+        end
+    end
+end
+
+unless Asciidoctor::PreprocessorReader < AsciidoctorJ::IncludeCaching
+    Asciidoctor::PreprocessorReader.prepend AsciidoctorJ::IncludeCaching
+end
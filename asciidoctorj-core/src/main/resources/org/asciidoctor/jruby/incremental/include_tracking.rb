@@ -0,0 +1,46 @@
+module AsciidoctorJ
+    # Reports every include that is pushed onto the reader to the Java IncludeTracker
+    # that is passed in the option :asciidoctorj_include_tracker.
+    # This covers includes resolved by Asciidoctor as well as includes pushed by include processors.
+    # Local include targets that do not exist are reported as missing, so that creating them later is noticed.
+    module IncludeTracking
+        def preprocess_include_directive target, attrlist
+            if (tracker = AsciidoctorJ::IncludeTracking.tracker @document) &&
+                (path = AsciidoctorJ::IncludeTracking.local_path self, target) && !(::File.file? path)
+                tracker.include_missing path
+            end
+            super
+        end
+
+        def push_include data, file = nil, path = nil, lineno = 1, attributes = {}
+            if file && (tracker = AsciidoctorJ::IncludeTracking.tracker @document)
+                tracker.include_resolved file.to_s
+            end
+            super
+        end
+
+        # Returns the path that Asciidoctor resolves a local include target to,
+        # or nil for URIs, targets handled by include processors and in secure mode.
+        def self.local_path reader, target
+            doc = reader.document
+            return if doc.safe >= ::Asciidoctor::SafeMode::SECURE
+            # Skipping missing attributes does not log, Asciidoctor reports them itself
+            target = doc.sub_attributes target, attribute_missing: 'skip' if target.include? '{'
+            return if target.empty? || (target.include? '{') || (::Asciidoctor::Helpers.uriish? target)
+            return if (extensions = doc.extensions) && extensions.include_processors? &&
+                (extensions.include_processors.any? {|candidate| candidate.instance.handles? target })
+            (@path_resolver ||= ::Asciidoctor::PathResolver.new).system_path target, reader.dir
+        end
+
+        # Nested documents, e.g. in AsciiDoc table cells, do not inherit the options of their parent
+        def self.tracker doc
+            tracker = doc.options[:asciidoctorj_include_tracker]
+            tracker = (doc = doc.parent_document).options[:asciidoctorj_include_tracker] while !tracker && doc.nested?
+            tracker
+        end
+    end
+end
+
+unless Asciidoctor::PreprocessorReader < AsciidoctorJ::IncludeTracking
+    Asciidoctor::PreprocessorReader.prepend AsciidoctorJ::IncludeTracking
+end
@@ -10,70 +10,228 @@ end
 
 require 'java'
 require 'asciidoctor'
-require 'asciidoctor/extensions'
 
 module AsciidoctorModule
 
+    # Asciidoctor::Extensions is only loaded when extensions are actually used to speed up startup
+    def self.extensions
+        require 'asciidoctor/extensions' unless defined? ::Asciidoctor::Extensions::Registry
+        Asciidoctor::Extensions
+    end
+
     def self.unregister_all_extensions()
-        Asciidoctor::Extensions.unregister_all
+        extensions.unregister_all
     end
 
     def self.unregister_extension name
-        Asciidoctor::Extensions.unregister name
+        extensions.unregister name
     end
 
     def self.docinfo_processor(extensionName)
-        Asciidoctor::Extensions.register do
+        register_described 'docinfo_processor', [extensionName] do
             docinfo_processor extensionName
         end
     end
 
     def self.treeprocessor(extensionName)
-        Asciidoctor::Extensions.register do
+        register_described 'treeprocessor', [extensionName] do
             treeprocessor extensionName
         end
     end
     
     def self.include_processor(extensionName)
-        Asciidoctor::Extensions.register do
+        register_described 'include_processor', [extensionName] do
             include_processor extensionName
         end
     end
 
     def self.preprocessor(extensionName)
-        Asciidoctor::Extensions.register do
+        register_described 'preprocessor', [extensionName] do
             preprocessor extensionName
         end
     end
     
     def self.postprocessor(extensionName)
-        Asciidoctor::Extensions.register do
+        register_described 'postprocessor', [extensionName] do
             postprocessor extensionName
         end
     end
 
     def self.block_processor *args
-        Asciidoctor::Extensions.register do
+        register_described 'block', args do
             block *args
         end
     end
 
     def self.block_macro *args
-        Asciidoctor::Extensions.register do
+        register_described 'block_macro', args do
             block_macro *args
         end
     end
 
     def self.inline_macro *args
-        Asciidoctor::Extensions.register do
+        register_described 'inline_macro', args do
             inline_macro *args
         end
     end
 
+    # Registers an anonymous extension group and remembers a description of it for registration_fingerprint
+    def self.register_described kind, args, &block
+        group = extensions.register(&block)
+        describe_group group, %(#{kind} #{args.map {|arg| describe_extension arg }.join ' '}),
+            (args.any? {|arg| instance_registered? arg })
+        group
+    end
+
+    def self.describe_group group, description, instance_registered
+        (@extension_descriptions ||= {}.compare_by_identity)[group] = description
+        (@instance_registered_groups ||= {}.compare_by_identity)[group] = true if instance_registered
+    end
+
+    # Applies all options of a Java processor class that its annotations define, see ProcessorDescriptor.
+    # The Java class name identifies the processor in the registration_fingerprint.
+    # A processor that was registered as an instance may hold state that the class name does not describe.
+    def self.apply_processor_options processor_class, java_class_name, options, instance = false
+        processor_class.instance_variable_set :@java_processor_class, java_class_name
+        processor_class.instance_variable_set :@java_processor_instance, true if instance
+        options.each {|key, value| processor_class.option key, value }
+        nil
+    end
+
+    def self.describe_extension extension
+        (::Module === extension && (extension.instance_variable_get :@java_processor_class)) || extension.to_s
+    end
+
+    def self.instance_registered? extension
+        ::Module === extension && (extension.instance_variable_get :@java_processor_instance) == true
+    end
+
+    # Describes the registered extensions and converters.
+    # Cached conversion results are only reused as long as this fingerprint does not change.
+    # Returns nil if a processor instance is registered, as conversions cannot be cached then.
+    def self.registration_fingerprint
+        parts = [%(asciidoctor=#{::Asciidoctor::VERSION})]
+        if defined? ::Asciidoctor::Extensions::Registry
+            descriptions = @extension_descriptions || {}
+            instance_registered_groups = @instance_registered_groups || {}
+            return if ::Asciidoctor::Extensions.groups.each_value.any? {|group| instance_registered_groups[group] }
+            # Described groups are identified by their registrations only, in the order in which they were registered,
+            # as the names of Java extension groups are random
+            ::Asciidoctor::Extensions.groups.each do |name, group|
+                parts << ((description = descriptions[group]) ? %(extension #{description}) :
+                    %(extension #{name}=#{::Proc === group ? 'proc' : group}))
+            end
+        end
+        ::Asciidoctor::Converter.converters.each do |backend, converter|
+            # Built-in converters are registered lazily on first use and are covered by the version
+            parts << %(converter #{backend}=#{converter}) unless converter.to_s.start_with? 'Asciidoctor::Converter::'
+        end
+        parts.join "\n"
+    end
+
+    # Walks the tree below the node once and returns the properties of every node as nested arrays
+    # [id, context, style, roles, title, level, attributes, [file, dir, path, lineno], children]
+    # that Java turns into immutable snapshots without calling back into Ruby.
+    def self.snapshot node
+        location = (cursor = node.source_location) ? [cursor.file, cursor.dir, cursor.path, cursor.lineno] : nil
+        [node.id, node.context.to_s, node.style, node.roles, node.title, node.level, node.attributes, location, (child_nodes node).map {|child| snapshot child }]
+    end
+
+    # Walks the tree below the node and returns the accepted nodes and their depths as a flat array
+    # [node, depth, node, depth, ...], so that Java only creates wrappers for the accepted nodes.
+    def self.traverse node, post_order, contexts, max_depth, result = [], depth = 0
+        accepted = !contexts || (contexts.include? node.context)
+        result << node << depth if accepted && !post_order
+        if !max_depth || depth < max_depth
+            (child_nodes node).each {|child| traverse child, post_order, contexts, max_depth, result, depth + 1 }
+        end
+        result << node << depth if accepted && post_order
+        result
+    end
+
+    def self.child_nodes node
+        # The blocks of a description list are pairs of terms and an optional description
+        node.context == :dlist ? node.blocks.flatten.compact : node.blocks
+    end
+
+    # Index of all nodes that find_by visits in a document by context, style, role and id.
+    # The index is rebuilt lazily on the next lookup after it was invalidated.
+    class FindByIndex
+        SELECTOR_KEYS = [:context, :style, :role, :id]
+
+        def initialize document
+            @document = document
+            rebuild
+        end
+
+        def invalidate
+            @entries = nil
+        end
+
+        # Returns the same nodes as document.find_by selector in the same order,
+        # or nil if the selector contains other keys than context, style, role and id
+        def find_by selector
+            return unless selector.each_key.all? {|key| SELECTOR_KEYS.include? key }
+            rebuild unless @entries
+            candidates = @all
+            SELECTOR_KEYS.each do |key|
+                next unless (value = selector[key])
+                matches = @entries[key][value] || []
+                candidates = matches if matches.size < candidates.size
+            end
+            context, style, role, id = selector[:context], selector[:style], selector[:role], selector[:id]
+            result = candidates.select do |node|
+                (!context || context == node.context) && (!style || style == node.style) &&
+                    (!role || (node.has_role? role)) && (!id || id == node.id)
+            end
+            # find_by stops at the first node with the given id
+            id ? (result.take 1) : result
+        end
+
+        def rebuild
+            @all = []
+            @entries = { context: {}, style: {}, role: {}, id: {} }
+            # Collects the nodes in the same order as find_by without duplicating its traversal
+            @document.find_by do |node|
+                @all << node
+                (@entries[:context][node.context] ||= []) << node
+                (@entries[:style][node.style] ||= []) << node if node.style
+                (@entries[:id][node.id] ||= []) << node if node.id
+                node.roles.uniq.each {|role| (@entries[:role][role] ||= []) << node }
+                false
+            end
+        end
+    end
+
     def self.register_extension_group(groupName, callback, registrators)
-        Asciidoctor::Extensions.register groupName do
+        recorder = RegistrationRecorder.new
+        callback.register_extensions recorder, registrators
+        group = extensions.register groupName do
             callback.register_extensions self, registrators
         end
+        describe_group group, %(group #{recorder.calls.join ', '}), recorder.instance_registered
+        group
+    end
+
+    # Records the calls that the registrators of a Java extension group make on the registry,
+    # so that the group can be described for registration_fingerprint without its name.
+    class RegistrationRecorder
+        attr_reader :calls, :instance_registered
+
+        def initialize
+            @calls = []
+            @instance_registered = false
+        end
+
+        def method_missing name, *args
+            @calls << %(#{name} #{args.map {|arg| AsciidoctorModule.describe_extension arg }.join ' '})
+            @instance_registered ||= args.any? {|arg| AsciidoctorModule.instance_registered? arg }
+            nil
+        end
+
+        def respond_to_missing? name, include_private = false
+            true
+        end
     end
 
 end
@@ -0,0 +1,93 @@
+module AsciidoctorJ
+    # Reads the resources that a document refers to through the Java ResourceResolver that is set via
+    # AsciidoctorJRuby.setResourceResolver: included files, images that are embedded as data URIs,
+    # docinfo files and embedded stylesheets.
+    # Asciidoctor resolves the paths as usual, the resolver receives them relative to the base directory.
+    # Resources that the resolver does not have, and includes with lines or tags, are read by Asciidoctor.
+    module ResourceResolving
+        class << self
+            attr_accessor :resolver
+        end
+
+        # Returns the content of the resource at the resolved path, or nil if the resolver does not have it.
+        def self.read doc, path, binary = false
+            return unless (resolver = ResourceResolving.resolver) && path
+            base_dir = doc.base_dir.chomp '/'
+            return unless path.start_with? %(#{base_dir}/)
+            return unless (content = resolver.read (path.slice base_dir.length + 1, path.length))
+            content = ::String.from_java_bytes content
+            binary ? content : (content.force_encoding ::Encoding::UTF_8)
+        rescue java.io.IOException => e
+            ::Asciidoctor::LoggerManager.logger.warn %(resource resolver cannot read #{path}: #{e.message})
+            nil
+        end
+
+        # Returns the resolved path of the included file if it can be read from the resolver, otherwise nil.
+        # Everything that Asciidoctor would report or resolve differently is left to Asciidoctor.
+        def self.include_path reader, target, parsed_attrs
+            doc = reader.document
+            return if doc.safe >= ::Asciidoctor::SafeMode::SECURE
+            return if (parsed_attrs.key? 'lines') || (parsed_attrs.key? 'tag') || (parsed_attrs.key? 'tags')
+            return if (target.include? '{') || (::Asciidoctor::Helpers.uriish? target)
+            return if (extensions = doc.extensions) && extensions.include_processors? &&
+                (extensions.include_processors.any? {|candidate| candidate.instance.handles? target })
+            return unless (max_depth = reader.instance_variable_get :@maxdepth)
+            max_depth = max_depth[:curr] if ::Hash === max_depth
+            return unless ::Integer === max_depth && reader.include_depth < max_depth
+            doc.normalize_system_path target, reader.dir, nil, target_name: 'include file'
+        end
+
+        module Reader
+            def preprocess_include_directive target, attrlist
+                if ResourceResolving.resolver
+                    parsed_attrs = (attrlist.nil? || attrlist.empty?) ? {} : (@document.parse_attributes attrlist, [], sub_input: true)
+                    if (inc_path = ResourceResolving.include_path self, target, parsed_attrs) &&
+                        (content = ResourceResolving.read @document, inc_path)
+                        shift
+                        relpath = inc_path.slice (@document.base_dir.chomp '/').length + 1, inc_path.length
+                        push_include content, inc_path, relpath, 1, parsed_attrs
+                        return true
+                    end
+                end
+                super
+            end
+        end
+
+        module Node
+            def generate_data_uri target_image, asset_dir_key = nil
+                if ResourceResolving.resolver
+                    image_path = asset_dir_key ?
+                        (normalize_system_path target_image, (document.attr asset_dir_key), nil, target_name: 'image') :
+                        (normalize_system_path target_image)
+                    if (content = ResourceResolving.read document, image_path, true)
+                        if (ext = ::File.extname target_image).empty?
+                            mimetype = 'application/octet-stream'
+                        else
+                            mimetype = ext == '.svg' ? 'image/svg+xml' : %(image/#{ext.slice 1, ext.length})
+                        end
+                        require 'base64' unless defined? ::Base64
+                        return %(data:#{mimetype};base64,#{::Base64.strict_encode64 content})
+                    end
+                end
+                super
+            end
+
+            # Reads docinfo files, embedded stylesheets and inline SVG images
+            def read_asset path, opts = {}
+                if ResourceResolving.resolver && (content = ResourceResolving.read document, path)
+                    opts = {} unless ::Hash === opts
+                    return opts[:normalize] ? ((::Asciidoctor::Helpers.prepare_source_string content).join ::Asciidoctor::LF) : content
+                end
+                super
+            end
+        end
+    end
+end
+
+unless Asciidoctor::PreprocessorReader < AsciidoctorJ::ResourceResolving::Reader
+    Asciidoctor::PreprocessorReader.prepend AsciidoctorJ::ResourceResolving::Reader
+end
+
+unless Asciidoctor::AbstractNode < AsciidoctorJ::ResourceResolving::Node
+    Asciidoctor::AbstractNode.prepend AsciidoctorJ::ResourceResolving::Node
+end
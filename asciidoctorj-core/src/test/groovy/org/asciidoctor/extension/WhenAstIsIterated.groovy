@@ -3,6 +3,7 @@ package org.asciidoctor.extension
 import org.asciidoctor.Asciidoctor
 import org.asciidoctor.ast.StructuralNode
 import org.asciidoctor.ast.Document
+import org.asciidoctor.jruby.ast.impl.ContentNodeImpl
 import spock.lang.Specification
 
 class WhenAstIsIterated extends Specification {
@@ -49,4 +50,15 @@ A list with items
         }
     }
 
+    def "the Java node should not be visible to Ruby code"() {
+        when:
+        Document document = asciidoctor.load(DOCUMENT, [:])
+        List<StructuralNode> allBlocks = document.findBy([:])
+
+        then: 'The Java node is stored in an internal variable, not in an instance variable'
+        allBlocks.every { block ->
+            ((ContentNodeImpl) block).rubyObject.instanceVariables.instanceVariableList.every { !it.name.contains('asciidoctorj') }
+        }
+    }
+
 }
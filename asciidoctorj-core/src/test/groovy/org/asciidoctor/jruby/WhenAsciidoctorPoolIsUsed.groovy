@@ -0,0 +1,262 @@
+package org.asciidoctor.jruby
+
+import org.asciidoctor.OptionsBuilder
+import org.asciidoctor.ast.Document
+import org.asciidoctor.ast.StructuralNode
+import org.asciidoctor.extension.BlockMacroProcessor
+import org.asciidoctor.extension.Treeprocessor
+import org.asciidoctor.jruby.internal.AsciidoctorCoreException
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.TimeUnit
+
+class WhenAsciidoctorPoolIsUsed extends Specification {
+
+    private static final String TEST_STRING = 'Hello World'
+
+    private static final String DOCUMENT = '''= Test document
+
+testmacro::Test[]
+'''
+
+    @Rule
+    TemporaryFolder tmp = new TemporaryFolder()
+
+    AsciidoctorPool pool
+
+    def cleanup() {
+        pool?.shutdown()
+    }
+
+    def "should pre-warm the minimum number of instances"() {
+
+        when:
+        pool = AsciidoctorPool.builder().minSize(2).maxSize(3).build()
+
+        then:
+        pool.size == 2
+        pool.idleCount == 2
+    }
+
+    def "should replay extension registrations on every instance"() {
+
+        given:
+        pool = AsciidoctorPool.builder()
+                .minSize(2)
+                .maxSize(2)
+                .classLoader(getClass().classLoader)
+                .extensions { registry -> registry.blockMacro('testmacro', TestBlockMacroProcessor) }
+                .build()
+
+        when:
+        AsciidoctorPool.Lease lease1 = pool.borrow()
+        AsciidoctorPool.Lease lease2 = pool.borrow()
+
+        then:
+        lease1.asciidoctor != lease2.asciidoctor
+        lease1.asciidoctor.convert(DOCUMENT, OptionsBuilder.options().headerFooter(false)).contains(TEST_STRING)
+        lease2.asciidoctor.convert(DOCUMENT, OptionsBuilder.options().headerFooter(false)).contains(TEST_STRING)
+
+        cleanup:
+        lease1?.close()
+        lease2?.close()
+    }
+
+    def "should convert concurrently on separate runtimes"() {
+
+        given:
+        pool = AsciidoctorPool.builder().minSize(2).maxSize(2).build()
+        ExecutorService executor = Executors.newFixedThreadPool(4)
+
+        when:
+        List<Future<String>> results = (1..8).collect { i ->
+            executor.submit({
+                AsciidoctorPool.Lease lease = pool.borrow()
+                try {
+                    lease.asciidoctor.convert("Document ${i}", OptionsBuilder.options().headerFooter(false))
+                } finally {
+                    lease.close()
+                }
+            } as Callable<String>)
+        }
+
+        then:
+        results.eachWithIndex { Future<String> result, int i -> assert result.get().contains("Document ${i + 1}") }
+        pool.size == 2
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def "should fail when no instance becomes available within the timeout"() {
+
+        given:
+        pool = AsciidoctorPool.builder().minSize(1).maxSize(1).build()
+        AsciidoctorPool.Lease lease = pool.borrow()
+
+        when:
+        pool.borrow(10, TimeUnit.MILLISECONDS)
+
+        then:
+        thrown(IllegalStateException)
+
+        cleanup:
+        lease.close()
+    }
+
+    def "should replace invalidated instances on the next borrow"() {
+
+        given:
+        pool = AsciidoctorPool.builder().minSize(1).maxSize(1).build()
+        AsciidoctorPool.Lease lease = pool.borrow()
+        def invalidInstance = lease.asciidoctor
+
+        when:
+        lease.invalidate()
+        lease.close()
+        lease.close()
+
+        then:
+        pool.size == 0
+        pool.idleCount == 0
+
+        when:
+        AsciidoctorPool.Lease newLease = pool.borrow()
+
+        then:
+        newLease.asciidoctor != invalidInstance
+
+        cleanup:
+        newLease?.close()
+    }
+
+    def "should hand out a new instance to a waiting borrower when an instance is invalidated"() {
+
+        given:
+        pool = AsciidoctorPool.builder().minSize(0).maxSize(1).build()
+        AsciidoctorPool.Lease lease = pool.borrow()
+        def invalidInstance = lease.asciidoctor
+        ExecutorService executor = Executors.newSingleThreadExecutor()
+        Future<AsciidoctorPool.Lease> waitingBorrow = executor.submit({ pool.borrow(30, TimeUnit.SECONDS) } as Callable<AsciidoctorPool.Lease>)
+
+        when:
+        Thread.sleep(100)
+        lease.invalidate()
+        lease.close()
+        AsciidoctorPool.Lease newLease = waitingBorrow.get(30, TimeUnit.SECONDS)
+
+        then:
+        newLease.asciidoctor != invalidInstance
+        pool.size == 1
+
+        cleanup:
+        newLease?.close()
+        executor.shutdownNow()
+    }
+
+    def "should not keep an instance whose initializer failed"() {
+
+        given:
+        pool = AsciidoctorPool.builder()
+                .minSize(0)
+                .maxSize(1)
+                .initializer { asciidoctor -> throw new IllegalArgumentException('Broken initializer') }
+                .build()
+
+        when:
+        pool.borrow()
+
+        then:
+        thrown(IllegalArgumentException)
+        pool.size == 0
+    }
+
+    def "should shut down instances returned after the pool was shut down"() {
+
+        given:
+        pool = AsciidoctorPool.builder().minSize(1).maxSize(1).build()
+        AsciidoctorPool.Lease lease = pool.borrow()
+
+        when:
+        pool.shutdown()
+        lease.close()
+
+        then:
+        pool.size == 0
+        pool.idleCount == 0
+    }
+
+    def "should convert files in parallel preserving order and reporting failures per file"() {
+
+        given:
+        pool = AsciidoctorPool.builder().minSize(2).maxSize(2).build()
+        List<File> files = (1..6).collect { i ->
+            File file = tmp.newFile("document${i}.adoc")
+            file.text = "= Document ${i}"
+            file
+        }
+        File missingFile = new File(tmp.root, 'missing.adoc')
+        files.add(3, missingFile)
+
+        when:
+        List<ConversionResult> results = pool.convertFiles(files, OptionsBuilder.options().toFile(false).asMap(), 4)
+
+        then:
+        results*.file == files
+        results.findAll { !it.successful }*.file == [missingFile]
+        results[3].failure instanceof AsciidoctorCoreException
+        results.findAll { it.successful }.every { it.output.contains(it.file.name.replace('document', 'Document ').replace('.adoc', '')) }
+    }
+
+    def "should convert all files on an executor with more threads than instances"() {
+
+        given:
+        pool = AsciidoctorPool.builder()
+                .minSize(1)
+                .maxSize(1)
+                .borrowTimeout(50, TimeUnit.MILLISECONDS)
+                .extensions { registry -> registry.treeprocessor(SlowTreeprocessor) }
+                .build()
+        List<File> files = (1..4).collect { i ->
+            File file = tmp.newFile("slow${i}.adoc")
+            file.text = "= Document ${i}"
+            file
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4)
+
+        when:
+        List<ConversionResult> results = pool.convertFiles(files, OptionsBuilder.options().toFile(false).asMap(), executor)
+
+        then:
+        results*.file == files
+        results.every { it.successful }
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    static class SlowTreeprocessor extends Treeprocessor {
+        @Override
+        Document process(Document document) {
+            Thread.sleep(200)
+            document
+        }
+    }
+
+    static class TestBlockMacroProcessor extends BlockMacroProcessor {
+        TestBlockMacroProcessor(String macroName) {
+            super(macroName)
+        }
+
+        @Override
+        Object process(StructuralNode parent, String target, Map<String, Object> attributes) {
+            createBlock(parent, 'paragraph', TEST_STRING)
+        }
+    }
+}
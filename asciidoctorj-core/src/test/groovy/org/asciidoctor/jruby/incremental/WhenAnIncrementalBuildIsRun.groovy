@@ -0,0 +1,144 @@
+package org.asciidoctor.jruby.incremental
+
+import org.asciidoctor.Asciidoctor
+import org.asciidoctor.OptionsBuilder
+import org.asciidoctor.SafeMode
+import org.asciidoctor.jruby.internal.JRubyAsciidoctor
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+
+class WhenAnIncrementalBuildIsRun extends Specification {
+
+    @Rule
+    TemporaryFolder tmp = new TemporaryFolder()
+
+    Asciidoctor asciidoctor
+
+    File main
+    File other
+    File chapter
+    File stateFile
+
+    def setup() {
+        asciidoctor = JRubyAsciidoctor.create()
+        main = tmp.newFile('main.adoc')
+        main.text = '''= Main
+
+include::chapter.adoc[]
+'''
+        other = tmp.newFile('other.adoc')
+        other.text = '''= Other
+
+No includes here.
+'''
+        chapter = tmp.newFile('chapter.adoc')
+        chapter.text = 'First version of the chapter'
+        stateFile = new File(tmp.root, 'build/asciidoctor.state')
+    }
+
+    def cleanup() {
+        asciidoctor?.shutdown()
+    }
+
+    def "should convert all documents in the first build"() {
+
+        when:
+        IncrementalBuildResult result = newBuild().convertFiles([main, other], options())
+
+        then:
+        result.converted*.file == [main, other]
+        result.converted.every { it.successful }
+        result.upToDate.empty
+        stateFile.isFile()
+    }
+
+    def "should skip unchanged documents in the next build"() {
+
+        given:
+        newBuild().convertFiles([main, other], options())
+
+        when:
+        IncrementalBuildResult result = newBuild().convertFiles([main, other], options())
+
+        then:
+        result.converted.empty
+        result.upToDate == [main, other]
+    }
+
+    def "should convert a document again if an included file changed"() {
+
+        given:
+        newBuild().convertFiles([main, other], options())
+        chapter.text = 'Second version of the chapter'
+
+        when:
+        IncrementalBuildResult result = newBuild().convertFiles([main, other], options())
+
+        then:
+        result.converted*.file == [main]
+        result.converted[0].output.contains('Second version of the chapter')
+        result.upToDate == [other]
+    }
+
+    def "should convert a document again if it changed"() {
+
+        given:
+        newBuild().convertFiles([main, other], options())
+        other.text = '''= Other
+
+Still no includes here.
+'''
+
+        when:
+        IncrementalBuildResult result = newBuild().convertFiles([main, other], options())
+
+        then:
+        result.converted*.file == [other]
+        result.upToDate == [main]
+    }
+
+    def "should convert all documents again if the attributes changed"() {
+
+        given:
+        newBuild().convertFiles([main, other], options())
+
+        when:
+        IncrementalBuildResult result = newBuild().convertFiles([main, other],
+                OptionsBuilder.options().toFile(false).safe(SafeMode.SAFE).attributes([foo: 'bar']).asMap())
+
+        then:
+        result.converted*.file == [main, other]
+        result.upToDate.empty
+    }
+
+    def "should convert a document again once a missing include is created"() {
+
+        given:
+        File appendix = new File(tmp.root, 'appendix.adoc')
+        other.text = '''= Other
+
+include::appendix.adoc[]
+'''
+        newBuild().convertFiles([main, other], options())
+
+        when:
+        IncrementalBuildResult unchangedResult = newBuild().convertFiles([main, other], options())
+        appendix.text = 'The appendix exists now'
+        IncrementalBuildResult result = newBuild().convertFiles([main, other], options())
+
+        then:
+        unchangedResult.upToDate == [main, other]
+        result.converted*.file == [other]
+        result.converted[0].output.contains('The appendix exists now')
+        result.upToDate == [main]
+    }
+
+    private IncrementalBuild newBuild() {
+        new IncrementalBuild(asciidoctor, stateFile)
+    }
+
+    private static Map<String, Object> options() {
+        OptionsBuilder.options().toFile(false).safe(SafeMode.SAFE).asMap()
+    }
+}
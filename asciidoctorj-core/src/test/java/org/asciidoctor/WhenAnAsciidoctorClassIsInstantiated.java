@@ -2,7 +2,9 @@ package org.asciidoctor;
 
 import static org.asciidoctor.AttributesBuilder.attributes;
 import static org.asciidoctor.OptionsBuilder.options;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.collection.IsArrayWithSize.arrayWithSize;
 import static org.junit.Assert.assertThat;
@@ -16,6 +18,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.text.Format;
 import java.text.SimpleDateFormat;
@@ -67,6 +70,21 @@ public class WhenAnAsciidoctorClassIsInstantiated {
 
     }
 
+    @Test
+    public void large_multibyte_content_should_be_streamed_from_reader_to_writer() throws IOException {
+
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            content.append("Paragraph ").append(i).append(" äöü € \uD83D\uDE00\n\n");
+        }
+        StringWriter rendererWriter = new StringWriter();
+        asciidoctor.convert(new StringReader(content.toString()), rendererWriter, options().asMap());
+
+        String renderedContent = rendererWriter.toString();
+        assertThat(renderedContent.trim(), is(asciidoctor.convert(content.toString(), options().asMap()).trim()));
+        assertThat(renderedContent, not(containsString("<html")));
+    }
+
     @Test
     public void file_document_should_be_rendered_into_default_backend() throws IOException, SAXException,
             ParserConfigurationException {
@@ -2,8 +2,10 @@ package org.asciidoctor;
 
 import org.asciidoctor.arquillian.api.Unshared;
 import org.asciidoctor.ast.Document;
+import org.asciidoctor.ast.NodeSnapshot;
 import org.asciidoctor.ast.Section;
 import org.asciidoctor.ast.StructuralNode;
+import org.asciidoctor.ast.Traversal;
 import org.asciidoctor.jruby.internal.IOUtils;
 import org.asciidoctor.util.ClasspathResources;
 import org.jboss.arquillian.junit.Arquillian;
@@ -14,9 +16,11 @@ import org.junit.runner.RunWith;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.Matchers.either;
 import static org.hamcrest.Matchers.greaterThan;
@@ -368,4 +372,113 @@ public class WhenAsciiDocIsRenderedToDocument {
         assertThat(document.getBlocks().get(0).getCaption(), is("Table A. "));
     }
 
+    @Test
+    public void should_create_snapshot_of_document() {
+        Document document = asciidoctor.load(DOCUMENT, new HashMap<String, Object>());
+
+        NodeSnapshot snapshot = document.snapshot();
+
+        assertThat(snapshot.getContext(), is("document"));
+        assertThat(snapshot.getTitle(), is("Document Title"));
+        assertThat(snapshot.getAttributes(), hasKey("doctitle"));
+        assertThat(snapshot.stream().map(NodeSnapshot::getContext).collect(Collectors.toList()),
+                contains("document", "preamble", "paragraph", "section", "paragraph", "open", "dlist",
+                        "list_item", "list_item", "image", "image", "section", "paragraph"));
+
+        NodeSnapshot sectionA = snapshot.getChildren().get(1);
+        assertThat(sectionA.getTitle(), is("Section A"));
+        assertThat(sectionA.getLevel(), is(1));
+        assertNull(sectionA.getSourceLocation());
+
+        NodeSnapshot tiger = snapshot.stream().filter(node -> "tiger".equals(node.getId())).findFirst().get();
+        assertThat(tiger.getContext(), is("image"));
+        assertThat(tiger.getRoles(), contains("animal"));
+        assertThat(tiger.getAttributes().get("alt"), is((Object) "Tiger"));
+    }
+
+    @Test
+    public void should_create_snapshot_with_source_locations() {
+        File file = classpath.getResource("sourcelocation.adoc");
+        Document document = asciidoctor.loadFile(file, OptionsBuilder.options().option("sourcemap", "true").docType("book").asMap());
+
+        List<Integer> lineNumbers = document.snapshot().stream()
+                .filter(node -> "paragraph".equals(node.getContext()))
+                .map(node -> node.getSourceLocation().getLineNumber())
+                .collect(Collectors.toList());
+
+        assertThat(lineNumbers, contains(3, 8));
+    }
+
+    @Test
+    public void should_traverse_nodes_in_pre_order() {
+        Document document = asciidoctor.load(DOCUMENT, new HashMap<String, Object>());
+
+        List<String> visited = new ArrayList<>();
+        document.traverse(Traversal.preOrder(), (node, depth) -> visited.add(node.getContext() + "@" + depth));
+
+        assertThat(visited, contains("document@0", "preamble@1", "paragraph@2", "section@1", "paragraph@2", "open@2",
+                "dlist@3", "list_item@4", "list_item@4", "image@5", "image@2", "section@1", "paragraph@2"));
+    }
+
+    @Test
+    public void should_traverse_nodes_in_post_order() {
+        Document document = asciidoctor.load(DOCUMENT, new HashMap<String, Object>());
+
+        List<String> visited = new ArrayList<>();
+        document.getBlocks().get(2).traverse(Traversal.postOrder(), (node, depth) -> visited.add(node.getContext() + "@" + depth));
+
+        assertThat(visited, contains("paragraph@1", "section@0"));
+    }
+
+    @Test
+    public void should_only_visit_nodes_accepted_by_traversal() {
+        Document document = asciidoctor.load(DOCUMENT, new HashMap<String, Object>());
+
+        List<StructuralNode> images = new ArrayList<>();
+        document.traverse(Traversal.preOrder().contexts(":image"), (node, depth) -> images.add(node));
+        assertThat(images, hasSize(2));
+        assertThat(images.get(0).getId(), is("tiger"));
+
+        List<String> shallowNodes = new ArrayList<>();
+        document.traverse(Traversal.preOrder().contexts("image", "section").maxDepth(2), (node, depth) -> shallowNodes.add(node.getContext()));
+        assertThat(shallowNodes, contains("section", "image", "section"));
+    }
+
+    @Test
+    public void should_find_blocks_by_index() {
+        Document document = asciidoctor.load(DOCUMENT, new HashMap<String, Object>());
+        Map<Object, Object> imageSelector = new HashMap<Object, Object>();
+        imageSelector.put("context", ":image");
+        List<StructuralNode> expectedImages = document.findBy(imageSelector);
+
+        document.buildIndex();
+
+        assertThat(document.findBy(imageSelector), is(expectedImages));
+
+        Map<Object, Object> roleSelector = new HashMap<Object, Object>();
+        roleSelector.put("context", ":image");
+        roleSelector.put("role", "animal");
+        List<StructuralNode> animals = document.findBy(roleSelector);
+        assertThat(animals, hasSize(1));
+        assertThat(animals.get(0).getId(), is("tiger"));
+    }
+
+    @Test
+    public void should_update_index_when_document_is_modified() {
+        Document document = asciidoctor.load(DOCUMENT, new HashMap<String, Object>());
+        document.buildIndex();
+        Map<Object, Object> sectionSelector = new HashMap<Object, Object>();
+        sectionSelector.put("context", ":section");
+        assertThat(document.findBy(sectionSelector), hasSize(2));
+
+        document.getBlocks().remove(2);
+        assertThat(document.findBy(sectionSelector), hasSize(1));
+
+        StructuralNode cat = document.getBlocks().get(1).getBlocks().get(2);
+        cat.setId("cat");
+        Map<Object, Object> idSelector = new HashMap<Object, Object>();
+        idSelector.put("id", "cat");
+        assertThat(document.findBy(idSelector), contains(cat));
+    }
+
 }
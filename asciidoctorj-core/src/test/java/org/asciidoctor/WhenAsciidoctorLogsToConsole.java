@@ -6,7 +6,9 @@ import org.asciidoctor.ast.StructuralNode;
 import org.asciidoctor.extension.BlockProcessor;
 import org.asciidoctor.extension.Name;
 import org.asciidoctor.extension.Reader;
+import org.asciidoctor.jruby.ConversionResult;
 import org.asciidoctor.jruby.internal.JRubyAsciidoctor;
+import org.asciidoctor.jruby.log.AsyncLogHandler;
 import org.asciidoctor.log.LogHandler;
 import org.asciidoctor.log.LogRecord;
 import org.asciidoctor.log.Severity;
@@ -26,6 +28,10 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.LogManager;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -36,6 +42,7 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.core.IsNull.notNullValue;
 import static org.hamcrest.core.IsNull.nullValue;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
@@ -299,6 +306,161 @@ public class WhenAsciidoctorLogsToConsole {
         assertThat(renderContent, containsString("HELLO WORLD"));
     }
 
+    @Test
+    public void shouldNotNotifyLogHandlerThatIsNotInterestedInSeverity() throws Exception {
 
-}
+        final List<LogRecord> logRecords = new ArrayList<>();
+        asciidoctor.registerLogHandler(new LogHandler() {
+            @Override
+            public void log(LogRecord logRecord) {
+                logRecords.add(logRecord);
+            }
+
+            @Override
+            public boolean isLoggable(Severity severity) {
+                return severity == Severity.FATAL;
+            }
+        });
+
+        File inputFile = classpath.getResource("documentwithnotexistingfile.adoc");
+        asciidoctor.convertFile(inputFile, options().toFile(false).safe(SafeMode.SERVER).asMap());
+
+        assertThat(logRecords, hasSize(0));
+    }
+
+    @Test
+    public void shouldCaptureLogCallerOnlyIfEnabled() throws Exception {
+
+        final List<LogRecord> logRecords = new ArrayList<>();
+        asciidoctor.registerLogHandler(logRecords::add);
+        File inputFile = classpath.getResource("documentwithnotexistingfile.adoc");
 
+        asciidoctor.convertFile(inputFile, options().toFile(false).safe(SafeMode.SERVER).asMap());
+        assertThat(logRecords.get(0).getSourceFileName(), nullValue());
+
+        logRecords.clear();
+        ((JRubyAsciidoctor) asciidoctor).setCaptureLogCaller(true);
+        asciidoctor.convertFile(inputFile, options().toFile(false).safe(SafeMode.SERVER).asMap());
+        assertThat(logRecords.get(0).getSourceFileName(), notNullValue());
+        assertThat(logRecords.get(0).getSourceMethodName(), notNullValue());
+    }
+
+    @Test
+    public void shouldNotifyAsyncLogHandlerOnAnotherThread() throws Exception {
+
+        final List<LogRecord> logRecords = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        AsyncLogHandler logHandler = new AsyncLogHandler(logRecord -> {
+            logRecords.add(logRecord);
+            threads.add(Thread.currentThread());
+        });
+        asciidoctor.registerLogHandler(logHandler);
+
+        File inputFile = classpath.getResource("documentwithnotexistingfile.adoc");
+        asciidoctor.convertFile(inputFile, options().toFile(false).safe(SafeMode.SERVER).asMap());
+
+        assertThat(logHandler.flush(10, TimeUnit.SECONDS), is(true));
+        logHandler.close();
+
+        assertThat(logRecords, hasSize(4));
+        assertThat(logRecords.get(0).getMessage(), containsString("include file not found"));
+        assertThat(logRecords.get(0).getCursor().getLineNumber(), is(3));
+        assertThat(threads.get(0), not(Thread.currentThread()));
+        assertThat(logHandler.getDroppedRecords(), is(0L));
+    }
+
+    @Test
+    public void shouldKeepDispatchingAfterAsyncLogHandlerThrowsError() throws Exception {
+
+        final List<String> messages = new ArrayList<>();
+        AsyncLogHandler logHandler = new AsyncLogHandler(logRecord -> {
+            if (logRecord.getMessage().equals("first")) {
+                throw new LinkageError("Broken handler");
+            }
+            messages.add(logRecord.getMessage());
+        });
+
+        logHandler.log(new LogRecord(Severity.WARN, "first"));
+        logHandler.log(new LogRecord(Severity.WARN, "second"));
+
+        assertThat(logHandler.flush(10, TimeUnit.SECONDS), is(true));
+        logHandler.close();
+
+        assertThat(messages, Matchers.contains("second"));
+    }
+
+    @Test
+    public void shouldNotInterruptAsyncLogHandlerOnClose() {
+
+        final List<String> messages = new ArrayList<>();
+        AsyncLogHandler logHandler = new AsyncLogHandler(logRecord -> {
+            try {
+                Thread.sleep(100);
+                messages.add(logRecord.getMessage());
+            } catch (InterruptedException e) {
+                messages.add("interrupted");
+            }
+        });
+
+        logHandler.log(new LogRecord(Severity.WARN, "slow"));
+        logHandler.close();
+        logHandler.close();
+
+        assertThat(messages, Matchers.contains("slow"));
+    }
+
+    @Test
+    public void shouldPassRecordsLoggedAfterCloseDirectlyToTheHandler() {
+
+        final List<String> messages = new ArrayList<>();
+        AsyncLogHandler logHandler = new AsyncLogHandler(logRecord -> messages.add(logRecord.getMessage()));
+
+        logHandler.log(new LogRecord(Severity.WARN, "before close"));
+        logHandler.close();
+        logHandler.log(new LogRecord(Severity.WARN, "after close"));
+
+        assertThat(messages, Matchers.contains("before close", "after close"));
+    }
+
+    @Test
+    public void shouldCollectLogRecordsPerConversion() throws Exception {
+
+        final JRubyAsciidoctor jrubyAsciidoctor = (JRubyAsciidoctor) asciidoctor;
+        final List<LogRecord> allLogRecords = new ArrayList<>();
+        asciidoctor.registerLogHandler(logRecord -> {
+            synchronized (allLogRecords) {
+                allLogRecords.add(logRecord);
+            }
+        });
+        final File inputFile = classpath.getResource("documentwithnotexistingfile.adoc");
+        final Map<String, Object> options = options().toFile(false).safe(SafeMode.SERVER).asMap();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<ConversionResult>> failingConversions = new ArrayList<>();
+            List<Future<ConversionResult>> cleanConversions = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                failingConversions.add(executor.submit(() -> jrubyAsciidoctor.convertFileToResult(inputFile, options)));
+                cleanConversions.add(executor.submit(() -> jrubyAsciidoctor.convertToResult("= Document\n\nclean content", options)));
+            }
+
+            for (Future<ConversionResult> conversion : failingConversions) {
+                ConversionResult result = conversion.get();
+                assertThat(result.isSuccessful(), is(true));
+                assertThat(result.getFile(), is(inputFile));
+                assertThat(result.getLogRecords(), hasSize(4));
+                assertThat(result.getLogRecords().get(0).getMessage(), containsString("include file not found"));
+            }
+            for (Future<ConversionResult> conversion : cleanConversions) {
+                ConversionResult result = conversion.get();
+                assertThat(result.getOutput(), containsString("clean content"));
+                assertThat(result.getLogRecords(), hasSize(0));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(allLogRecords, hasSize(40));
+    }
+
+}
@@ -2,8 +2,15 @@ package org.asciidoctor;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.junit.Assert.assertThat;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -105,4 +112,33 @@ public class WhenDocumentHeaderIsRequired {
 		
 	}
 	
+	@Test
+	public void headers_of_multiple_files_should_be_read_in_order() throws IOException {
+
+		File documentHeaders = classpath.getResource("documentheaders.asciidoc");
+		File withoutBlankLine = testFolder.newFile("nobody.adoc");
+		Files.write(withoutBlankLine.toPath(), "// a comment\n:toc:\n\n= Only Header\n:description: no body".getBytes(StandardCharsets.UTF_8));
+		File rendersample = classpath.getResource("rendersample.asciidoc");
+
+		Map<File, DocumentHeader> headers = asciidoctor.readDocumentHeaders(Arrays.asList(withoutBlankLine, documentHeaders, rendersample));
+
+		assertThat(new ArrayList<>(headers.keySet()), contains(withoutBlankLine, documentHeaders, rendersample));
+
+		DocumentHeader header = headers.get(documentHeaders);
+		DocumentHeader expectedHeader = asciidoctor.readDocumentHeader(documentHeaders);
+		assertThat(header.getDocumentTitle().getMain(), is("Sample Document"));
+		assertThat(header.getAuthors(), hasSize(2));
+		assertThat(header.getRevisionInfo().getRemark(), is("First draft"));
+		assertThat(header.getAttributes().get("docname"), is(expectedHeader.getAttributes().get("docname")));
+		assertThat(header.getAttributes().get("docdate"), is(expectedHeader.getAttributes().get("docdate")));
+		assertThat(header.getAttributes().get("tags"), is((Object) "[document, example]"));
+
+		DocumentHeader headerWithoutBody = headers.get(withoutBlankLine);
+		assertThat(headerWithoutBody.getDocumentTitle().getMain(), is("Only Header"));
+		assertThat(headerWithoutBody.getAttributes().get("description"), is((Object) "no body"));
+		assertThat(headerWithoutBody.getAttributes().containsKey("toc"), is(true));
+
+		assertThat(headers.get(rendersample).getPageTitle(), is(asciidoctor.readDocumentHeader(rendersample).getPageTitle()));
+	}
+
 }
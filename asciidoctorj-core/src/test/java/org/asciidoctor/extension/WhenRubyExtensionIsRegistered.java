@@ -76,6 +76,21 @@ public class WhenRubyExtensionIsRegistered {
 
     }
 
+    @Test
+    public void ruby_extension_should_be_loaded_without_requiring_the_extensions_api() {
+
+        RubyExtensionRegistry rubyExtensionRegistry = asciidoctor.rubyExtensionRegistry();
+        rubyExtensionRegistry.loadClass(getClass().getResourceAsStream("/ruby-extensions/WhisperRubyBlockWithoutRequire.rb")).block("WhisperRubyBlockWithoutRequire");
+
+        String content = asciidoctor.convert(
+            "[whisper]\n" +
+                "The Time Is Now.",
+                options().toFile(false).get());
+
+        Document doc = Jsoup.parse(content, "UTF-8");
+        assertThat(doc.getElementsByClass("paragraph").get(0).text(), is("the time is now."));
+    }
+
     @Test
     public void ruby_block_macro_processor_should_be_registered_with_block_name() {
 
@@ -0,0 +1,58 @@
+package org.asciidoctor.jruby.cache;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class WhenACacheExceedsItsMaximumSize {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void memory_cache_should_evict_least_recently_used_entries() {
+        // Every entry takes 8 bytes
+        MemoryConversionCache cache = new MemoryConversionCache(16);
+
+        cache.put("a", "AAAA");
+        cache.put("b", "BBBB");
+        cache.get("a");
+        cache.put("c", "CCCC");
+
+        assertThat(cache.get("a"), is("AAAA"));
+        assertThat(cache.get("b"), is(nullValue()));
+        assertThat(cache.get("c"), is("CCCC"));
+        assertThat(cache.getStatistics().getEvictionCount(), is(1L));
+        assertThat(cache.getStatistics().getSize(), is(16L));
+    }
+
+    @Test
+    public void disk_cache_should_evict_least_recently_used_entries() throws Exception {
+        DiskConversionCache cache = new DiskConversionCache(tmp.getRoot(), 8);
+
+        cache.put("a", "AAAA");
+        cache.put("b", "BBBB");
+        cache.get("a");
+        cache.put("c", "CCCC");
+
+        assertThat(cache.get("a"), is("AAAA"));
+        assertThat(cache.get("b"), is(nullValue()));
+        assertThat(cache.get("c"), is("CCCC"));
+        assertThat(cache.getStatistics().getEvictionCount(), is(1L));
+        assertThat(tmp.getRoot().list().length, is(2));
+    }
+
+    @Test
+    public void entries_larger_than_the_cache_should_not_be_stored() {
+        MemoryConversionCache cache = new MemoryConversionCache(4);
+
+        cache.put("a", "AAAA");
+
+        assertThat(cache.get("a"), is(nullValue()));
+        assertThat(cache.getStatistics().getEntryCount(), is(0L));
+    }
+}
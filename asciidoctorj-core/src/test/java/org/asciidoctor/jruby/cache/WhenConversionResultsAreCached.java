@@ -0,0 +1,204 @@
+package org.asciidoctor.jruby.cache;
+
+import org.asciidoctor.ast.StructuralNode;
+import org.asciidoctor.extension.BlockMacroProcessor;
+import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.asciidoctor.jruby.internal.HashUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.asciidoctor.AttributesBuilder.attributes;
+import static org.asciidoctor.OptionsBuilder.options;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class WhenConversionResultsAreCached {
+
+    private static final String DOCUMENT = "testmacro::Test[]";
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private AsciidoctorJRuby asciidoctor;
+
+    @Before
+    public void setUp() {
+        asciidoctor = AsciidoctorJRuby.Factory.create();
+    }
+
+    @After
+    public void tearDown() {
+        asciidoctor.shutdown();
+    }
+
+    @Test
+    public void repeated_conversions_should_be_served_from_the_cache() {
+
+        MemoryConversionCache cache = new MemoryConversionCache(1024 * 1024);
+        asciidoctor.setConversionCache(cache);
+
+        String first = asciidoctor.convert(DOCUMENT, options().asMap());
+        String second = asciidoctor.convert(DOCUMENT, options().asMap());
+
+        assertThat(second, is(first));
+        assertThat(cache.getStatistics().getMissCount(), is(1L));
+        assertThat(cache.getStatistics().getHitCount(), is(1L));
+        assertThat(cache.getStatistics().getEntryCount(), is(1L));
+    }
+
+    @Test
+    public void different_attributes_should_not_share_an_entry() {
+
+        MemoryConversionCache cache = new MemoryConversionCache(1024 * 1024);
+        asciidoctor.setConversionCache(cache);
+
+        asciidoctor.convert(DOCUMENT, options().attributes(attributes().attribute("foo", "bar")).asMap());
+        asciidoctor.convert(DOCUMENT, options().attributes(attributes().attribute("foo", "baz")).asMap());
+
+        assertThat(cache.getStatistics().getMissCount(), is(2L));
+        assertThat(cache.getStatistics().getHitCount(), is(0L));
+    }
+
+    @Test
+    public void attributes_with_the_same_string_form_should_not_share_an_entry() {
+
+        MemoryConversionCache cache = new MemoryConversionCache(1024 * 1024);
+        asciidoctor.setConversionCache(cache);
+        Map<String, Object> oneAttribute = new HashMap<>();
+        oneAttribute.put("x", "1, y=2");
+        Map<String, Object> twoAttributes = new HashMap<>();
+        twoAttributes.put("x", "1");
+        twoAttributes.put("y", "2");
+
+        String first = asciidoctor.convert("{x} and {y}", options().attributes(oneAttribute).asMap());
+        String second = asciidoctor.convert("{x} and {y}", options().attributes(twoAttributes).asMap());
+
+        assertThat(first, containsString("1, y=2 and {y}"));
+        assertThat(second, containsString("1 and 2"));
+        assertThat(cache.getStatistics().getHitCount(), is(0L));
+    }
+
+    @Test
+    public void values_of_different_types_should_not_have_the_same_canonical_form() {
+
+        assertThat(HashUtils.canonicalize(Boolean.TRUE), not(HashUtils.canonicalize("true")));
+        assertThat(HashUtils.canonicalize(new File("doc.adoc")), not(HashUtils.canonicalize("doc.adoc")));
+    }
+
+    @Test
+    public void registering_an_extension_should_not_reuse_results() {
+
+        asciidoctor.setConversionCache(new MemoryConversionCache(1024 * 1024));
+
+        assertThat(asciidoctor.convert(DOCUMENT, options().asMap()), containsString("testmacro"));
+
+        asciidoctor.javaExtensionRegistry().blockMacro("testmacro", TestBlockMacroProcessor.class);
+
+        assertThat(asciidoctor.convert(DOCUMENT, options().asMap()), containsString("Hello World"));
+    }
+
+    @Test
+    public void conversions_to_files_should_not_be_cached() throws Exception {
+
+        MemoryConversionCache cache = new MemoryConversionCache(1024 * 1024);
+        asciidoctor.setConversionCache(cache);
+
+        String output = asciidoctor.convert(DOCUMENT, options().toFile(tmp.newFile("out.html")).asMap());
+
+        assertThat(output, is(nullValue()));
+        assertThat(cache.getStatistics().getEntryCount(), is(0L));
+        assertThat(cache.getStatistics().getMissCount(), is(0L));
+    }
+
+    @Test
+    public void disk_cache_should_serve_results_of_another_instance() throws Exception {
+
+        asciidoctor.setConversionCache(new DiskConversionCache(tmp.getRoot(), 1024 * 1024));
+        String first = asciidoctor.convert(DOCUMENT, options().asMap());
+
+        AsciidoctorJRuby otherAsciidoctor = AsciidoctorJRuby.Factory.create();
+        try {
+            DiskConversionCache cache = new DiskConversionCache(tmp.getRoot(), 1024 * 1024);
+            otherAsciidoctor.setConversionCache(cache);
+
+            assertThat(otherAsciidoctor.convert(DOCUMENT, options().asMap()), is(first));
+            assertThat(cache.getStatistics().getHitCount(), is(1L));
+        } finally {
+            otherAsciidoctor.shutdown();
+        }
+    }
+
+    @Test
+    public void identically_configured_instances_should_share_results() {
+
+        MemoryConversionCache cache = new MemoryConversionCache(1024 * 1024);
+        asciidoctor.setConversionCache(cache);
+        asciidoctor.createGroup().blockMacro("testmacro", TestBlockMacroProcessor.class).register();
+        String first = asciidoctor.convert(DOCUMENT, options().asMap());
+
+        AsciidoctorJRuby otherAsciidoctor = AsciidoctorJRuby.Factory.create();
+        try {
+            otherAsciidoctor.setConversionCache(cache);
+            otherAsciidoctor.createGroup().blockMacro("testmacro", TestBlockMacroProcessor.class).register();
+
+            assertThat(otherAsciidoctor.convert(DOCUMENT, options().asMap()), is(first));
+            assertThat(cache.getStatistics().getHitCount(), is(1L));
+        } finally {
+            otherAsciidoctor.shutdown();
+        }
+    }
+
+    @Test
+    public void processor_instances_should_disable_caching() {
+
+        MemoryConversionCache cache = new MemoryConversionCache(1024 * 1024);
+        asciidoctor.setConversionCache(cache);
+        asciidoctor.javaExtensionRegistry().blockMacro("testmacro", new GreetingBlockMacroProcessor("Hello"));
+        String first = asciidoctor.convert(DOCUMENT, options().asMap());
+
+        AsciidoctorJRuby otherAsciidoctor = AsciidoctorJRuby.Factory.create();
+        try {
+            otherAsciidoctor.setConversionCache(cache);
+            otherAsciidoctor.javaExtensionRegistry().blockMacro("testmacro", new GreetingBlockMacroProcessor("Goodbye"));
+
+            assertThat(first, containsString("Hello"));
+            assertThat(otherAsciidoctor.convert(DOCUMENT, options().asMap()), containsString("Goodbye"));
+            assertThat(cache.getStatistics().getEntryCount(), is(0L));
+            assertThat(cache.getStatistics().getHitCount(), is(0L));
+        } finally {
+            otherAsciidoctor.shutdown();
+        }
+    }
+
+    public static class GreetingBlockMacroProcessor extends BlockMacroProcessor {
+
+        private final String greeting;
+
+        public GreetingBlockMacroProcessor(String greeting) {
+            this.greeting = greeting;
+        }
+
+        @Override
+        public Object process(StructuralNode parent, String target, Map<String, Object> attributes) {
+            return createBlock(parent, "paragraph", greeting + " World");
+        }
+    }
+
+    public static class TestBlockMacroProcessor extends BlockMacroProcessor {
+
+        @Override
+        public Object process(StructuralNode parent, String target, Map<String, Object> attributes) {
+            return createBlock(parent, "paragraph", "Hello World");
+        }
+    }
+}
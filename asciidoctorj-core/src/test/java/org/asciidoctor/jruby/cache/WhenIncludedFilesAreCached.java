@@ -0,0 +1,143 @@
+package org.asciidoctor.jruby.cache;
+
+import org.asciidoctor.SafeMode;
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.extension.IncludeProcessor;
+import org.asciidoctor.extension.PreprocessorReader;
+import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import static org.asciidoctor.OptionsBuilder.options;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class WhenIncludedFilesAreCached {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private AsciidoctorJRuby asciidoctor;
+
+    @Before
+    public void setUp() {
+        asciidoctor = AsciidoctorJRuby.Factory.create();
+    }
+
+    @After
+    public void tearDown() {
+        asciidoctor.shutdown();
+    }
+
+    @Test
+    public void included_file_should_be_read_once_for_many_documents() throws IOException {
+
+        IncludeContentCache cache = new IncludeContentCache(1024 * 1024);
+        asciidoctor.setIncludeContentCache(cache);
+        write("_attributes.adoc", ":product: AsciidoctorJ\n");
+        File first = write("first.adoc", "include::_attributes.adoc[]\n\nFirst {product}");
+        File second = write("second.adoc", "include::_attributes.adoc[]\n\nSecond {product}");
+
+        assertThat(convert(first), containsString("First AsciidoctorJ"));
+        assertThat(convert(second), containsString("Second AsciidoctorJ"));
+
+        assertThat(cache.getStatistics().getMissCount(), is(1L));
+        assertThat(cache.getStatistics().getHitCount(), is(1L));
+    }
+
+    @Test
+    public void changed_file_should_be_read_again() throws IOException {
+
+        IncludeContentCache cache = new IncludeContentCache(1024 * 1024);
+        asciidoctor.setIncludeContentCache(cache);
+        File attributes = write("_attributes.adoc", ":product: AsciidoctorJ\n");
+        File document = write("document.adoc", "include::_attributes.adoc[]\n\nHello {product}");
+
+        assertThat(convert(document), containsString("Hello AsciidoctorJ"));
+
+        write("_attributes.adoc", ":product: Asciidoctor.js\n");
+        attributes.setLastModified(attributes.lastModified() + 2000);
+
+        assertThat(convert(document), containsString("Hello Asciidoctor.js"));
+        assertThat(cache.getStatistics().getMissCount(), is(2L));
+    }
+
+    @Test
+    public void include_with_attributes_should_be_read_by_asciidoctor() throws IOException {
+
+        IncludeContentCache cache = new IncludeContentCache(1024 * 1024);
+        asciidoctor.setIncludeContentCache(cache);
+        write("_snippet.adoc", "First line\nSecond line\n");
+        File document = write("document.adoc", "include::_snippet.adoc[lines=2]");
+
+        assertThat(convert(document), containsString("Second line"));
+        assertThat(cache.getStatistics().getMissCount(), is(0L));
+    }
+
+    @Test
+    public void include_processor_should_read_file_through_the_cache() throws IOException {
+
+        IncludeContentCache cache = new IncludeContentCache(1024 * 1024);
+        asciidoctor.setIncludeContentCache(cache);
+        write("_snippet.adoc", "Snippet content\n");
+        File document = write("document.adoc", "include::snippet:_snippet.adoc[]");
+        asciidoctor.javaExtensionRegistry().includeProcessor(FileIncludeProcessor.class);
+
+        assertThat(convert(document), containsString("Snippet content"));
+        assertThat(convert(document), containsString("Snippet content"));
+
+        assertThat(cache.getStatistics().getMissCount(), is(1L));
+        assertThat(cache.getStatistics().getHitCount(), is(1L));
+    }
+
+    @Test
+    public void least_recently_used_file_should_be_evicted() throws IOException {
+
+        IncludeContentCache cache = new IncludeContentCache(15);
+        File first = write("first.adoc", "0123456789");
+        File second = write("second.adoc", "0123456789");
+
+        byte[] content = cache.read(first.toPath());
+        assertThat(cache.read(first.toPath()), sameInstance(content));
+        cache.read(second.toPath());
+
+        assertThat(cache.getStatistics().getEvictionCount(), is(1L));
+        assertThat(cache.getStatistics().getEntryCount(), is(1L));
+        assertThat(cache.getStatistics().getSize(), is(10L));
+    }
+
+    private String convert(File document) {
+        return asciidoctor.convertFile(document, options().toFile(false).safe(SafeMode.SAFE).asMap());
+    }
+
+    private File write(String name, String content) throws IOException {
+        File file = new File(tmp.getRoot(), name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    public static class FileIncludeProcessor extends IncludeProcessor {
+
+        @Override
+        public boolean handles(String target) {
+            return target.startsWith("snippet:");
+        }
+
+        @Override
+        public void process(Document document, PreprocessorReader reader, String target, Map<String, Object> attributes) {
+            String path = target.substring("snippet:".length());
+            reader.push_include(new File(reader.getDir(), path), path, 1, attributes);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package org.asciidoctor.jruby.extension.internal;
+
+import org.asciidoctor.extension.Reader;
+import org.asciidoctor.jruby.internal.JRubyAsciidoctor;
+import org.asciidoctor.jruby.internal.RubyStringListDecorator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertThat;
+
+public class WhenReaderLinesAreAccessed {
+
+    private JRubyAsciidoctor asciidoctor;
+
+    private Reader reader;
+
+    @Before
+    public void setUp() {
+        asciidoctor = JRubyAsciidoctor.create();
+        reader = ReaderImpl.createReader(asciidoctor.getRubyRuntime(), Arrays.asList("first", "second", "third"));
+    }
+
+    @After
+    public void tearDown() {
+        asciidoctor.shutdown();
+    }
+
+    @Test
+    public void read_lines_should_be_a_view_of_the_ruby_lines() {
+
+        List<String> lines = reader.readLines();
+
+        assertThat(lines, instanceOf(RubyStringListDecorator.class));
+        assertThat(lines, contains("first", "second", "third"));
+        assertThat(reader.hasMoreLines(), is(false));
+    }
+
+    @Test
+    public void modified_lines_should_be_restored() {
+
+        List<String> lines = reader.readLines();
+        lines.set(0, "changed");
+        lines.remove(1);
+        lines.add("fourth");
+
+        reader.restoreLines(lines);
+
+        assertThat(reader.readLines(), contains("changed", "third", "fourth"));
+    }
+
+    @Test
+    public void peeked_lines_should_not_be_consumed() {
+
+        assertThat(reader.peekLines(2), contains("first", "second"));
+        assertThat(reader.readLine(), is("first"));
+    }
+
+    @Test
+    public void line_iterator_should_consume_one_line_at_a_time() {
+
+        Iterator<String> iterator = reader.lineIterator();
+
+        assertThat(iterator.next(), is("first"));
+        assertThat(iterator.next(), is("second"));
+        assertThat(reader.peekLine(), is("third"));
+
+        reader.restoreLine("second");
+
+        assertThat(iterator.hasNext(), is(true));
+        assertThat(iterator.next(), is("second"));
+        assertThat(iterator.next(), is("third"));
+        assertThat(iterator.hasNext(), is(false));
+    }
+
+    @Test
+    public void reader_created_from_lines_of_another_reader_should_not_modify_them() {
+
+        List<String> lines = reader.lines();
+
+        Reader copy = ReaderImpl.createReader(asciidoctor.getRubyRuntime(), lines);
+        copy.readLines();
+
+        assertThat(lines, contains("first", "second", "third"));
+    }
+}
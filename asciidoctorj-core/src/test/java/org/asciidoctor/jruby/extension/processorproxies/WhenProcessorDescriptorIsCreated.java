@@ -0,0 +1,100 @@
+package org.asciidoctor.jruby.extension.processorproxies;
+
+import org.asciidoctor.ast.ContentModel;
+import org.asciidoctor.ast.ContentNode;
+import org.asciidoctor.ast.StructuralNode;
+import org.asciidoctor.extension.BlockProcessor;
+import org.asciidoctor.extension.Contexts;
+import org.asciidoctor.extension.DefaultAttribute;
+import org.asciidoctor.extension.DefaultAttributes;
+import org.asciidoctor.extension.Format;
+import org.asciidoctor.extension.FormatType;
+import org.asciidoctor.extension.InlineMacroProcessor;
+import org.asciidoctor.extension.Name;
+import org.asciidoctor.extension.PositionalAttributes;
+import org.asciidoctor.extension.Reader;
+import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.asciidoctor.OptionsBuilder.options;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.junit.Assert.assertThat;
+
+public class WhenProcessorDescriptorIsCreated {
+
+    @Test
+    public void descriptor_should_be_generated_at_compile_time() {
+
+        ProcessorDescriptor descriptor = ProcessorDescriptor.of(AnnotatedBlockProcessor.class);
+
+        assertThat(descriptor.isGenerated(), is(true));
+        assertThat(descriptor.getOptions(), hasEntry("name", (Object) "yell"));
+        assertThat(descriptor.getOptions(), hasEntry("contexts", (Object) Arrays.asList("paragraph", "listing")));
+        assertThat(descriptor.getOptions(), hasEntry("content_model", (Object) "simple"));
+        assertThat(descriptor.getOptions(), hasEntry("positional_attrs", (Object) Arrays.asList("mode", "volume")));
+    }
+
+    @Test
+    public void generated_descriptor_should_be_equal_to_the_annotations() {
+
+        for (Class<?> processorClass : Arrays.asList(AnnotatedBlockProcessor.class, AnnotatedInlineMacroProcessor.class)) {
+            ProcessorDescriptor generated = ProcessorDescriptor.fromResource(processorClass);
+            ProcessorDescriptor reflected = ProcessorDescriptor.fromAnnotations(processorClass);
+
+            assertThat(processorClass.getName(), generated.getOptions(), is(reflected.getOptions()));
+        }
+    }
+
+    @Test
+    public void extensions_should_be_configured_from_the_generated_descriptor() {
+
+        AsciidoctorJRuby asciidoctor = AsciidoctorJRuby.Factory.create();
+        try {
+            asciidoctor.javaExtensionRegistry().block(AnnotatedBlockProcessor.class);
+            asciidoctor.javaExtensionRegistry().inlineMacro(AnnotatedInlineMacroProcessor.class);
+
+            String output = asciidoctor.convert("[yell,loud]\nHello World\n\nissue:42[]", options().asMap());
+
+            assertThat(output, containsString("HELLO WORLD!"));
+            assertThat(output, containsString("Issue 42"));
+        } finally {
+            asciidoctor.shutdown();
+        }
+    }
+
+    @Name("yell")
+    @Contexts({Contexts.PARAGRAPH, Contexts.LISTING})
+    @ContentModel(ContentModel.SIMPLE)
+    @PositionalAttributes({"mode", "volume"})
+    @DefaultAttributes({
+            @DefaultAttribute(key = "volume", value = "!"),
+            @DefaultAttribute(key = "mode", value = "quiet")
+    })
+    public static class AnnotatedBlockProcessor extends BlockProcessor {
+
+        @Override
+        public Object process(StructuralNode parent, Reader reader, Map<String, Object> attributes) {
+            String text = reader.read();
+            if ("loud".equals(attributes.get("mode"))) {
+                text = text.toUpperCase() + attributes.get("volume");
+            }
+            return createBlock(parent, "paragraph", text);
+        }
+    }
+
+    @Name("issue")
+    @Format(value = FormatType.CUSTOM, regexp = "issue:(\\d+)\\[\\]")
+    @DefaultAttribute(key = "project", value = "asciidoctorj")
+    public static class AnnotatedInlineMacroProcessor extends InlineMacroProcessor {
+
+        @Override
+        public Object process(ContentNode parent, String target, Map<String, Object> attributes) {
+            return createPhraseNode(parent, "quoted", "Issue " + target);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.asciidoctor.jruby.extension.processorproxies;
+
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.extension.Postprocessor;
+import org.asciidoctor.extension.StreamingPostprocessor;
+import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import static org.asciidoctor.OptionsBuilder.options;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.endsWith;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+public class WhenStreamingPostprocessorIsRegistered {
+
+    private static final String FOOTER = "<!-- filtered -->";
+
+    private AsciidoctorJRuby asciidoctor;
+
+    @Before
+    public void setUp() {
+        asciidoctor = AsciidoctorJRuby.Factory.create();
+    }
+
+    @After
+    public void tearDown() {
+        asciidoctor.shutdown();
+    }
+
+    @Test
+    public void output_written_to_a_writer_should_be_filtered_while_it_is_written() throws IOException {
+
+        asciidoctor.javaExtensionRegistry().postprocessor(new UppercaseFilter());
+        asciidoctor.javaExtensionRegistry().postprocessor(new FooterFilter());
+
+        StringWriter writer = new StringWriter();
+        asciidoctor.convert(new StringReader("Hello World"), writer, options().asMap());
+
+        String output = writer.toString();
+        assertThat(output, containsString("HELLO WORLD"));
+        assertThat(output, not(containsString("Hello World")));
+        assertThat(output.trim(), endsWith(FOOTER));
+    }
+
+    @Test
+    public void output_returned_as_string_should_be_filtered() {
+
+        asciidoctor.javaExtensionRegistry().postprocessor(new UppercaseFilter());
+        asciidoctor.javaExtensionRegistry().postprocessor(new FooterFilter());
+
+        String output = asciidoctor.convert("Hello World", options().asMap());
+
+        assertThat(output, containsString("HELLO WORLD"));
+        assertThat(output, endsWith(FOOTER));
+    }
+
+    @Test
+    public void postprocessors_should_be_applied_in_order_if_a_postprocessor_needs_the_output_as_string() throws IOException {
+
+        asciidoctor.javaExtensionRegistry().postprocessor(new UppercaseFilter());
+        asciidoctor.javaExtensionRegistry().postprocessor(new SuffixPostprocessor());
+
+        StringWriter writer = new StringWriter();
+        asciidoctor.convert(new StringReader("Hello World"), writer, options().asMap());
+
+        String output = writer.toString();
+        assertThat(output, containsString("HELLO WORLD"));
+        assertThat(output.trim(), endsWith("suffix"));
+    }
+
+    public static class UppercaseFilter extends StreamingPostprocessor {
+
+        @Override
+        public Writer process(Document document, Writer output) {
+            return new FilterWriter(output) {
+                @Override
+                public void write(int c) throws IOException {
+                    super.write(Character.toUpperCase(c));
+                }
+
+                @Override
+                public void write(char[] cbuf, int off, int len) throws IOException {
+                    char[] upper = new char[len];
+                    for (int i = 0; i < len; i++) {
+                        upper[i] = Character.toUpperCase(cbuf[off + i]);
+                    }
+                    super.write(upper, 0, len);
+                }
+
+                @Override
+                public void write(String str, int off, int len) throws IOException {
+                    write(str.toCharArray(), off, len);
+                }
+            };
+        }
+    }
+
+    public static class FooterFilter extends StreamingPostprocessor {
+
+        @Override
+        public Writer process(Document document, Writer output) {
+            return new FilterWriter(output) {
+                @Override
+                public void close() throws IOException {
+                    out.write(FOOTER);
+                    super.close();
+                }
+            };
+        }
+    }
+
+    public static class SuffixPostprocessor extends Postprocessor {
+
+        @Override
+        public String process(Document document, String output) {
+            return output + "suffix";
+        }
+    }
+}
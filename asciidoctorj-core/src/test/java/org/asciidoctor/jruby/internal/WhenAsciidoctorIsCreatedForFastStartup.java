@@ -0,0 +1,86 @@
+package org.asciidoctor.jruby.internal;
+
+import org.asciidoctor.ast.StructuralNode;
+import org.asciidoctor.extension.BlockMacroProcessor;
+import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.asciidoctor.jruby.StartupTimings;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.asciidoctor.OptionsBuilder.options;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
+import static org.junit.Assert.assertThat;
+
+public class WhenAsciidoctorIsCreatedForFastStartup {
+
+    private AsciidoctorJRuby asciidoctor;
+
+    @Before
+    public void setUp() {
+        asciidoctor = AsciidoctorJRuby.Factory.createForFastStartup();
+    }
+
+    @After
+    public void tearDown() {
+        asciidoctor.shutdown();
+    }
+
+    @Test
+    public void startup_phases_should_be_reported_in_order() {
+
+        StartupTimings startupTimings = asciidoctor.getStartupTimings();
+
+        assertThat(startupTimings.getPhases().keySet(), contains(
+                StartupTimings.RUNTIME,
+                StartupTimings.ASCIIDOCTOR,
+                StartupTimings.LOGGER,
+                StartupTimings.EXTENSIONS,
+                StartupTimings.CONVERTERS,
+                StartupTimings.LOG_HANDLERS));
+        assertThat(startupTimings.getTotal(TimeUnit.NANOSECONDS), greaterThan(0L));
+    }
+
+    @Test
+    public void extensions_should_be_loaded_on_first_registration() {
+
+        String document = "testmacro::Test[]";
+        assertThat(asciidoctor.convert(document, options().asMap()), containsString("testmacro"));
+
+        asciidoctor.javaExtensionRegistry().blockMacro("testmacro", TestBlockMacroProcessor.class);
+
+        assertThat(asciidoctor.convert(document, options().asMap()), containsString("Hello World"));
+    }
+
+    @Test
+    public void documents_should_be_converted_like_with_a_default_instance() {
+
+        String document = "= Title\n\nThis is *bold*.";
+
+        JRubyAsciidoctor defaultAsciidoctor = JRubyAsciidoctor.create();
+        try {
+            assertThat(asciidoctor.convert(document, options().asMap()),
+                    is(defaultAsciidoctor.convert(document, options().asMap())));
+        } finally {
+            defaultAsciidoctor.shutdown();
+        }
+    }
+
+    public static class TestBlockMacroProcessor extends BlockMacroProcessor {
+
+        public TestBlockMacroProcessor(String macroName) {
+            super(macroName);
+        }
+
+        @Override
+        public Object process(StructuralNode parent, String target, Map<String, Object> attributes) {
+            return createBlock(parent, "paragraph", "Hello World");
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.asciidoctor.jruby.internal;
+
+import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.asciidoctor.jruby.AsciidoctorPool;
+import org.asciidoctor.jruby.RuntimeProfile;
+import org.asciidoctor.jruby.StartupTimings;
+import org.asciidoctor.log.LogRecord;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.asciidoctor.OptionsBuilder.options;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.junit.Assert.assertThat;
+
+public class WhenAsciidoctorIsCreatedWithRuntimeProfile {
+
+    private static final String DOCUMENT = "= Title\n\nThis is *bold*.\n\n* An item\n\n|===\n|A |B\n|===";
+
+    @Test
+    public void documents_should_be_converted_like_with_a_default_instance_for_every_profile() {
+
+        AsciidoctorJRuby defaultAsciidoctor = AsciidoctorJRuby.Factory.create();
+        try {
+            String expected = defaultAsciidoctor.convert(DOCUMENT, options().asMap());
+            for (RuntimeProfile runtimeProfile : RuntimeProfile.values()) {
+                AsciidoctorJRuby asciidoctor = AsciidoctorJRuby.Factory.create(runtimeProfile);
+                try {
+                    assertThat(runtimeProfile.name(), asciidoctor.convert(DOCUMENT, options().asMap()), is(expected));
+                } finally {
+                    asciidoctor.shutdown();
+                }
+            }
+        } finally {
+            defaultAsciidoctor.shutdown();
+        }
+    }
+
+    @Test
+    public void warm_up_should_be_recorded_in_startup_timings() {
+
+        AsciidoctorJRuby asciidoctor = AsciidoctorJRuby.Factory.create(RuntimeProfile.THROUGHPUT);
+        try {
+            assertThat(asciidoctor.getStartupTimings().getPhases(), not(hasKey(StartupTimings.WARM_UP)));
+
+            asciidoctor.warmUp(2);
+
+            assertThat(asciidoctor.getStartupTimings().getPhases(), hasKey(StartupTimings.WARM_UP));
+        } finally {
+            asciidoctor.shutdown();
+        }
+    }
+
+    @Test
+    public void warm_up_corpus_should_convert_without_log_messages() {
+
+        List<LogRecord> logRecords = new ArrayList<>();
+        AsciidoctorJRuby asciidoctor = AsciidoctorJRuby.Factory.create(RuntimeProfile.STARTUP);
+        try {
+            asciidoctor.registerLogHandler(logRecords::add);
+
+            asciidoctor.warmUp(1);
+
+            assertThat(logRecords, is(empty()));
+        } finally {
+            asciidoctor.shutdown();
+        }
+    }
+
+    @Test
+    public void pool_should_create_warmed_up_instances_with_the_profile() {
+
+        AsciidoctorPool pool = AsciidoctorPool.builder()
+                .minSize(1)
+                .maxSize(1)
+                .runtimeProfile(RuntimeProfile.THROUGHPUT)
+                .warmUp(1)
+                .build();
+        try (AsciidoctorPool.Lease lease = pool.borrow()) {
+            assertThat(lease.getAsciidoctor().getStartupTimings().getPhases(), hasKey(StartupTimings.WARM_UP));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.asciidoctor.jruby.internal;
+
+import org.asciidoctor.Options;
+import org.asciidoctor.SafeMode;
+import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.asciidoctor.jruby.CompiledOptions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.asciidoctor.OptionsBuilder.options;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+public class WhenConvertingConcurrently {
+
+    private static final int THREADS = 8;
+
+    private static final int CONVERSIONS_PER_THREAD = 25;
+
+    private static final String DOCUMENT = "= Document Title\n\ninclude::snippet.adoc[]";
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private AsciidoctorJRuby asciidoctor;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        asciidoctor = AsciidoctorJRuby.Factory.create();
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        asciidoctor.shutdown();
+    }
+
+    @Test
+    public void concurrent_conversions_should_resolve_includes_against_their_own_base_dir() throws Exception {
+
+        String currentDirectory = ((JRubyAsciidoctor) asciidoctor).getRubyRuntime().getCurrentDirectory();
+        List<File> baseDirs = createBaseDirs();
+
+        List<Future<?>> results = runConcurrently(baseDirs, (baseDir, i) -> {
+            String output = asciidoctor.convert(DOCUMENT, options()
+                    .safe(SafeMode.UNSAFE)
+                    .baseDir(baseDir)
+                    .get());
+            assertThat(output, containsString(snippetOf(baseDir)));
+        });
+
+        for (Future<?> result : results) {
+            result.get();
+        }
+        assertThat(((JRubyAsciidoctor) asciidoctor).getRubyRuntime().getCurrentDirectory(), is(currentDirectory));
+    }
+
+    @Test
+    public void concurrent_conversions_of_files_should_write_into_their_own_base_dir() throws Exception {
+
+        List<File> baseDirs = createBaseDirs();
+
+        List<Future<?>> results = runConcurrently(baseDirs, (baseDir, i) -> {
+            File source = new File(baseDir, "document-" + i + ".adoc");
+            Files.write(source.toPath(), DOCUMENT.getBytes(StandardCharsets.UTF_8));
+
+            asciidoctor.convertFile(source, options()
+                    .safe(SafeMode.UNSAFE)
+                    .baseDir(baseDir)
+                    // A relative target directory is resolved against the base directory
+                    .option(Options.TO_DIR, "out")
+                    .mkDirs(true)
+                    .get());
+
+            String output = new String(Files.readAllBytes(new File(baseDir, "out/document-" + i + ".html").toPath()), StandardCharsets.UTF_8);
+            assertThat(output, containsString(snippetOf(baseDir)));
+        });
+
+        for (Future<?> result : results) {
+            result.get();
+        }
+    }
+
+    @Test
+    public void concurrent_conversions_with_compiled_options_should_resolve_includes_against_their_own_base_dir() throws Exception {
+
+        List<File> baseDirs = createBaseDirs();
+        List<CompiledOptions> compiledOptions = new ArrayList<>();
+        for (File baseDir : baseDirs) {
+            compiledOptions.add(asciidoctor.compileOptions(options().safe(SafeMode.UNSAFE).baseDir(baseDir).get()));
+        }
+
+        List<Future<?>> results = runConcurrently(baseDirs, (baseDir, i) -> {
+            String output = asciidoctor.convert(DOCUMENT, compiledOptions.get(baseDirs.indexOf(baseDir)));
+            assertThat(output, containsString(snippetOf(baseDir)));
+            assertThat(output, not(containsString("Unresolved directive")));
+        });
+
+        for (Future<?> result : results) {
+            result.get();
+        }
+    }
+
+    private List<File> createBaseDirs() throws IOException {
+        List<File> baseDirs = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            File baseDir = testFolder.newFolder("base-" + i);
+            Files.write(new File(baseDir, "snippet.adoc").toPath(), snippetOf(baseDir).getBytes(StandardCharsets.UTF_8));
+            baseDirs.add(baseDir);
+        }
+        return baseDirs;
+    }
+
+    private static String snippetOf(File baseDir) {
+        return "Included from " + baseDir.getName();
+    }
+
+    private List<Future<?>> runConcurrently(List<File> baseDirs, Conversion conversion) {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (File baseDir : baseDirs) {
+            results.add(executor.submit((Callable<Void>) () -> {
+                start.await();
+                for (int i = 0; i < CONVERSIONS_PER_THREAD; i++) {
+                    conversion.convert(baseDir, i);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        return results;
+    }
+
+    @FunctionalInterface
+    private interface Conversion {
+        void convert(File baseDir, int i) throws Exception;
+    }
+}
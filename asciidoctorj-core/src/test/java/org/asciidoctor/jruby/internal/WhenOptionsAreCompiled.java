@@ -0,0 +1,114 @@
+package org.asciidoctor.jruby.internal;
+
+import org.asciidoctor.SafeMode;
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.asciidoctor.jruby.CompiledOptions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collections;
+
+import static org.asciidoctor.AttributesBuilder.attributes;
+import static org.asciidoctor.OptionsBuilder.options;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+public class WhenOptionsAreCompiled {
+
+    private static final String DOCUMENT = "= Document Title\n\n{greeting} {name}!";
+
+    private AsciidoctorJRuby asciidoctor;
+
+    @Before
+    public void setUp() {
+        asciidoctor = AsciidoctorJRuby.Factory.create();
+    }
+
+    @After
+    public void tearDown() {
+        asciidoctor.shutdown();
+    }
+
+    @Test
+    public void compiled_options_should_give_the_same_result_as_the_options() {
+
+        CompiledOptions compiledOptions = asciidoctor.compileOptions(options()
+                .headerFooter(true)
+                .attributes(attributes().attribute("greeting", "Hello").attribute("name", "World"))
+                .get());
+
+        String expected = asciidoctor.convert(DOCUMENT, compiledOptions.getOptions());
+
+        assertThat(asciidoctor.convert(DOCUMENT, compiledOptions), is(expected));
+        assertThat(asciidoctor.convert(DOCUMENT, compiledOptions), containsString("Hello World!"));
+    }
+
+    @Test
+    public void compiled_options_should_be_reusable() {
+
+        CompiledOptions compiledOptions = asciidoctor.compileOptions(options()
+                .attributes(attributes().attribute("greeting", "Hello").attribute("name", "World"))
+                .get());
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(asciidoctor.convert(DOCUMENT, compiledOptions), containsString("Hello World!"));
+            Document document = asciidoctor.load(DOCUMENT, compiledOptions);
+            assertThat(document.getAttribute("name"), is((Object) "World"));
+        }
+    }
+
+    @Test
+    public void overrides_should_be_merged_into_compiled_attributes() {
+
+        CompiledOptions compiledOptions = asciidoctor.compileOptions(options()
+                .attributes(attributes().attribute("greeting", "Hello").attribute("name", "World"))
+                .get());
+
+        CompiledOptions overridden = compiledOptions.withOverrides(options()
+                .attributes(attributes().attribute("name", "AsciidoctorJ"))
+                .headerFooter(true)
+                .get());
+
+        String output = asciidoctor.convert(DOCUMENT, overridden);
+        assertThat(output, containsString("Hello AsciidoctorJ!"));
+        assertThat(output, containsString("<html"));
+
+        String original = asciidoctor.convert(DOCUMENT, compiledOptions);
+        assertThat(original, containsString("Hello World!"));
+        assertThat(original, not(containsString("<html")));
+    }
+
+    @Test
+    public void overrides_should_replace_other_options() {
+
+        CompiledOptions compiledOptions = asciidoctor.compileOptions(options().safe(SafeMode.SECURE).get());
+
+        CompiledOptions overridden = compiledOptions.withOverrides(Collections.<String, Object>singletonMap("safe", SafeMode.UNSAFE.getLevel()));
+
+        assertThat(asciidoctor.load(DOCUMENT, overridden).getAttribute("safe-mode-name"), is((Object) "unsafe"));
+        assertThat(asciidoctor.load(DOCUMENT, compiledOptions).getAttribute("safe-mode-name"), is((Object) "secure"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void compiled_options_should_not_be_used_with_another_instance() {
+
+        CompiledOptions compiledOptions = asciidoctor.compileOptions(options().get());
+
+        AsciidoctorJRuby otherAsciidoctor = AsciidoctorJRuby.Factory.create();
+        try {
+            otherAsciidoctor.convert(DOCUMENT, compiledOptions);
+        } finally {
+            otherAsciidoctor.shutdown();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void options_writing_to_a_stream_should_not_be_compiled() {
+        asciidoctor.compileOptions(options().toStream(new ByteArrayOutputStream()).get());
+    }
+}
@@ -0,0 +1,115 @@
+package org.asciidoctor.jruby.internal;
+
+import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.asciidoctor.jruby.RuntimeProfile;
+import org.asciidoctor.jruby.ServiceRegistrations;
+import org.asciidoctor.jruby.StartupTimings;
+import org.asciidoctor.log.LogHandler;
+import org.asciidoctor.log.TestLogHandlerService;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.asciidoctor.OptionsBuilder.options;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertThat;
+
+public class WhenServicesAreRegistered {
+
+    private static final String DOCUMENT_WITH_WARNING = "= Document\n\n=== Section out of sequence";
+
+    private AsciidoctorJRuby asciidoctor;
+
+    @Before
+    public void setUp() {
+        TestLogHandlerService.clear();
+    }
+
+    @After
+    public void tearDown() {
+        if (asciidoctor != null) {
+            asciidoctor.shutdown();
+        }
+        TestLogHandlerService.clear();
+    }
+
+    @Test
+    public void services_should_be_discovered_only_once() {
+
+        List<LogHandler> logHandlers = ServiceLoaderCache.load(LogHandler.class);
+
+        assertThat(logHandlers, hasItem(instanceOf(TestLogHandlerService.class)));
+        assertThat(ServiceLoaderCache.load(LogHandler.class), sameInstance(logHandlers));
+    }
+
+    @Test
+    public void services_should_be_discovered_again_after_the_class_loader_was_cleared() {
+
+        List<LogHandler> logHandlers = ServiceLoaderCache.load(LogHandler.class);
+
+        ServiceLoaderCache.clear(Thread.currentThread().getContextClassLoader());
+
+        assertThat(ServiceLoaderCache.load(LogHandler.class), not(sameInstance(logHandlers)));
+    }
+
+    @Test
+    public void all_services_should_be_registered_by_default() {
+
+        asciidoctor = AsciidoctorJRuby.Factory.create();
+        asciidoctor.convert(DOCUMENT_WITH_WARNING, options().asMap());
+
+        assertThat(TestLogHandlerService.getLogRecords(), is(not(empty())));
+    }
+
+    @Test
+    public void no_service_should_be_registered_if_opted_out() {
+
+        asciidoctor = AsciidoctorJRuby.Factory.create(RuntimeProfile.DEFAULT, ServiceRegistrations.none());
+        asciidoctor.convert(DOCUMENT_WITH_WARNING, options().asMap());
+
+        assertThat(TestLogHandlerService.getLogRecords(), is(empty()));
+    }
+
+    @Test
+    public void excluded_service_should_not_be_registered() {
+
+        asciidoctor = AsciidoctorJRuby.Factory.create(RuntimeProfile.DEFAULT,
+                ServiceRegistrations.all().excluding(TestLogHandlerService.class));
+        asciidoctor.convert(DOCUMENT_WITH_WARNING, options().asMap());
+
+        assertThat(TestLogHandlerService.getLogRecords(), is(empty()));
+    }
+
+    @Test
+    public void allowed_service_should_be_registered() {
+
+        asciidoctor = AsciidoctorJRuby.Factory.create(RuntimeProfile.DEFAULT,
+                ServiceRegistrations.only(TestLogHandlerService.class));
+        asciidoctor.convert(DOCUMENT_WITH_WARNING, options().asMap());
+
+        assertThat(TestLogHandlerService.getLogRecords(), is(not(empty())));
+    }
+
+    @Test
+    public void deferred_registrations_should_be_applied_on_first_use() {
+
+        asciidoctor = AsciidoctorJRuby.Factory.create(RuntimeProfile.DEFAULT, ServiceRegistrations.all().deferred());
+
+        assertThat(asciidoctor.getStartupTimings().getPhases(), not(hasKey(StartupTimings.EXTENSIONS)));
+        assertThat(asciidoctor.getStartupTimings().getPhases(), hasKey(StartupTimings.LOG_HANDLERS));
+
+        assertThat(asciidoctor.convert("Hello World", options().asMap()), containsString("Hello World"));
+
+        assertThat(asciidoctor.getStartupTimings().getPhases(), hasKey(StartupTimings.EXTENSIONS));
+        assertThat(asciidoctor.getStartupTimings().getPhases(), hasKey(StartupTimings.CONVERTERS));
+    }
+}
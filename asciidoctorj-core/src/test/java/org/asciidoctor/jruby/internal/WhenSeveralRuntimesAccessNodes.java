@@ -0,0 +1,62 @@
+package org.asciidoctor.jruby.internal;
+
+import org.asciidoctor.ast.Document;
+import org.asciidoctor.ast.StructuralNode;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.asciidoctor.OptionsBuilder.options;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+public class WhenSeveralRuntimesAccessNodes {
+
+    private static final String DOCUMENT = "= Document %d\n\n.Title %d\nParagraph %d\n\n* Item %d";
+
+    private JRubyAsciidoctor first;
+
+    private JRubyAsciidoctor second;
+
+    @Before
+    public void setUp() {
+        first = JRubyAsciidoctor.create();
+        second = JRubyAsciidoctor.create();
+    }
+
+    @After
+    public void tearDown() {
+        first.shutdown();
+        second.shutdown();
+    }
+
+    @Test
+    public void properties_should_be_read_and_written_on_alternating_runtimes() {
+
+        for (int i = 0; i < 10; i++) {
+            JRubyAsciidoctor asciidoctor = i % 2 == 0 ? first : second;
+            Document document = asciidoctor.load(String.format(DOCUMENT, i, i, i, i), options().asMap());
+
+            assertThat(document.getDoctitle(), is("Document " + i));
+            StructuralNode paragraph = document.getBlocks().get(0);
+            assertThat(paragraph.getContext(), is("paragraph"));
+            assertThat(paragraph.getTitle(), is("Title " + i));
+            assertThat(document.getBlocks().get(1).getContext(), is("ulist"));
+
+            paragraph.setTitle("Changed " + i);
+
+            assertThat(document.convert(), containsString("Changed " + i));
+        }
+    }
+
+    @Test
+    public void conversions_should_alternate_between_instances() {
+
+        for (int i = 0; i < 10; i++) {
+            JRubyAsciidoctor asciidoctor = i % 2 == 0 ? first : second;
+
+            assertThat(asciidoctor.convert(String.format(DOCUMENT, i, i, i, i), options().asMap()), containsString("Paragraph " + i));
+        }
+    }
+}
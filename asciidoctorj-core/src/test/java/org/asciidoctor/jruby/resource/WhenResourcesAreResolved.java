@@ -0,0 +1,163 @@
+package org.asciidoctor.jruby.resource;
+
+import org.asciidoctor.SafeMode;
+import org.asciidoctor.jruby.AsciidoctorJRuby;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.asciidoctor.AttributesBuilder.attributes;
+import static org.asciidoctor.OptionsBuilder.options;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class WhenResourcesAreResolved {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private AsciidoctorJRuby asciidoctor;
+
+    private File baseDir;
+
+    @Before
+    public void setUp() {
+        asciidoctor = AsciidoctorJRuby.Factory.create();
+        // Does not exist, all resources come from the resolver
+        baseDir = new File(tmp.getRoot(), "virtual");
+    }
+
+    @After
+    public void tearDown() {
+        asciidoctor.shutdown();
+    }
+
+    @Test
+    public void included_file_should_be_read_from_memory() {
+
+        asciidoctor.setResourceResolver(new InMemoryResourceResolver()
+                .put("chapters/intro.adoc", "Introduction from memory\n\ninclude::nested.adoc[]")
+                .put("chapters/nested.adoc", "Nested from memory"));
+
+        String html = convert("include::chapters/intro.adoc[]");
+
+        assertThat(html, containsString("Introduction from memory"));
+        assertThat(html, containsString("Nested from memory"));
+    }
+
+    @Test
+    public void included_file_should_be_read_from_archive() throws IOException {
+
+        File archive = tmp.newFile("docs.jar");
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(archive))) {
+            out.putNextEntry(new ZipEntry("docs/chapter.adoc"));
+            out.write("Chapter from archive".getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+
+        try (ArchiveResourceResolver resolver = new ArchiveResourceResolver(archive.toPath(), "docs")) {
+            asciidoctor.setResourceResolver(resolver);
+
+            assertThat(convert("include::chapter.adoc[]"), containsString("Chapter from archive"));
+            assertThat(resolver.read("../outside.adoc"), nullValue());
+        }
+    }
+
+    @Test
+    public void included_file_should_be_read_from_directory() throws IOException {
+
+        File directory = tmp.newFolder("resources");
+        Files.write(new File(directory, "chapter.adoc").toPath(), "Chapter from directory".getBytes(StandardCharsets.UTF_8));
+        asciidoctor.setResourceResolver(new DirectoryResourceResolver(directory.toPath()));
+
+        assertThat(convert("include::chapter.adoc[]"), containsString("Chapter from directory"));
+    }
+
+    @Test
+    public void image_should_be_embedded_from_resolver() {
+
+        byte[] image = {(byte) 0x89, 'P', 'N', 'G', 0, 1, 2, 3};
+        asciidoctor.setResourceResolver(new InMemoryResourceResolver().put("images/logo.png", image));
+
+        String html = asciidoctor.convert("image::logo.png[]", options()
+                .baseDir(baseDir)
+                .safe(SafeMode.SAFE)
+                .attributes(attributes().dataUri(true).imagesDir("images"))
+                .asMap());
+
+        assertThat(html, containsString("data:image/png;base64," + Base64.getEncoder().encodeToString(image)));
+    }
+
+    @Test
+    public void image_without_extension_should_be_embedded_as_octet_stream() {
+
+        byte[] image = {1, 2, 3};
+        asciidoctor.setResourceResolver(new InMemoryResourceResolver().put("images/logo", image));
+
+        String html = asciidoctor.convert("image::logo[]", options()
+                .baseDir(baseDir)
+                .safe(SafeMode.SAFE)
+                .attributes(attributes().dataUri(true).imagesDir("images"))
+                .asMap());
+
+        assertThat(html, containsString("data:application/octet-stream;base64," + Base64.getEncoder().encodeToString(image)));
+    }
+
+    @Test
+    public void docinfo_should_be_read_from_resolver() {
+
+        asciidoctor.setResourceResolver(new InMemoryResourceResolver()
+                .put("docinfo.html", "<meta name=\"resolved\" content=\"true\">"));
+
+        String html = asciidoctor.convert("= Document\n\nContent", options()
+                .baseDir(baseDir)
+                .safe(SafeMode.SAFE)
+                .headerFooter(true)
+                .attributes(attributes().attribute("docinfo", "shared"))
+                .asMap());
+
+        assertThat(html, containsString("<meta name=\"resolved\" content=\"true\">"));
+    }
+
+    @Test
+    public void stylesheet_should_be_embedded_from_resolver() {
+
+        asciidoctor.setResourceResolver(new InMemoryResourceResolver()
+                .put("styles/custom.css", "body { color: #123456; }"));
+
+        String html = asciidoctor.convert("= Document\n\nContent", options()
+                .baseDir(baseDir)
+                .safe(SafeMode.SAFE)
+                .headerFooter(true)
+                .attributes(attributes().styleSheetName("custom.css").stylesDir("styles"))
+                .asMap());
+
+        assertThat(html, containsString("body { color: #123456; }"));
+    }
+
+    @Test
+    public void missing_resource_should_be_read_from_file_system() throws IOException {
+
+        asciidoctor.setResourceResolver(new InMemoryResourceResolver());
+        baseDir = tmp.newFolder("real");
+        Files.write(new File(baseDir, "chapter.adoc").toPath(), "Chapter from file system".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(convert("include::chapter.adoc[]"), containsString("Chapter from file system"));
+    }
+
+    private String convert(String content) {
+        return asciidoctor.convert(content, options().baseDir(baseDir).safe(SafeMode.SAFE).asMap());
+    }
+}
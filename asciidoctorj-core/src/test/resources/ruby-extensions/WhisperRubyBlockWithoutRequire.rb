@@ -0,0 +1,10 @@
+# Does not require 'asciidoctor/extensions', AsciidoctorJ has to load it before
+class WhisperRubyBlockWithoutRequire < Asciidoctor::Extensions::BlockProcessor
+  option :name, :whisper
+  option :contexts, [:paragraph]
+  option :content_model, :simple
+
+  def process parent, reader, attributes
+    Asciidoctor::Block.new parent, :paragraph, :source => reader.lines.map(&:downcase), :attributes => attributes
+  end
+end